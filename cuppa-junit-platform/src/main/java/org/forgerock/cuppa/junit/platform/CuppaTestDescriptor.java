@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.junit.platform;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.forgerock.cuppa.model.TagMask;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+
+/**
+ * Describes a Cuppa test block, as a container, or a Cuppa test, as a test. The last segment of the unique id is the
+ * id that Cuppa gives the test block or test when the tests are compiled.
+ */
+final class CuppaTestDescriptor extends AbstractTestDescriptor {
+    static final String BLOCK_SEGMENT_TYPE = "block";
+    static final String TEST_SEGMENT_TYPE = "test";
+
+    private final Type type;
+    private final String cuppaId;
+    private final Set<TestTag> tags;
+
+    /**
+     * Constructs a new descriptor.
+     *
+     * @param parentId The unique id of the parent descriptor.
+     * @param type The type of descriptor, either {@link Type#CONTAINER} for a test block or {@link Type#TEST} for a
+     *     test.
+     * @param cuppaId The id of the test block or test.
+     * @param displayName The description of the test block or test.
+     * @param source The source of the test block or test.
+     * @param tags The tags of the test block or test, including inherited tags.
+     */
+    CuppaTestDescriptor(UniqueId parentId, Type type, String cuppaId, String displayName, TestSource source,
+            TagMask tags) {
+        super(parentId.append(type == Type.TEST ? TEST_SEGMENT_TYPE : BLOCK_SEGMENT_TYPE, cuppaId), displayName,
+                source);
+        this.type = type;
+        this.cuppaId = cuppaId;
+        this.tags = Collections.unmodifiableSet(tags.toTags().stream()
+                .filter(TestTag::isValid)
+                .map(TestTag::create)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public Set<TestTag> getTags() {
+        return tags;
+    }
+
+    /**
+     * Get the id that Cuppa gives the test block or test.
+     *
+     * @return The Cuppa id.
+     */
+    String getCuppaId() {
+        return cuppaId;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.junit.platform;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import org.forgerock.cuppa.Runner;
+import org.forgerock.cuppa.model.Options;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.engine.support.hierarchical.ForkJoinPoolHierarchicalTestExecutorService;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
+import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
+import org.junit.platform.engine.support.hierarchical.PrefixedConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ResourceLock;
+import org.junit.platform.engine.support.hierarchical.SameThreadHierarchicalTestExecutorService;
+
+/**
+ * A JUnit Platform test engine that runs Cuppa tests.
+ *
+ * <p>Test classes are discovered by class, package, classpath root or unique id selectors, and each test block and
+ * test is described as a container and a test respectively. Tags are reported as JUnit Platform tags, so tests can be
+ * filtered with the launcher's tag expressions.</p>
+ *
+ * <p>If the {@value #PARALLEL_ENABLED_PROPERTY} configuration parameter is {@code true}, test classes are run
+ * concurrently on a fork-join pool, configured in the same way as the JUnit Jupiter pool but with parameters prefixed
+ * by {@value #PARALLEL_CONFIG_PREFIX}. For example, {@code cuppa.execution.parallel.config.strategy=fixed} and
+ * {@code cuppa.execution.parallel.config.fixed.parallelism=4} run four classes at a time. The tests within a class are
+ * always run sequentially, in the order they are defined.</p>
+ */
+public final class CuppaTestEngine implements TestEngine {
+    /**
+     * The id of the engine, which is the first segment of the unique id of every descriptor.
+     */
+    public static final String ENGINE_ID = "cuppa";
+
+    /**
+     * The configuration parameter that enables running test classes concurrently.
+     */
+    public static final String PARALLEL_ENABLED_PROPERTY = "cuppa.execution.parallel.enabled";
+
+    /**
+     * The prefix of the configuration parameters that configure the pool that test classes are run on.
+     */
+    public static final String PARALLEL_CONFIG_PREFIX = "cuppa.execution.parallel.config.";
+
+    @Override
+    public String getId() {
+        return ENGINE_ID;
+    }
+
+    @Override
+    public Optional<String> getGroupId() {
+        return Optional.of("org.forgerock.cuppa");
+    }
+
+    @Override
+    public Optional<String> getArtifactId() {
+        return Optional.of("cuppa-junit-platform");
+    }
+
+    @Override
+    public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+        EngineDescriptor engineDescriptor = new EngineDescriptor(uniqueId, "Cuppa");
+        new DiscoverySelectorResolver(new Runner()).resolve(discoveryRequest, engineDescriptor);
+        return engineDescriptor;
+    }
+
+    @Override
+    public void execute(ExecutionRequest request) {
+        TestDescriptor engineDescriptor = request.getRootTestDescriptor();
+        EngineExecutionListener listener = request.getEngineExecutionListener();
+        HierarchicalTestExecutorService executorService =
+                createExecutorService(request.getConfigurationParameters());
+        try {
+            executorService.submit(new ConcurrentTask(() -> {
+                listener.executionStarted(engineDescriptor);
+                List<TestTask> classTasks = engineDescriptor.getChildren().stream()
+                        .map(d -> new ConcurrentTask(() -> execute((TestClassDescriptor) d, listener)))
+                        .collect(toList());
+                executorService.invokeAll(classTasks);
+                listener.executionFinished(engineDescriptor, TestExecutionResult.successful());
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JUnitException("Interrupted while running Cuppa tests", e);
+        } catch (ExecutionException e) {
+            throw new JUnitException("Failed to run Cuppa tests", e.getCause());
+        } finally {
+            executorService.close();
+        }
+    }
+
+    private static HierarchicalTestExecutorService createExecutorService(ConfigurationParameters parameters) {
+        if (parameters.getBoolean(PARALLEL_ENABLED_PROPERTY).orElse(false)) {
+            return new ForkJoinPoolHierarchicalTestExecutorService(
+                    new PrefixedConfigurationParameters(parameters, PARALLEL_CONFIG_PREFIX));
+        }
+        return new SameThreadHierarchicalTestExecutorService();
+    }
+
+    private static void execute(TestClassDescriptor classDescriptor, EngineExecutionListener listener) {
+        synchronized (listener) {
+            listener.executionStarted(classDescriptor);
+        }
+        TestExecutionResult result;
+        try {
+            result = run(classDescriptor, listener);
+        } catch (Throwable e) {
+            result = TestExecutionResult.failed(e);
+        }
+        synchronized (listener) {
+            listener.executionFinished(classDescriptor, result);
+        }
+    }
+
+    private static TestExecutionResult run(TestClassDescriptor classDescriptor, EngineExecutionListener listener) {
+        Optional<Throwable> definitionFailure = classDescriptor.getDefinitionFailure();
+        if (definitionFailure.isPresent()) {
+            return TestExecutionResult.failed(definitionFailure.get());
+        }
+        // Only run the tests that are still described, as the launcher may have filtered some out.
+        Set<String> testIds = classDescriptor.getDescendants().stream()
+                .filter(TestDescriptor::isTest)
+                .map(d -> ((CuppaTestDescriptor) d).getCuppaId())
+                .collect(toSet());
+        EngineExecutionReporter reporter = new EngineExecutionReporter(listener, classDescriptor);
+        new Runner(Options.EMPTY.set(new Runner.TestIdsRunOption(testIds)))
+                .run(classDescriptor.getRootBlock(), reporter);
+        return reporter.getRootFailure().map(TestExecutionResult::failed).orElse(TestExecutionResult.successful());
+    }
+
+    /**
+     * A task that may be run concurrently with its siblings and does not need any locks.
+     */
+    private static final class ConcurrentTask implements TestTask {
+        private static final ResourceLock NO_LOCK = new ResourceLock() {
+            @Override
+            public ResourceLock acquire() {
+                return this;
+            }
+
+            @Override
+            public void release() {
+            }
+        };
+
+        private final Runnable action;
+
+        private ConcurrentTask(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public ExecutionMode getExecutionMode() {
+            return ExecutionMode.CONCURRENT;
+        }
+
+        @Override
+        public ResourceLock getResourceLock() {
+            return NO_LOCK;
+        }
+
+        @Override
+        public void execute() {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.junit.platform;
+
+import static java.util.Collections.singletonList;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.forgerock.cuppa.Runner;
+import org.forgerock.cuppa.Test;
+import org.forgerock.cuppa.model.TagMask;
+import org.forgerock.cuppa.model.TagsOption;
+import org.forgerock.cuppa.model.TestBlock;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.ClasspathRootSelector;
+import org.junit.platform.engine.discovery.PackageSelector;
+import org.junit.platform.engine.discovery.UniqueIdSelector;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+
+/**
+ * Finds the Cuppa test classes selected by a discovery request and describes their tests.
+ *
+ * <p>Classes can be selected directly, by package, by classpath root, or by the unique id of the class or of any test
+ * block or test within it. Only the tests that Cuppa would run are described: the tests are transformed and compiled
+ * exactly as they will be when they are run.</p>
+ */
+final class DiscoverySelectorResolver {
+    private static final Predicate<Class<?>> IS_TEST_CLASS = c -> c.isAnnotationPresent(Test.class);
+
+    private final Runner runner;
+    /**
+     * The classes to describe, each with the unique ids of the descriptors selected within it, or {@code null} if the
+     * whole class is selected.
+     */
+    private final Map<Class<?>, Set<UniqueId>> selections = new LinkedHashMap<>();
+
+    /**
+     * Constructs a new resolver.
+     *
+     * @param runner The runner to define and compile the tests with.
+     */
+    DiscoverySelectorResolver(Runner runner) {
+        this.runner = runner;
+    }
+
+    /**
+     * Adds the descriptors of the selected test classes to the engine descriptor.
+     *
+     * @param request The discovery request.
+     * @param engineDescriptor The engine descriptor.
+     */
+    void resolve(EngineDiscoveryRequest request, TestDescriptor engineDescriptor) {
+        Predicate<String> classNameFilter = Filter.composeFilters(request.getFiltersByType(ClassNameFilter.class))
+                .toPredicate();
+        for (ClassSelector selector : request.getSelectorsByType(ClassSelector.class)) {
+            if (IS_TEST_CLASS.test(selector.getJavaClass())) {
+                selections.put(selector.getJavaClass(), null);
+            }
+        }
+        for (PackageSelector selector : request.getSelectorsByType(PackageSelector.class)) {
+            ReflectionSupport.findAllClassesInPackage(selector.getPackageName(), IS_TEST_CLASS, classNameFilter)
+                    .forEach(c -> selections.put(c, null));
+        }
+        for (ClasspathRootSelector selector : request.getSelectorsByType(ClasspathRootSelector.class)) {
+            ReflectionSupport.findAllClassesInClasspathRoot(selector.getClasspathRoot(), IS_TEST_CLASS,
+                    classNameFilter).forEach(c -> selections.put(c, null));
+        }
+        for (UniqueIdSelector selector : request.getSelectorsByType(UniqueIdSelector.class)) {
+            selectUniqueId(selector.getUniqueId(), engineDescriptor.getUniqueId());
+        }
+        selections.forEach((testClass, selectedIds) -> {
+            TestClassDescriptor classDescriptor = describe(testClass, engineDescriptor.getUniqueId());
+            if (selectedIds == null || retainSelected(classDescriptor, selectedIds)) {
+                engineDescriptor.addChild(classDescriptor);
+            }
+        });
+    }
+
+    private void selectUniqueId(UniqueId uniqueId, UniqueId engineId) {
+        List<UniqueId.Segment> segments = uniqueId.getSegments();
+        if (!uniqueId.hasPrefix(engineId) || segments.size() < 2
+                || !segments.get(1).getType().equals(TestClassDescriptor.SEGMENT_TYPE)) {
+            return;
+        }
+        Optional<Class<?>> testClass = ReflectionSupport.tryToLoadClass(segments.get(1).getValue()).toOptional();
+        if (!testClass.isPresent() || !IS_TEST_CLASS.test(testClass.get())) {
+            return;
+        }
+        if (segments.size() == 2) {
+            selections.put(testClass.get(), null);
+        } else if (!selections.containsKey(testClass.get())) {
+            selections.put(testClass.get(), new HashSet<>(singletonList(uniqueId)));
+        } else if (selections.get(testClass.get()) != null) {
+            selections.get(testClass.get()).add(uniqueId);
+        }
+    }
+
+    private TestClassDescriptor describe(Class<?> testClass, UniqueId engineId) {
+        TestBlock rootBlock;
+        TestBlock compiledRootBlock;
+        try {
+            rootBlock = runner.defineTests(singletonList(testClass));
+            compiledRootBlock = runner.compileTests(rootBlock);
+        } catch (RuntimeException e) {
+            return new TestClassDescriptor(engineId, testClass, e);
+        }
+        TestClassDescriptor classDescriptor = new TestClassDescriptor(engineId, testClass, rootBlock);
+        ClassSource source = ClassSource.from(testClass);
+        TagMask tags = TagsOption.maskOf(compiledRootBlock.options);
+        for (TestBlock testBlock : compiledRootBlock.testBlocks) {
+            classDescriptor.addChild(describe(testBlock, classDescriptor.getUniqueId(), source, tags));
+        }
+        return classDescriptor;
+    }
+
+    private TestDescriptor describe(TestBlock testBlock, UniqueId parentId, ClassSource source, TagMask parentTags) {
+        TagMask tags = parentTags.union(TagsOption.maskOf(testBlock.options));
+        CuppaTestDescriptor blockDescriptor = new CuppaTestDescriptor(parentId, TestDescriptor.Type.CONTAINER,
+                testBlock.id.get(), testBlock.description, source, tags);
+        for (org.forgerock.cuppa.model.Test test : testBlock.tests) {
+            blockDescriptor.addChild(new CuppaTestDescriptor(blockDescriptor.getUniqueId(), TestDescriptor.Type.TEST,
+                    test.id.get(), test.description, source, tags.union(TagsOption.maskOf(test.options))));
+        }
+        for (TestBlock child : testBlock.testBlocks) {
+            blockDescriptor.addChild(describe(child, blockDescriptor.getUniqueId(), source, tags));
+        }
+        return blockDescriptor;
+    }
+
+    /**
+     * Removes every descriptor that is not selected, and is neither an ancestor nor a descendant of a selected one.
+     *
+     * @return Whether the descriptor or any of its descendants is selected.
+     */
+    private boolean retainSelected(TestDescriptor descriptor, Set<UniqueId> selectedIds) {
+        if (selectedIds.contains(descriptor.getUniqueId())) {
+            return true;
+        }
+        boolean retained = false;
+        for (TestDescriptor child : new ArrayList<>(descriptor.getChildren())) {
+            if (retainSelected(child, selectedIds)) {
+                retained = true;
+            } else {
+                descriptor.removeChild(child);
+            }
+        }
+        return retained;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.junit.platform;
+
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.reporters.ReporterEvent;
+import org.forgerock.cuppa.reporters.SelectiveReporter;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/**
+ * Reports the results of running a single Cuppa test class to a JUnit Platform execution listener.
+ *
+ * <p>Each test class is run with its own reporter, so the reporter itself is only used by one thread. Test classes may
+ * be run concurrently though, so every call to the shared listener is synchronized on it.</p>
+ *
+ * <p>A failing "before each" hook fails the test it was run for; any other failing hook fails the test block that it
+ * belongs to, or the test class if it belongs to the root block.</p>
+ */
+final class EngineExecutionReporter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            TEST_BLOCK_START, TEST_BLOCK_END, BLOCK_HOOK_FAIL, TEST_HOOK_FAIL, TEST_START, TEST_PASS, TEST_FAIL,
+            TEST_PENDING, TEST_SKIP));
+
+    private final EngineExecutionListener listener;
+    private final Map<String, TestDescriptor> descriptors = new HashMap<>();
+    private final Map<String, Throwable> blockFailures = new HashMap<>();
+    private final Set<String> finishedTests = new HashSet<>();
+    private Throwable rootFailure;
+
+    /**
+     * Constructs a new reporter.
+     *
+     * @param listener The listener to report to.
+     * @param classDescriptor The descriptor of the test class that will be run.
+     */
+    EngineExecutionReporter(EngineExecutionListener listener, TestClassDescriptor classDescriptor) {
+        this.listener = listener;
+        for (TestDescriptor descriptor : classDescriptor.getDescendants()) {
+            if (descriptor instanceof CuppaTestDescriptor) {
+                descriptors.put(((CuppaTestDescriptor) descriptor).getCuppaId(), descriptor);
+            }
+        }
+    }
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
+    }
+
+    @Override
+    public void testBlockStart(TestBlock testBlock, List<TestBlock> parents) {
+        descriptorOf(testBlock.id).ifPresent(d -> notify(() -> listener.executionStarted(d)));
+    }
+
+    @Override
+    public void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
+        Throwable failure = testBlock.id.map(blockFailures::remove).orElse(null);
+        TestExecutionResult result = (failure != null) ? TestExecutionResult.failed(failure)
+                : TestExecutionResult.successful();
+        descriptorOf(testBlock.id).ifPresent(d -> notify(() -> listener.executionFinished(d, result)));
+    }
+
+    @Override
+    public void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        TestBlock testBlock = parents.get(parents.size() - 1);
+        if (descriptorOf(testBlock.id).isPresent()) {
+            blockFailures.putIfAbsent(testBlock.id.get(), cause);
+        } else if (rootFailure == null) {
+            rootFailure = cause;
+        }
+    }
+
+    @Override
+    public void testHookFail(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents,
+            Throwable cause) {
+        if (test.id.isPresent() && !finishedTests.contains(test.id.get())) {
+            testStart(test, testParents);
+            testFail(test, testParents, cause);
+        } else {
+            blockHookFail(hook, hookParents, cause);
+        }
+    }
+
+    @Override
+    public void testStart(Test test, List<TestBlock> parents) {
+        descriptorOf(test.id).ifPresent(d -> notify(() -> listener.executionStarted(d)));
+    }
+
+    @Override
+    public void testPass(Test test, List<TestBlock> parents) {
+        finish(test, TestExecutionResult.successful());
+    }
+
+    @Override
+    public void testFail(Test test, List<TestBlock> parents, Throwable cause) {
+        finish(test, TestExecutionResult.failed(cause));
+    }
+
+    @Override
+    public void testPending(Test test, List<TestBlock> parents) {
+        skip(test, "Pending");
+    }
+
+    @Override
+    public void testSkip(Test test, List<TestBlock> parents) {
+        skip(test, "Skipped");
+    }
+
+    /**
+     * Get the failure of a hook that belongs to the root block, if any hook failed.
+     *
+     * @return The first failure of a root block hook.
+     */
+    Optional<Throwable> getRootFailure() {
+        return Optional.ofNullable(rootFailure);
+    }
+
+    private void finish(Test test, TestExecutionResult result) {
+        if (test.id.isPresent() && finishedTests.add(test.id.get())) {
+            descriptorOf(test.id).ifPresent(d -> notify(() -> listener.executionFinished(d, result)));
+        }
+    }
+
+    private void skip(Test test, String reason) {
+        // A test whose "before each" hook failed has already been reported as failed.
+        if (test.id.isPresent() && finishedTests.add(test.id.get())) {
+            descriptorOf(test.id).ifPresent(d -> notify(() -> listener.executionSkipped(d, reason)));
+        }
+    }
+
+    private Optional<TestDescriptor> descriptorOf(Optional<String> id) {
+        return id.map(descriptors::get);
+    }
+
+    private void notify(Runnable notification) {
+        synchronized (listener) {
+            notification.run();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.junit.platform;
+
+import java.util.Optional;
+
+import org.forgerock.cuppa.model.TestBlock;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+
+/**
+ * Describes a Cuppa test class, as a container of its top-level test blocks. If the class failed to define its tests,
+ * the descriptor has no children and the failure is reported when the class is run.
+ */
+final class TestClassDescriptor extends AbstractTestDescriptor {
+    static final String SEGMENT_TYPE = "class";
+
+    private final Class<?> testClass;
+    private final TestBlock rootBlock;
+    private final Throwable definitionFailure;
+
+    /**
+     * Constructs a new descriptor.
+     *
+     * @param parentId The unique id of the engine descriptor.
+     * @param testClass The test class.
+     * @param rootBlock The root block of the tests defined by the class, before it has been transformed or compiled.
+     */
+    TestClassDescriptor(UniqueId parentId, Class<?> testClass, TestBlock rootBlock) {
+        this(parentId, testClass, rootBlock, null);
+    }
+
+    /**
+     * Constructs a new descriptor for a class that failed to define its tests.
+     *
+     * @param parentId The unique id of the engine descriptor.
+     * @param testClass The test class.
+     * @param definitionFailure The reason the class failed to define its tests.
+     */
+    TestClassDescriptor(UniqueId parentId, Class<?> testClass, Throwable definitionFailure) {
+        this(parentId, testClass, null, definitionFailure);
+    }
+
+    private TestClassDescriptor(UniqueId parentId, Class<?> testClass, TestBlock rootBlock,
+            Throwable definitionFailure) {
+        super(parentId.append(SEGMENT_TYPE, testClass.getName()), testClass.getSimpleName(),
+                ClassSource.from(testClass));
+        this.testClass = testClass;
+        this.rootBlock = rootBlock;
+        this.definitionFailure = definitionFailure;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.CONTAINER;
+    }
+
+    @Override
+    public boolean mayRegisterTests() {
+        // Keep the descriptor of a class that failed to define its tests, so that the failure is reported.
+        return definitionFailure != null;
+    }
+
+    @Override
+    public String getLegacyReportingName() {
+        return testClass.getName();
+    }
+
+    /**
+     * Get the test class.
+     *
+     * @return The test class.
+     */
+    Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * Get the root block of the tests defined by the class, as it was before being transformed or compiled.
+     *
+     * @return The root block.
+     */
+    TestBlock getRootBlock() {
+        return rootBlock;
+    }
+
+    /**
+     * Get the reason the class failed to define its tests, if it did.
+     *
+     * @return The failure, if any.
+     */
+    Optional<Throwable> getDefinitionFailure() {
+        return Optional.ofNullable(definitionFailure);
+    }
+}
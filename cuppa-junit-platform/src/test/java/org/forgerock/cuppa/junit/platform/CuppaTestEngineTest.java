@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.junit.platform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TagFilter;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.testng.annotations.Test;
+
+public class CuppaTestEngineTest {
+
+    private static final Set<String> THREADS = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    @Test
+    public void shouldReportPassingFailingAndPendingTests() {
+
+        //When
+        TestExecutionSummary summary = execute(request(selectClass(MixedTests.class)));
+
+        //Then
+        assertThat(summary.getTestsFoundCount()).isEqualTo(3);
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(summary.getTestsFailedCount()).isEqualTo(1);
+        assertThat(summary.getTestsSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFailTestWhenBeforeEachHookFails() {
+
+        //When
+        TestExecutionSummary summary = execute(request(selectClass(FailingHookTests.class)));
+
+        //Then
+        assertThat(summary.getTestsFailedCount()).isEqualTo(1);
+        assertThat(summary.getTestsSkippedCount()).isEqualTo(1);
+        assertThat(summary.getFailures().get(0).getException()).hasMessage("hook failed");
+    }
+
+    @Test
+    public void shouldOnlyRunTestsWithIncludedTags() {
+
+        //When
+        TestExecutionSummary summary = execute(request(selectClass(MixedTests.class))
+                .filters(TagFilter.includeTags("smoke")));
+
+        //Then
+        assertThat(summary.getTestsFoundCount()).isEqualTo(1);
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldOnlyRunTestSelectedByUniqueId() {
+
+        //Given
+        UniqueId testId = UniqueId.forEngine(CuppaTestEngine.ENGINE_ID)
+                .append(TestClassDescriptor.SEGMENT_TYPE, MixedTests.class.getName())
+                .append(CuppaTestDescriptor.BLOCK_SEGMENT_TYPE, MixedTests.class.getName() + ":mixed")
+                .append(CuppaTestDescriptor.TEST_SEGMENT_TYPE, MixedTests.class.getName() + ":mixed fails");
+
+        //When
+        TestExecutionSummary summary = execute(request(selectUniqueId(testId)));
+
+        //Then
+        assertThat(summary.getTestsFoundCount()).isEqualTo(1);
+        assertThat(summary.getTestsFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRunTestClassesConcurrentlyWhenParallelExecutionIsEnabled() {
+
+        //Given
+        THREADS.clear();
+
+        //When
+        TestExecutionSummary summary = execute(request(selectClass(BlockingTests1.class),
+                selectClass(BlockingTests2.class))
+                .configurationParameter(CuppaTestEngine.PARALLEL_ENABLED_PROPERTY, "true")
+                .configurationParameter(CuppaTestEngine.PARALLEL_CONFIG_PREFIX + "strategy", "fixed")
+                .configurationParameter(CuppaTestEngine.PARALLEL_CONFIG_PREFIX + "fixed.parallelism", "2"));
+
+        //Then
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(2);
+        assertThat(THREADS).hasSize(2);
+    }
+
+    private static LauncherDiscoveryRequestBuilder request(DiscoverySelector... selectors) {
+        return LauncherDiscoveryRequestBuilder.request().selectors(selectors);
+    }
+
+    private static TestExecutionSummary execute(LauncherDiscoveryRequestBuilder requestBuilder) {
+        LauncherDiscoveryRequest request = requestBuilder.build();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        LauncherFactory.create().execute(request, listener);
+        return listener.getSummary();
+    }
+
+    private static void recordThreadAndWaitForOtherClass() throws InterruptedException {
+        THREADS.add(Thread.currentThread().getName());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (THREADS.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @org.forgerock.cuppa.Test
+    public static class MixedTests {
+        {
+            describe("mixed", () -> {
+                with(tags("smoke")).it("passes", () -> {
+                });
+                it("fails", () -> {
+                    throw new AssertionError("failed");
+                });
+                it("is pending");
+            });
+        }
+    }
+
+    @org.forgerock.cuppa.Test
+    public static class FailingHookTests {
+        {
+            describe("failing hook", () -> {
+                beforeEach(() -> {
+                    throw new IllegalStateException("hook failed");
+                });
+                it("is not run", () -> {
+                });
+                it("is skipped", () -> {
+                });
+            });
+        }
+    }
+
+    @org.forgerock.cuppa.Test
+    public static class BlockingTests1 {
+        {
+            describe("blocking 1", () -> {
+                it("waits", CuppaTestEngineTest::recordThreadAndWaitForOtherClass);
+            });
+        }
+    }
+
+    @org.forgerock.cuppa.Test
+    public static class BlockingTests2 {
+        {
+            describe("blocking 2", () -> {
+                it("waits", CuppaTestEngineTest::recordThreadAndWaitForOtherClass);
+            });
+        }
+    }
+}
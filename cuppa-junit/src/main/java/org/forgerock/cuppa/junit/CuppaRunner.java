@@ -19,25 +19,66 @@ package org.forgerock.cuppa.junit;
 import static org.junit.runner.Description.createSuiteDescription;
 import static org.junit.runner.Description.createTestDescription;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.model.Options;
+import org.forgerock.cuppa.model.Test;
 import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.model.TestTreeCompiler;
+import org.forgerock.cuppa.transforms.PatternTestBlockFilter;
+import org.forgerock.cuppa.transforms.TestIdTestBlockFilter;
 import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.RunNotifier;
 
 /**
  * A {@code Runner} for running Cuppa tests and notifying the JUnit framework of test results.
+ *
+ * <p>The tests to run can be narrowed down by setting the {@value #TEST_PATTERNS_PROPERTY} system property to a comma
+ * separated list of patterns, as understood by {@link PatternTestBlockFilter}.</p>
+ *
+ * <p>The runner can be filtered and sorted by JUnit, which is how IDEs run a single test. Filtering removes the tests
+ * that are not selected before the tests are run, so only the hooks that the selected tests need are run.</p>
+ *
+ * <p>By default, each test class is run by its own Cuppa runner, which is configured by the
+ * {@link org.forgerock.cuppa.ConfigurationProvider} when the class is run. If the {@value #SHARED_RUNNER_PROPERTY}
+ * system property is {@code true}, all the test classes share a single Cuppa runner instead, so the configuration
+ * provider is only called once and its transforms and additional reporter are shared by every class.</p>
  */
-public final class CuppaRunner extends Runner {
+public final class CuppaRunner extends Runner implements Filterable, Sortable {
+
+    /**
+     * The system property that holds the patterns of the tests to run.
+     */
+    public static final String TEST_PATTERNS_PROPERTY = "cuppa.test";
+
+    /**
+     * The system property that enables sharing a single Cuppa runner between all test classes.
+     */
+    public static final String SHARED_RUNNER_PROPERTY = "cuppa.junit.sharedRunner";
+
+    private static final Map<Options, org.forgerock.cuppa.Runner> SHARED_RUNNERS = new ConcurrentHashMap<>();
 
     private final Class<?> testClass;
-    private final org.forgerock.cuppa.Runner runner = new org.forgerock.cuppa.Runner();
-    private final TestBlock rootBlock;
+    private final org.forgerock.cuppa.Runner runner = getRunner();
+    private TestBlock rootBlock;
+    private Description description;
+    private Map<String, Description> testDescriptions;
+    private Map<TestBlock, Description> testBlockDescriptions;
 
     /**
      * Constructs a new {@code Runner} that will run tests in the {@code annotatedClass}.
@@ -46,29 +87,154 @@ public final class CuppaRunner extends Runner {
      */
     public CuppaRunner(Class<?> annotatedClass) {
         this.testClass = annotatedClass;
-        rootBlock = runner.defineTests(Collections.singletonList(annotatedClass));
+        rootBlock = TestTreeCompiler.compile(runner.defineTests(Collections.singletonList(annotatedClass)));
     }
 
+    /**
+     * Get the description of the tests. The description is built once, along with a map from the full description of
+     * each test to its description and a map from each test block to its description, and is only rebuilt if the tests
+     * are filtered or sorted.
+     *
+     * @return The description of the tests.
+     */
     @Override
     public Description getDescription() {
-        Description description = createSuiteDescription(testClass.getName(), rootBlock.description);
-        rootBlock.testBlocks.forEach(b ->
-                description.addChild(getDescriptionOfDescribeBlock(b, Collections.singletonList(rootBlock))));
+        if (description == null) {
+            testDescriptions = new HashMap<>();
+            testBlockDescriptions = new IdentityHashMap<>();
+            description = createSuiteDescription(testClass.getName(), rootBlock.description);
+            rootBlock.testBlocks.forEach(b -> description.addChild(getDescriptionOfDescribeBlock(b)));
+        }
         return description;
     }
 
-    private Description getDescriptionOfDescribeBlock(TestBlock testBlock, List<TestBlock> parents) {
-        Description description = createSuiteDescription(ReporterSupport.getDescription(testBlock),
-                ReporterSupport.getFullDescription(testBlock, parents));
-        List<TestBlock> newParents = Stream.concat(parents.stream(), Stream.of(testBlock)).collect(Collectors.toList());
-        testBlock.tests.forEach(test -> description.addChild(createTestDescription(test.testClass.getName(),
-                test.description, ReporterSupport.getFullDescription(test, newParents))));
-        testBlock.testBlocks.forEach(b -> description.addChild(getDescriptionOfDescribeBlock(b, newParents)));
-        return description;
+    private Description getDescriptionOfDescribeBlock(TestBlock testBlock) {
+        Description blockDescription = createSuiteDescription(ReporterSupport.getDescription(testBlock),
+                testBlock.fullDescription.get());
+        testBlockDescriptions.put(testBlock, blockDescription);
+        testBlock.tests.forEach(test -> blockDescription.addChild(getDescriptionOfTest(test)));
+        testBlock.testBlocks.forEach(b -> blockDescription.addChild(getDescriptionOfDescribeBlock(b)));
+        return blockDescription;
+    }
+
+    private Description getDescriptionOfTest(Test test) {
+        Description testDescription = createTestDescription(test.testClass.getName(), test.description,
+                test.fullDescription.get());
+        testDescriptions.putIfAbsent(test.fullDescription.get(), testDescription);
+        return testDescription;
+    }
+
+    /**
+     * Get the cached description of a test in the tree.
+     */
+    private Description descriptionOf(Test test) {
+        getDescription();
+        return testDescriptions.get(test.fullDescription.get());
+    }
+
+    /**
+     * Get the cached description of a test block in the tree.
+     */
+    private Description descriptionOf(TestBlock testBlock) {
+        getDescription();
+        return testBlockDescriptions.get(testBlock);
+    }
+
+    /**
+     * Removes the tests that the filter does not select. A test block is kept whole if the filter selects it but none
+     * of the tests within it, as a filter that selects a block by its own description is not asked about its tests.
+     *
+     * @param filter The filter to apply.
+     * @throws NoTestsRemainException If the filter does not select any tests.
+     */
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        Set<String> ids = new HashSet<>();
+        collectSelectedTestIds(filter, rootBlock, ids);
+        if (ids.isEmpty()) {
+            throw new NoTestsRemainException();
+        }
+        updateTests(new TestIdTestBlockFilter(ids).apply(rootBlock));
+    }
+
+    /**
+     * Collects the ids of the tests and test blocks within the given block that the filter selects.
+     *
+     * @return Whether any test within the block was selected.
+     */
+    private boolean collectSelectedTestIds(Filter filter, TestBlock testBlock, Set<String> ids) {
+        boolean selected = false;
+        for (Test test : testBlock.tests) {
+            if (filter.shouldRun(descriptionOf(test))) {
+                test.id.ifPresent(ids::add);
+                selected = true;
+            }
+        }
+        for (TestBlock child : testBlock.testBlocks) {
+            boolean childSelected = collectSelectedTestIds(filter, child, ids);
+            if (!childSelected && filter.shouldRun(descriptionOf(child))) {
+                child.id.ifPresent(ids::add);
+                childSelected = true;
+            }
+            selected |= childSelected;
+        }
+        return selected;
+    }
+
+    /**
+     * Orders the tests within each test block, and the test blocks nested within each test block. Tests and nested
+     * test blocks are ordered separately, as Cuppa always runs a block's tests before its nested blocks.
+     *
+     * @param sorter The sorter to order tests with.
+     */
+    @Override
+    public void sort(Sorter sorter) {
+        updateTests(sort(sorter, rootBlock));
+    }
+
+    private TestBlock sort(Sorter sorter, TestBlock testBlock) {
+        List<Test> tests = new ArrayList<>(testBlock.tests);
+        tests.sort((a, b) -> sorter.compare(descriptionOf(a), descriptionOf(b)));
+        List<TestBlock> testBlocks = new ArrayList<>(testBlock.testBlocks.size());
+        for (TestBlock child : testBlock.testBlocks) {
+            testBlocks.add(sort(sorter, child));
+        }
+        testBlocks.sort((a, b) -> sorter.compare(createSuiteDescription(ReporterSupport.getDescription(a)),
+                createSuiteDescription(ReporterSupport.getDescription(b))));
+        return testBlock.toBuilder().setTests(tests).setTestBlocks(testBlocks).build();
+    }
+
+    /**
+     * Replaces the tests with a filtered or sorted copy, which is compiled again as transforms do not keep the ids of
+     * test blocks, and discards the cached description.
+     */
+    private void updateTests(TestBlock newRootBlock) {
+        rootBlock = TestTreeCompiler.compile(newRootBlock);
+        description = null;
+        testDescriptions = null;
+        testBlockDescriptions = null;
+    }
+
+    private static org.forgerock.cuppa.Runner getRunner() {
+        Options runOptions = getRunOptions();
+        if (Boolean.getBoolean(SHARED_RUNNER_PROPERTY)) {
+            return SHARED_RUNNERS.computeIfAbsent(runOptions, org.forgerock.cuppa.Runner::new);
+        }
+        return new org.forgerock.cuppa.Runner(runOptions);
+    }
+
+    private static Options getRunOptions() {
+        String testPatterns = System.getProperty(TEST_PATTERNS_PROPERTY, "").trim();
+        if (testPatterns.isEmpty()) {
+            return Options.EMPTY;
+        }
+        return Options.EMPTY.set(new org.forgerock.cuppa.Runner.TestPatternsRunOption(
+                PatternTestBlockFilter.splitPatterns(testPatterns)));
     }
 
     @Override
     public void run(RunNotifier notifier) {
-        runner.run(rootBlock, new ReportJUnitAdapter(notifier));
+        getDescription();
+        runner.run(rootBlock, new ReportJUnitAdapter(notifier, testDescriptions));
     }
 }
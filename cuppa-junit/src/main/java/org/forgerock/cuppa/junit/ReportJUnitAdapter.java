@@ -16,13 +16,21 @@
 
 package org.forgerock.cuppa.junit;
 
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.forgerock.cuppa.ReporterSupport;
 import org.forgerock.cuppa.model.Hook;
 import org.forgerock.cuppa.model.Test;
 import org.forgerock.cuppa.model.TestBlock;
 import org.forgerock.cuppa.reporters.Reporter;
+import org.forgerock.cuppa.reporters.ReporterEvent;
+import org.forgerock.cuppa.reporters.SelectiveReporter;
 import org.junit.runner.Description;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
@@ -30,18 +38,31 @@ import org.junit.runner.notification.RunNotifier;
 /**
  * A JUnit reporter that adapts between the Cuppa {@link Reporter} interface and JUnit's
  * {@link RunNotifier}.
+ *
+ * <p>Tests are reported with the descriptions that the runner has already built, looked up by their full description,
+ * so that reporting a test does not create a new description.</p>
  */
-final class ReportJUnitAdapter implements Reporter {
+final class ReportJUnitAdapter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            HOOK_FAIL, TEST_START, TEST_END, TEST_FAIL, TEST_PENDING, TEST_SKIP));
 
     private final RunNotifier notifier;
+    private final Map<String, Description> testDescriptions;
 
     /**
      * Constructs a reporter that adapts events to JUnit.
      *
      * @param notifier The JUnit {@link RunNotifier} instance.
+     * @param testDescriptions The descriptions of the tests, keyed by their full descriptions.
      */
-    ReportJUnitAdapter(RunNotifier notifier) {
+    ReportJUnitAdapter(RunNotifier notifier, Map<String, Description> testDescriptions) {
         this.notifier = notifier;
+        this.testDescriptions = testDescriptions;
+    }
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
     }
 
     @Override
@@ -78,7 +99,12 @@ final class ReportJUnitAdapter implements Reporter {
     }
 
     private Description getDescription(Test test, List<TestBlock> parents) {
-        return Description.createTestDescription(test.testClass.getName(), test.description,
-                ReporterSupport.getFullDescription(test, parents));
+        String fullDescription = ReporterSupport.getFullDescription(test, parents);
+        Description description = testDescriptions.get(fullDescription);
+        if (description == null) {
+            description = Description.createTestDescription(test.testClass.getName(), test.description,
+                    fullDescription);
+        }
+        return description;
     }
 }
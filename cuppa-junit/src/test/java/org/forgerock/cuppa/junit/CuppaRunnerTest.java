@@ -16,25 +16,61 @@
 
 package org.forgerock.cuppa.junit;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.forgerock.cuppa.Cuppa.*;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.assertj.core.api.Assertions;
+import org.forgerock.cuppa.Configuration;
+import org.forgerock.cuppa.ConfigurationProvider;
 import org.forgerock.cuppa.functions.TestFunction;
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.Filter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 public class CuppaRunnerTest {
 
     Description suiteDescription;
+    private ClassLoader originalClassLoader;
+    private Path servicesDirectory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        CountingConfigurationProvider.CONFIGURATIONS.set(0);
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+        servicesDirectory = Files.createTempDirectory("cuppa-services");
+        Path services = Files.createDirectories(servicesDirectory.resolve("META-INF/services"));
+        Files.write(services.resolve(ConfigurationProvider.class.getName()),
+                CountingConfigurationProvider.class.getName().getBytes(UTF_8));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        System.clearProperty(CuppaRunner.SHARED_RUNNER_PROPERTY);
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+        Path services = servicesDirectory.resolve("META-INF/services");
+        Files.delete(services.resolve(ConfigurationProvider.class.getName()));
+        Files.delete(services);
+        Files.delete(services.getParent());
+        Files.delete(servicesDirectory);
+    }
 
     @Test
     public void shouldReportPassingTest() {
@@ -251,6 +287,31 @@ public class CuppaRunnerTest {
         assertThat(testDescriptions.get(0)).isEqualTo(testDescription);
     }
 
+    @Test
+    public void shouldReuseTestDescriptionsWhenReportingTests() throws Exception {
+
+        //Given
+        CuppaRunner runner = new CuppaRunner(CuppaRunnerTest.PassingTest.class);
+        Description description = runner.getDescription();
+        List<Description> testDescriptions = new ArrayList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description testDescription) throws Exception {
+                testDescriptions.add(testDescription);
+            }
+        });
+
+        //When
+        runner.run(notifier);
+
+        //Then
+        assertThat(runner.getDescription()).isSameAs(description);
+        assertThat(testDescriptions).hasSize(1);
+        assertThat(testDescriptions.get(0)).isSameAs(description.getChildren().get(0).getChildren().get(0)
+                .getChildren().get(0));
+    }
+
     @Test
     public void shouldReportDistinctDescriptionsForTestsWithSameName() {
 
@@ -336,6 +397,175 @@ public class CuppaRunnerTest {
         assertThat(rootDescriptionChildren.get(2).getChildren().get(0).getDisplayName()).startsWith("d");
     }
 
+    @Test
+    public void shouldOnlyRunFilteredTestsAndTheirHooks() {
+
+        //Given
+        FilteredTests.HOOK_RUNS.set(0);
+        Filter filter = new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                return description.getDisplayName().startsWith("d(");
+            }
+
+            @Override
+            public String describe() {
+                return "test d";
+            }
+        };
+
+        //When
+        Result result = new JUnitCore().run(Request.aClass(FilteredTests.class).filterWith(filter));
+
+        //Then
+        assertThat(result.getRunCount()).isEqualTo(1);
+        assertThat(FilteredTests.HOOK_RUNS.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRunWholeTestBlockSelectedByFilter() throws Exception {
+
+        //Given
+        FilteredTests.HOOK_RUNS.set(0);
+        CuppaRunner runner = new CuppaRunner(FilteredTests.class);
+        Description whenC = runner.getDescription().getChildren().get(0).getChildren().get(1);
+        Filter filter = new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                return description.equals(whenC);
+            }
+
+            @Override
+            public String describe() {
+                return "when c";
+            }
+        };
+        List<String> testNames = new ArrayList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                testNames.add(description.getMethodName());
+            }
+        });
+
+        //When
+        runner.filter(filter);
+        runner.run(notifier);
+
+        //Then
+        assertThat(testNames).containsExactly("d");
+        assertThat(FilteredTests.HOOK_RUNS.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldOnlyRunSelectedTestsOfTestBlockSelectedByFilter() throws Exception {
+
+        //Given
+        CuppaRunner runner = new CuppaRunner(FilteredTests.class);
+        Description testD = runner.getDescription().getChildren().get(0).getChildren().get(1).getChildren().get(0);
+        List<String> testNames = new ArrayList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                testNames.add(description.getMethodName());
+            }
+        });
+
+        //When
+        runner.filter(Filter.matchMethodDescription(testD));
+        runner.run(notifier);
+
+        //Then
+        assertThat(testNames).containsExactly("d");
+    }
+
+    @Test
+    public void shouldRunTestsInSortedOrder() {
+
+        //Given
+        List<String> testNames = new ArrayList<>();
+        JUnitCore jUnit = new JUnitCore();
+        jUnit.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                testNames.add(description.getMethodName());
+            }
+        });
+
+        //When
+        jUnit.run(Request.aClass(CuppaRunnerTest.TestsAndTestBlocks.class)
+                .sortWith((d1, d2) -> d2.getDisplayName().compareTo(d1.getDisplayName())));
+
+        //Then
+        assertThat(testNames).containsExactly("b", "a", "d");
+    }
+
+    @Test
+    public void shouldConfigureACuppaRunnerForEachTestClassByDefault() throws Exception {
+
+        //Given
+        useCountingConfigurationProvider();
+
+        //When
+        new CuppaRunner(CuppaRunnerTest.PassingTest.class);
+        new CuppaRunner(CuppaRunnerTest.FailingTest.class);
+
+        //Then
+        assertThat(CountingConfigurationProvider.CONFIGURATIONS.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldShareOneCuppaRunnerBetweenTestClassesWhenEnabled() throws Exception {
+
+        //Given
+        System.setProperty(CuppaRunner.SHARED_RUNNER_PROPERTY, "true");
+        useCountingConfigurationProvider();
+        List<String> events = new ArrayList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) throws Exception {
+                events.add(description.getDisplayName());
+            }
+
+            @Override
+            public void testFailure(Failure failure) throws Exception {
+                events.add("failed " + failure.getDescription().getDisplayName());
+            }
+        });
+
+        //When
+        new CuppaRunner(CuppaRunnerTest.PassingTest.class).run(notifier);
+        new CuppaRunner(CuppaRunnerTest.FailingTest.class).run(notifier);
+
+        //Then
+        assertThat(CountingConfigurationProvider.CONFIGURATIONS.get()).isEqualTo(1);
+        assertThat(events).containsExactly(
+                "shows a passing test as passing(" + CuppaRunnerTest.PassingTest.class.getName() + ")",
+                "failed shows a failing test as failing(" + CuppaRunnerTest.FailingTest.class.getName() + ")",
+                "shows a failing test as failing(" + CuppaRunnerTest.FailingTest.class.getName() + ")");
+    }
+
+    /**
+     * Makes the Cuppa runners created by the test use {@link CountingConfigurationProvider}. A new class loader is
+     * used each time, as Cuppa caches the configuration provider of each class loader.
+     */
+    private void useCountingConfigurationProvider() throws Exception {
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(
+                new URL[] {servicesDirectory.toUri().toURL()}, getClass().getClassLoader()));
+    }
+
+    public static final class CountingConfigurationProvider implements ConfigurationProvider {
+        static final AtomicInteger CONFIGURATIONS = new AtomicInteger();
+
+        @Override
+        public void configure(Configuration configuration) {
+            CONFIGURATIONS.incrementAndGet();
+        }
+    }
+
     @RunWith(CuppaRunner.class)
     public static class PassingTest {
         {
@@ -493,4 +723,23 @@ public class CuppaRunnerTest {
             });
         }
     }
+
+    @RunWith(CuppaRunner.class)
+    public static class FilteredTests {
+        static final AtomicInteger HOOK_RUNS = new AtomicInteger();
+
+        {
+            describe("Cuppa", () -> {
+                it("a", TestFunction.identity());
+                when("c", () -> {
+                    before(HOOK_RUNS::incrementAndGet);
+                    it("d", TestFunction.identity());
+                });
+                when("e", () -> {
+                    before(HOOK_RUNS::incrementAndGet);
+                    it("f", TestFunction.identity());
+                });
+            });
+        }
+    }
 }
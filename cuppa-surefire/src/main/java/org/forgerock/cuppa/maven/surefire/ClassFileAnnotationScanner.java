@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.forgerock.cuppa.maven.surefire;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Finds classes that may be annotated with a given annotation by reading their class files, without loading them.
+ *
+ * <p>A class file can only be annotated with an annotation if the annotation's type descriptor appears in its constant
+ * pool, so only the constant pool is read. The check may report classes that merely refer to the annotation type, so
+ * the classes that pass it still need to be checked once loaded.</p>
+ *
+ * <p>Results can be cached in a file between runs. A class's cached result is reused for as long as the modification
+ * time of the jar containing it, or of the class file itself if it is in a directory, is unchanged.</p>
+ */
+final class ClassFileAnnotationScanner {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    /**
+     * The size in bytes of each type of constant pool entry, indexed by tag, excluding the tag itself. Unknown tags
+     * have a size of -1. UTF-8 entries have a variable size, so they are read separately.
+     */
+    private static final int[] CONSTANT_SIZES = {-1, 0, -1, 4, 4, 8, 8, 2, 2, 4, 4, 4, 4, -1, -1, 3, 2, 4, 4, 2, 2};
+
+    private final ClassLoader classLoader;
+    private final String annotationDescriptor;
+    private final Path cacheFile;
+    private final Map<String, CacheEntry> cache = new HashMap<>();
+    private boolean modified;
+
+    /**
+     * Constructs a new scanner.
+     *
+     * @param classLoader The class loader to find class files with.
+     * @param annotationType The annotation to look for.
+     * @param cacheFile The file to cache results in, or {@code null} to not cache results between runs.
+     */
+    ClassFileAnnotationScanner(ClassLoader classLoader, Class<?> annotationType, Path cacheFile) {
+        this.classLoader = classLoader;
+        this.annotationDescriptor = "L" + annotationType.getName().replace('.', '/') + ";";
+        this.cacheFile = cacheFile;
+        loadCache();
+    }
+
+    /**
+     * Checks whether a class may be annotated with the annotation. Classes whose class file cannot be found or read
+     * are assumed to be annotated, so that they are still checked once loaded.
+     *
+     * @param className The binary name of the class.
+     * @return {@code false} if the class is definitely not annotated, otherwise {@code true}.
+     */
+    boolean mayBeAnnotated(String className) {
+        URL url = classLoader.getResource(className.replace('.', '/') + ".class");
+        if (url == null) {
+            return true;
+        }
+        String key = url.toString();
+        long stamp = getModificationTime(url);
+        CacheEntry entry = cache.get(key);
+        if (entry != null && entry.stamp == stamp) {
+            return entry.annotated;
+        }
+        boolean annotated;
+        try (InputStream stream = url.openStream()) {
+            annotated = hasConstant(stream);
+        } catch (IOException e) {
+            return true;
+        }
+        if (stamp != -1) {
+            cache.put(key, new CacheEntry(stamp, annotated));
+            modified = true;
+        }
+        return annotated;
+    }
+
+    /**
+     * Writes the cached results to the cache file, if they have changed. Failures are ignored, as the cache is only an
+     * optimisation.
+     */
+    void saveCache() {
+        if (cacheFile == null || !modified) {
+            return;
+        }
+        Properties properties = new Properties();
+        cache.forEach((key, entry) -> properties.setProperty(key, entry.stamp + (entry.annotated ? ",1" : ",0")));
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            // Write to a temporary file first, so that concurrent forks never read a partially written cache.
+            Path tempFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), "cuppa", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                properties.store(writer, annotationDescriptor);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException | UnsupportedOperationException e) {
+            // Ignore: the classes will be scanned again next time.
+        }
+    }
+
+    private void loadCache() {
+        if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            int separator = value.indexOf(',');
+            try {
+                cache.put(key, new CacheEntry(Long.parseLong(value.substring(0, Math.max(separator, 0))),
+                        value.endsWith(",1")));
+            } catch (NumberFormatException e) {
+                // Ignore the entry: the class will be scanned again.
+            }
+        }
+    }
+
+    /**
+     * Gets the modification time of the jar or file that a class file is loaded from.
+     *
+     * @return The modification time, or {@code -1} if it cannot be determined.
+     */
+    private long getModificationTime(URL url) {
+        try {
+            Path path;
+            if (url.getProtocol().equals("jar")) {
+                path = Paths.get(((JarURLConnection) url.openConnection()).getJarFileURL().toURI());
+            } else if (url.getProtocol().equals("file")) {
+                path = Paths.get(url.toURI());
+            } else {
+                return -1;
+            }
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Checks whether the constant pool of a class file contains the annotation descriptor. If the class file cannot be
+     * understood, it is assumed to contain it.
+     */
+    private boolean hasConstant(InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+        if (input.readInt() != MAGIC) {
+            return true;
+        }
+        input.readUnsignedShort();
+        input.readUnsignedShort();
+        int count = input.readUnsignedShort();
+        int index = 1;
+        while (index < count) {
+            int tag = input.readUnsignedByte();
+            if (tag == CONSTANT_UTF8) {
+                if (input.readUTF().equals(annotationDescriptor)) {
+                    return true;
+                }
+            } else if (tag < CONSTANT_SIZES.length && CONSTANT_SIZES[tag] >= 0) {
+                input.readFully(new byte[CONSTANT_SIZES[tag]]);
+            } else {
+                return true;
+            }
+            // Long and double constants take up two entries in the pool.
+            index += (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) ? 2 : 1;
+        }
+        return false;
+    }
+
+    private static final class CacheEntry {
+        private final long stamp;
+        private final boolean annotated;
+
+        private CacheEntry(long stamp, boolean annotated) {
+            this.stamp = stamp;
+            this.annotated = annotated;
+        }
+    }
+}
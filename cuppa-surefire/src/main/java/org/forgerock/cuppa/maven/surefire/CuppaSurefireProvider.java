@@ -17,34 +17,71 @@
 package org.forgerock.cuppa.maven.surefire;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.apache.maven.surefire.providerapi.AbstractProvider;
 import org.apache.maven.surefire.providerapi.ProviderParameters;
+import org.apache.maven.surefire.report.ReporterConfiguration;
 import org.apache.maven.surefire.report.ReporterFactory;
 import org.apache.maven.surefire.report.RunListener;
 import org.apache.maven.surefire.suite.RunResult;
+import org.apache.maven.surefire.testset.TestListResolver;
+import org.apache.maven.surefire.testset.TestRequest;
+import org.apache.maven.surefire.util.ScanResult;
 import org.forgerock.cuppa.Runner;
 import org.forgerock.cuppa.Test;
+import org.forgerock.cuppa.model.Behaviour;
 import org.forgerock.cuppa.model.Options;
 import org.forgerock.cuppa.model.Tags;
 import org.forgerock.cuppa.model.TestBlock;
 import org.forgerock.cuppa.reporters.CompositeReporter;
 import org.forgerock.cuppa.reporters.DefaultReporter;
 import org.forgerock.cuppa.reporters.Reporter;
+import org.forgerock.cuppa.reporters.SlowestTestsReporter;
+import org.forgerock.cuppa.transforms.PatternTestBlockFilter;
 
 /**
  * Maven Surefire and Failsafe provider for locating and running Cuppa tests.
+ *
+ * <p>Each test class is reported as its own test set. If Surefire's {@code parallel} parameter is set to anything other
+ * than {@code none}, test classes are run concurrently, using as many threads as the {@code threadCount},
+ * {@code perCoreThreadCount} and {@code useUnlimitedThreads} parameters allow. Tests within a class are always run
+ * sequentially. When Surefire hands the provider individual test classes, for example to balance them between
+ * several forks, only those classes are run.</p>
+ *
+ * <p>When classes are run separately, whether concurrently or because Surefire hands them over one at a time, each
+ * class is run by a {@link Runner} of its own, and so is each re-run of its failing tests. The
+ * {@link org.forgerock.cuppa.ConfigurationProvider} therefore configures each of these runs, and a reporter registered
+ * with {@link org.forgerock.cuppa.Configuration#setAdditionalReporter(Reporter)} receives the events of one class at
+ * a time, from {@code start()} to {@code end()}. A configuration provider that registers the same reporter instance
+ * for every run must make it thread-safe, as it receives the events of concurrently running classes interleaved.</p>
  */
 public final class CuppaSurefireProvider extends AbstractProvider {
+    private static final String SCAN_CACHE_FILE_NAME = "cuppa-scan-cache.properties";
 
     private final ProviderParameters providerParameters;
     private final Tags tags;
+    private final String testPatterns;
+    private final int threadCount;
+    private final int rerunFailingTestsCount;
+    private final int slowestCount;
 
     /**
      * Constructs a new Cuppa Surefire Provider.
@@ -61,6 +98,44 @@ public final class CuppaSurefireProvider extends AbstractProvider {
             throw new RuntimeException("Use of groupsExpression/tagsExpression cannot be used with "
                     + "excludedGroups/excludedTags or groups/tags");
         }
+        testPatterns = getTestPatterns(parameters.getTestRequest());
+        threadCount = getThreadCount(properties);
+        rerunFailingTestsCount = (parameters.getTestRequest() != null)
+                ? parameters.getTestRequest().getRerunFailingTestsCount() : 0;
+        String slowest = getPropertyOrSystem("slowestTests", properties);
+        slowestCount = (slowest != null && !slowest.trim().isEmpty()) ? Integer.parseInt(slowest.trim()) : 0;
+    }
+
+    private int getThreadCount(Map<String, String> properties) {
+        String parallel = getPropertyOrSystem("parallel", properties);
+        if (parallel == null || parallel.trim().isEmpty() || parallel.trim().equals("none")) {
+            return 1;
+        }
+        if (Boolean.parseBoolean(getPropertyOrSystem("useUnlimitedThreads", properties))) {
+            return Integer.MAX_VALUE;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        String threads = getPropertyOrSystem("threadCount", properties);
+        if (threads == null || threads.trim().isEmpty()) {
+            return cores;
+        }
+        int count = Integer.parseInt(threads.trim());
+        String perCore = getPropertyOrSystem("perCoreThreadCount", properties);
+        if (perCore == null || Boolean.parseBoolean(perCore)) {
+            count *= cores;
+        }
+        return Math.max(count, 1);
+    }
+
+    private String getPropertyOrSystem(String name, Map<String, String> properties) {
+        String value = System.getProperty(name);
+        return (value != null) ? value : properties.get(name);
+    }
+
+    private String getTestPatterns(TestRequest testRequest) {
+        TestListResolver resolver = (testRequest != null) ? testRequest.getTestListResolver() : null;
+        String patterns = (resolver != null) ? resolver.getPluginParameterTest() : null;
+        return (patterns != null) ? patterns.trim() : "";
     }
 
     private String getExpressionTags(Map<String, String> properties) {
@@ -110,18 +185,201 @@ public final class CuppaSurefireProvider extends AbstractProvider {
     public RunResult invoke(Object forkTestSet) {
         ReporterFactory reporterFactory = providerParameters.getReporterFactory();
         RunListener listener = reporterFactory.createReporter();
-        Runner runner = new Runner(Options.EMPTY.set(new Runner.TagsRunOption(tags)));
-        TestBlock rootBlock = runner.defineTests(getSuites());
-        List<Reporter> reporters = Arrays.asList(new DefaultReporter(), new CuppaSurefireReporter(listener));
-        runner.run(rootBlock, new CompositeReporter(reporters));
+        SlowestTestsReporter slowestTests = (slowestCount > 0) ? new SlowestTestsReporter(slowestCount) : null;
+        if (forkTestSet instanceof Class) {
+            List<Class<?>> testClasses = singletonList((Class<?>) forkTestSet);
+            runTestClasses(testClasses.iterator(), (r, c) -> r.defineTests(singletonList(c)), listener,
+                    slowestTests, 1);
+        } else if (forkTestSet instanceof Iterable) {
+            // Surefire provides the classes lazily to balance them between forks, so only take them when needed.
+            @SuppressWarnings("unchecked")
+            Iterable<Class<?>> testClasses = (Iterable<Class<?>>) forkTestSet;
+            int threads = (threadCount == Integer.MAX_VALUE)
+                    ? Runtime.getRuntime().availableProcessors() : threadCount;
+            runTestClasses(testClasses.iterator(), (r, c) -> r.defineTests(singletonList(c)), listener,
+                    slowestTests, threads);
+        } else {
+            Runner runner = new Runner(getRunOptions());
+            TestBlock rootBlock = runner.defineTests(getSuites());
+            if (threadCount > 1 && !hasOnlyTests(rootBlock)) {
+                Map<Class<?>, TestBlock> classBlocks = splitByClass(rootBlock);
+                runTestClasses(classBlocks.keySet().iterator(), (r, c) -> classBlocks.get(c), listener, slowestTests,
+                        Math.min(threadCount, classBlocks.size()));
+            } else {
+                runTests(runner, rootBlock, listener, slowestTests, false);
+            }
+        }
+        if (slowestTests != null) {
+            // One summary covers every class and re-run, however they were split between runners.
+            slowestTests.printSummary(System.out);
+            System.out.flush();
+        }
         return reporterFactory.close();
     }
 
+    private Options getRunOptions() {
+        Options runOptions = Options.EMPTY.set(new Runner.TagsRunOption(tags));
+        if (!testPatterns.isEmpty()) {
+            runOptions = runOptions.set(new Runner.TestPatternsRunOption(
+                    PatternTestBlockFilter.splitPatterns(testPatterns)));
+        }
+        return runOptions;
+    }
+
+    /**
+     * Runs each test class separately, using the given number of threads. Tests marked as only are only considered
+     * within their own class. Each class is defined and run by a new runner, so runners, and the reporters that their
+     * configuration adds, are never shared between threads.
+     */
+    private void runTestClasses(Iterator<Class<?>> testClasses, BiFunction<Runner, Class<?>, TestBlock> testDefiner,
+            RunListener listener, SlowestTestsReporter slowestTests, int threads) {
+        boolean concurrent = threads > 1;
+        Runnable worker = () -> {
+            while (true) {
+                Class<?> testClass;
+                synchronized (testClasses) {
+                    if (!testClasses.hasNext()) {
+                        return;
+                    }
+                    testClass = testClasses.next();
+                }
+                Runner runner = new Runner(getRunOptions());
+                runTests(runner, testDefiner.apply(runner, testClass), listener, slowestTests, concurrent);
+            }
+        };
+        if (!concurrent) {
+            worker.run();
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running tests", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the given tests, then re-runs any that failed up to {@link #rerunFailingTestsCount} times. Only the failing
+     * tests are re-run, along with their hooks. Surefire recognises re-runs because they report the same tests again,
+     * and reports tests that pass on a re-run as flaky. Failing hooks are reported as tests named after the hook, so
+     * hooks that failed are reported again if they pass on a re-run.
+     */
+    private void runTests(Runner runner, TestBlock rootBlock, RunListener listener, SlowestTestsReporter slowestTests,
+            boolean concurrent) {
+        FailedTestsReporter failures = runOnce(runner, rootBlock, listener, slowestTests, concurrent, emptySet());
+        for (int i = 0; i < rerunFailingTestsCount && !failures.getFailedTestIds().isEmpty(); i++) {
+            Runner rerunner = new Runner(getRunOptions().set(new Runner.TestIdsRunOption(failures.getFailedTestIds())));
+            failures = runOnce(rerunner, rootBlock, listener, slowestTests, concurrent, failures.getFailedHooks());
+        }
+    }
+
+    /**
+     * Runs the given tests once. When classes are run concurrently, the console output of each class is buffered and
+     * written once the class has completed, so that the output of different classes is not interleaved.
+     *
+     * @param slowestTests The reporter that records durations for the whole invocation, or {@code null} if the
+     *     {@code slowestTests} property is not set.
+     * @param rerunHooks The full descriptions of the hooks that failed on the previous run, if this is a re-run.
+     * @return The reporter holding the tests and hooks that failed.
+     */
+    private FailedTestsReporter runOnce(Runner runner, TestBlock rootBlock, RunListener listener,
+            SlowestTestsReporter slowestTests, boolean concurrent, Set<String> rerunHooks) {
+        FailedTestsReporter failedTestsReporter = new FailedTestsReporter();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Reporter> reporters = new ArrayList<>(Arrays.asList(new DefaultReporter(concurrent ? output : System.out),
+                new CuppaSurefireReporter(listener, concurrent, rerunHooks), failedTestsReporter));
+        if (slowestTests != null) {
+            reporters.add(slowestTests);
+        }
+        runner.run(rootBlock, new CompositeReporter(reporters));
+        if (concurrent && output.size() > 0) {
+            synchronized (System.out) {
+                System.out.write(output.toByteArray(), 0, output.size());
+                System.out.flush();
+            }
+        }
+        return failedTestsReporter;
+    }
+
+    private Map<Class<?>, TestBlock> splitByClass(TestBlock rootBlock) {
+        Map<Class<?>, List<TestBlock>> blocksByClass = new LinkedHashMap<>();
+        for (TestBlock testBlock : rootBlock.testBlocks) {
+            blocksByClass.computeIfAbsent(testBlock.testClass, c -> new ArrayList<>()).add(testBlock);
+        }
+        Map<Class<?>, TestBlock> classBlocks = new LinkedHashMap<>();
+        blocksByClass.forEach((testClass, blocks) ->
+                classBlocks.put(testClass, rootBlock.toBuilder().setTestBlocks(blocks).build()));
+        return classBlocks;
+    }
+
+    /**
+     * Checks whether any tests are marked as only. Such tests exclude the tests of every other class, so they prevent
+     * the classes from being run separately.
+     */
+    private boolean hasOnlyTests(TestBlock testBlock) {
+        return testBlock.behaviour == Behaviour.ONLY
+                || testBlock.tests.stream().anyMatch(t -> t.behaviour == Behaviour.ONLY)
+                || testBlock.testBlocks.stream().anyMatch(this::hasOnlyTests);
+    }
+
+    /**
+     * Finds the test classes annotated with {@link Test}. Class files are checked for the annotation before they are
+     * loaded, so that classes that cannot contain tests are never loaded.
+     *
+     * @return The test classes.
+     */
     @Override
     public Iterable<Class<?>> getSuites() {
-        return Arrays.asList(providerParameters.getScanResult()
-                .applyFilter(clazz -> Arrays.stream(clazz.getAnnotations())
-                                .anyMatch(annotation -> Test.class.equals(annotation.annotationType())),
-                        providerParameters.getTestClassLoader()).getLocatedClasses());
+        ScanResult scanResult = providerParameters.getScanResult();
+        ClassLoader classLoader = providerParameters.getTestClassLoader();
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, Test.class,
+                getScanCacheFile());
+        List<Class<?>> testClasses = new ArrayList<>();
+        for (int i = 0; i < scanResult.size(); i++) {
+            String className = scanResult.getClassName(i);
+            if (scanner.mayBeAnnotated(className)) {
+                Class<?> testClass = loadClass(className, classLoader);
+                if (testClass.isAnnotationPresent(Test.class)) {
+                    testClasses.add(testClass);
+                }
+            }
+        }
+        scanner.saveCache();
+        return testClasses;
+    }
+
+    private Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Unable to load test class " + className, e);
+        }
+    }
+
+    /**
+     * Gets the file to cache the results of class file scanning in, which is kept next to the reports directory.
+     */
+    private Path getScanCacheFile() {
+        ReporterConfiguration configuration = providerParameters.getReporterConfiguration();
+        File reportsDirectory = (configuration != null) ? configuration.getReportsDirectory() : null;
+        if (reportsDirectory == null || reportsDirectory.getAbsoluteFile().getParentFile() == null) {
+            return null;
+        }
+        return reportsDirectory.getAbsoluteFile().getParentFile().toPath().resolve(SCAN_CACHE_FILE_NAME);
     }
 }
@@ -16,7 +16,16 @@
 
 package org.forgerock.cuppa.maven.surefire;
 
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.maven.surefire.report.PojoStackTraceWriter;
 import org.apache.maven.surefire.report.RunListener;
@@ -25,61 +34,109 @@ import org.forgerock.cuppa.ReporterSupport;
 import org.forgerock.cuppa.model.Hook;
 import org.forgerock.cuppa.model.Test;
 import org.forgerock.cuppa.model.TestBlock;
-import org.forgerock.cuppa.reporters.Reporter;
+import org.forgerock.cuppa.reporters.ReporterEvent;
+import org.forgerock.cuppa.reporters.SelectiveReporter;
 
 /**
  * Reporter for Maven Surefire and Failsafe plugins.
+ *
+ * <p>Each test class is reported as a separate test set. Test classes are expected to be run one after another, which
+ * is always the case for the tests of a single run. Surefire's {@link RunListener} is not thread-safe, so all calls to
+ * it are synchronized on the listener. When several runs share a listener concurrently, events should be buffered so
+ * that each test set is passed to the listener in one piece once it has completed.</p>
+ *
+ * <p>A failing hook is reported as an error of a test named after the hook. When failing tests are re-run, the hooks
+ * that failed on the previous run are reported as passing tests if they then pass, so that Surefire sees the same
+ * flakiness for them as it does for tests.</p>
  */
-final class CuppaSurefireReporter implements Reporter {
+final class CuppaSurefireReporter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            END, BLOCK_HOOK_PASS, TEST_HOOK_PASS, HOOK_FAIL, TEST_START, TEST_PASS, TEST_FAIL, TEST_PENDING,
+            TEST_SKIP));
 
     private final RunListener listener;
+    private final boolean buffered;
+    private final Set<String> rerunHooks;
+    private final List<Consumer<RunListener>> events = new ArrayList<>();
+    private Class<?> testSetClass;
+    private long testStartTime;
 
     /**
      * Constructs a reporter that adapts events to Surefire's {@link RunListener}.
      *
      * @param listener The {@link RunListener} instance.
+     * @param buffered Whether to buffer the events of each test set until it has completed.
+     */
+    CuppaSurefireReporter(RunListener listener, boolean buffered) {
+        this(listener, buffered, Collections.emptySet());
+    }
+
+    /**
+     * Constructs a reporter for a re-run of failing tests, that adapts events to Surefire's {@link RunListener}.
+     *
+     * @param listener The {@link RunListener} instance.
+     * @param buffered Whether to buffer the events of each test set until it has completed.
+     * @param rerunHooks The full descriptions of the hooks that failed on the previous run, which are reported as
+     *     passing tests if they pass on this run.
      */
-    CuppaSurefireReporter(RunListener listener) {
+    CuppaSurefireReporter(RunListener listener, boolean buffered, Set<String> rerunHooks) {
         this.listener = listener;
+        this.buffered = buffered;
+        this.rerunHooks = new HashSet<>(rerunHooks);
     }
 
     @Override
-    public void start(TestBlock rootBlock) {
-        listener.testSetStarting(new SimpleReportEntry(CuppaSurefireProvider.class.getName(), "Cuppa"));
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
     }
 
     @Override
     public void end() {
-        listener.testSetCompleted(new SimpleReportEntry(CuppaSurefireProvider.class.getName(), "Cuppa"));
+        completeTestSet();
+    }
+
+    @Override
+    public void blockHookPass(Hook hook, List<TestBlock> parents) {
+        hookPass(hook, parents);
+    }
+
+    @Override
+    public void testHookPass(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents) {
+        hookPass(hook, hookParents);
     }
 
     @Override
     public void hookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        startTestSet(hook.testClass);
         ReporterSupport.filterStackTrace(cause);
         String fullDescription = ReporterSupport.getFullDescription(hook, parents);
         String className = hook.testClass.getCanonicalName();
-        listener.testError(new SimpleReportEntry(className, fullDescription,
-                new PojoStackTraceWriter(className, fullDescription, cause), 0));
+        emit(l -> l.testError(new SimpleReportEntry(className, fullDescription,
+                new PojoStackTraceWriter(className, fullDescription, cause), 0)));
     }
 
     @Override
     public void testStart(Test test, List<TestBlock> parents) {
-        listener.testStarting(new SimpleReportEntry(test.testClass.getCanonicalName(),
-                ReporterSupport.getFullDescription(test, parents)));
+        startTestSet(test.testClass);
+        testStartTime = System.nanoTime();
+        String description = ReporterSupport.getFullDescription(test, parents);
+        emit(l -> l.testStarting(new SimpleReportEntry(test.testClass.getCanonicalName(), description)));
     }
 
     @Override
     public void testPass(Test test, List<TestBlock> parents) {
-        listener.testSucceeded(new SimpleReportEntry(test.testClass.getCanonicalName(),
-                ReporterSupport.getFullDescription(test, parents)));
+        String description = ReporterSupport.getFullDescription(test, parents);
+        int elapsed = getElapsedTime();
+        emit(l -> l.testSucceeded(new SimpleReportEntry(test.testClass.getCanonicalName(), description, elapsed)));
     }
 
     @Override
     public void testFail(Test test, List<TestBlock> parents, Throwable cause) {
         ReporterSupport.filterStackTrace(cause);
         String description = ReporterSupport.getFullDescription(test, parents);
-        listener.testFailed(new SimpleReportEntry(test.testClass.getCanonicalName(), description,
-                new PojoStackTraceWriter(test.testClass.getCanonicalName(), description, cause), 0));
+        int elapsed = getElapsedTime();
+        emit(l -> l.testFailed(new SimpleReportEntry(test.testClass.getCanonicalName(), description,
+                new PojoStackTraceWriter(test.testClass.getCanonicalName(), description, cause), elapsed)));
     }
 
     @Override
@@ -89,7 +146,63 @@ final class CuppaSurefireReporter implements Reporter {
 
     @Override
     public void testSkip(Test test, List<TestBlock> parents) {
-        listener.testSkipped(new SimpleReportEntry(test.testClass.getCanonicalName(),
-                ReporterSupport.getFullDescription(test, parents)));
+        startTestSet(test.testClass);
+        String description = ReporterSupport.getFullDescription(test, parents);
+        emit(l -> l.testSkipped(new SimpleReportEntry(test.testClass.getCanonicalName(), description)));
+    }
+
+    /**
+     * Reports a hook that failed on the previous run as passing, the first time it passes on this run.
+     */
+    private void hookPass(Hook hook, List<TestBlock> parents) {
+        if (rerunHooks.isEmpty()) {
+            return;
+        }
+        String fullDescription = ReporterSupport.getFullDescription(hook, parents);
+        if (rerunHooks.remove(fullDescription)) {
+            startTestSet(hook.testClass);
+            String className = hook.testClass.getCanonicalName();
+            emit(l -> l.testStarting(new SimpleReportEntry(className, fullDescription)));
+            emit(l -> l.testSucceeded(new SimpleReportEntry(className, fullDescription, 0)));
+        }
+    }
+
+    private int getElapsedTime() {
+        return (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - testStartTime);
+    }
+
+    private void startTestSet(Class<?> testClass) {
+        if (testClass == testSetClass) {
+            return;
+        }
+        completeTestSet();
+        testSetClass = testClass;
+        String className = testClass.getCanonicalName();
+        emit(l -> l.testSetStarting(new SimpleReportEntry(className, className)));
+    }
+
+    private void completeTestSet() {
+        if (testSetClass == null) {
+            return;
+        }
+        String className = testSetClass.getCanonicalName();
+        testSetClass = null;
+        emit(l -> l.testSetCompleted(new SimpleReportEntry(className, className)));
+        if (buffered) {
+            synchronized (listener) {
+                events.forEach(e -> e.accept(listener));
+            }
+            events.clear();
+        }
+    }
+
+    private void emit(Consumer<RunListener> event) {
+        if (buffered) {
+            events.add(event);
+        } else {
+            synchronized (listener) {
+                event.accept(listener);
+            }
+        }
     }
 }
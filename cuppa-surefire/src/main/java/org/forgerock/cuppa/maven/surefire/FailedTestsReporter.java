@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.forgerock.cuppa.maven.surefire;
+
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.reporters.ReporterEvent;
+import org.forgerock.cuppa.reporters.SelectiveReporter;
+
+/**
+ * Collects the ids of failed tests, so that they can be re-run. A failing {@code beforeEach} or {@code afterEach} hook
+ * counts as a failure of its test, and a failing {@code before} or {@code after} hook as a failure of every test in its
+ * test block. The failed hooks are also collected, so that a re-run can report the ones that then pass.
+ */
+final class FailedTestsReporter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            TEST_HOOK_FAIL, BLOCK_HOOK_FAIL, TEST_FAIL));
+
+    private final Set<String> failedTestIds = new HashSet<>();
+    private final Set<String> failedHooks = new HashSet<>();
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
+    }
+
+    @Override
+    public void testHookFail(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents,
+            Throwable cause) {
+        test.id.ifPresent(failedTestIds::add);
+        failedHooks.add(ReporterSupport.getFullDescription(hook, hookParents));
+    }
+
+    @Override
+    public void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        parents.get(parents.size() - 1).id.ifPresent(failedTestIds::add);
+        failedHooks.add(ReporterSupport.getFullDescription(hook, parents));
+    }
+
+    @Override
+    public void testFail(Test test, List<TestBlock> parents, Throwable cause) {
+        test.id.ifPresent(failedTestIds::add);
+    }
+
+    /**
+     * Get the ids of the tests and test blocks that failed.
+     *
+     * @return A set of ids.
+     */
+    Set<String> getFailedTestIds() {
+        return failedTestIds;
+    }
+
+    /**
+     * Get the full descriptions of the hooks that failed, which are the names they are reported to Surefire under.
+     *
+     * @return A set of full descriptions.
+     */
+    Set<String> getFailedHooks() {
+        return failedHooks;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.maven.surefire;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ClassFileAnnotationScannerTest {
+    private static final Class<?> ANNOTATION = org.forgerock.cuppa.Test.class;
+    private static final String ANNOTATION_DESCRIPTOR = "L" + ANNOTATION.getName().replace('.', '/') + ";";
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+
+    private Path directory;
+    private ClassLoader classLoader;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("cuppa-classes");
+        classLoader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, null);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldFindAnnotatedClass() {
+
+        //Given
+        ClassFileAnnotationScanner scanner =
+                new ClassFileAnnotationScanner(getClass().getClassLoader(), ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated(AnnotatedClass.class.getName());
+
+        //Then
+        assertThat(annotated).isTrue();
+    }
+
+    @Test
+    public void shouldNotFindClassThatIsNotAnnotated() {
+
+        //Given
+        ClassFileAnnotationScanner scanner =
+                new ClassFileAnnotationScanner(getClass().getClassLoader(), ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated(PlainClass.class.getName());
+
+        //Then
+        assertThat(annotated).isFalse();
+    }
+
+    @Test
+    public void shouldNotFindClassThatOnlyRefersToTheAnnotationClass() {
+
+        //Given
+        ClassFileAnnotationScanner scanner =
+                new ClassFileAnnotationScanner(getClass().getClassLoader(), ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated(ReferringClass.class.getName());
+
+        //Then
+        assertThat(annotated).isFalse();
+    }
+
+    @Test
+    public void shouldFindClassThatUsesTheAnnotationTypeInADescriptor() {
+
+        //Given
+        ClassFileAnnotationScanner scanner =
+                new ClassFileAnnotationScanner(getClass().getClassLoader(), ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated(FieldClass.class.getName());
+
+        //Then
+        assertThat(annotated).isTrue();
+    }
+
+    @Test
+    public void shouldCountLongAndDoubleConstantsAsTwoEntries() throws Exception {
+
+        //Given
+        writeClassFile("com.example.Constants", 5, classFileEnd(),
+                constant(CONSTANT_LONG, Long.MAX_VALUE),
+                constant(CONSTANT_DOUBLE, Double.doubleToLongBits(Math.PI)));
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated("com.example.Constants");
+
+        //Then
+        assertThat(annotated).isFalse();
+    }
+
+    @Test
+    public void shouldFindAnnotationDescriptorAfterLongAndDoubleConstants() throws Exception {
+
+        //Given
+        writeClassFile("com.example.Constants", 6, classFileEnd(),
+                constant(CONSTANT_LONG, Long.MAX_VALUE),
+                constant(CONSTANT_DOUBLE, Double.doubleToLongBits(Math.PI)),
+                utf8(ANNOTATION_DESCRIPTOR));
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated("com.example.Constants");
+
+        //Then
+        assertThat(annotated).isTrue();
+    }
+
+    @Test
+    public void shouldAssumeClassFileWithUnknownConstantTagIsAnnotated() throws Exception {
+
+        //Given
+        writeClassFile("com.example.Unknown", 3, classFileEnd(), utf8("Other"), new byte[] {99, 0, 0});
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated("com.example.Unknown");
+
+        //Then
+        assertThat(annotated).isTrue();
+    }
+
+    @Test
+    public void shouldAssumeCorruptClassFileIsAnnotated() throws Exception {
+
+        //Given
+        Files.createDirectories(directory.resolve("com/example"));
+        Files.write(directory.resolve("com/example/Corrupt.class"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated("com.example.Corrupt");
+
+        //Then
+        assertThat(annotated).isTrue();
+    }
+
+    @Test
+    public void shouldAssumeTruncatedClassFileIsAnnotated() throws Exception {
+
+        //Given
+        writeClassFile("com.example.Truncated", 3, new byte[0], utf8("Other"));
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, ANNOTATION, null);
+
+        //When
+        boolean annotated = scanner.mayBeAnnotated("com.example.Truncated");
+
+        //Then
+        assertThat(annotated).isTrue();
+    }
+
+    @Test
+    public void shouldReuseCachedResultWhileModificationTimeIsUnchanged() throws Exception {
+
+        //Given
+        Path cacheFile = directory.resolve("cache/annotations.properties");
+        Path classFile = writeClassFile("com.example.Cached", 2, classFileEnd(), utf8("Other"));
+        FileTime modified = FileTime.fromMillis(Files.getLastModifiedTime(classFile).toMillis() - 60000);
+        Files.setLastModifiedTime(classFile, modified);
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, ANNOTATION, cacheFile);
+        assertThat(scanner.mayBeAnnotated("com.example.Cached")).isFalse();
+        scanner.saveCache();
+        writeClassFile("com.example.Cached", 2, classFileEnd(), utf8(ANNOTATION_DESCRIPTOR));
+        Files.setLastModifiedTime(classFile, modified);
+
+        //When
+        boolean annotated = new ClassFileAnnotationScanner(classLoader, ANNOTATION, cacheFile)
+                .mayBeAnnotated("com.example.Cached");
+
+        //Then
+        assertThat(annotated).isFalse();
+    }
+
+    @Test
+    public void shouldScanClassAgainWhenModificationTimeChanges() throws Exception {
+
+        //Given
+        Path cacheFile = directory.resolve("cache/annotations.properties");
+        Path classFile = writeClassFile("com.example.Cached", 2, classFileEnd(), utf8("Other"));
+        FileTime modified = FileTime.fromMillis(Files.getLastModifiedTime(classFile).toMillis() - 60000);
+        Files.setLastModifiedTime(classFile, modified);
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(classLoader, ANNOTATION, cacheFile);
+        assertThat(scanner.mayBeAnnotated("com.example.Cached")).isFalse();
+        scanner.saveCache();
+        writeClassFile("com.example.Cached", 2, classFileEnd(), utf8(ANNOTATION_DESCRIPTOR));
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(modified.toMillis() + 1000));
+
+        //When
+        boolean annotated = new ClassFileAnnotationScanner(classLoader, ANNOTATION, cacheFile)
+                .mayBeAnnotated("com.example.Cached");
+
+        //Then
+        assertThat(annotated).isTrue();
+    }
+
+    /**
+     * Writes a class file with the given constant pool entries, followed by the rest of the class file.
+     *
+     * @param count The constant pool count, which is one more than the number of entries, counting long and double
+     *     constants twice.
+     */
+    private Path writeClassFile(String className, int count, byte[] end, byte[]... constants) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0xCAFEBABE);
+        output.writeShort(0);
+        output.writeShort(52);
+        output.writeShort(count);
+        for (byte[] constant : constants) {
+            output.write(constant);
+        }
+        output.write(end);
+        Path file = directory.resolve(className.replace('.', '/') + ".class");
+        Files.createDirectories(file.getParent());
+        return Files.write(file, bytes.toByteArray());
+    }
+
+    private static byte[] utf8(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(CONSTANT_UTF8);
+        output.writeUTF(value);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] constant(int tag, long value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(tag);
+        output.writeLong(value);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The part of a class file that follows the constant pool, for a public class with no interfaces or members. Its
+     * first byte is not a valid constant pool tag, so a scanner that reads past the end of the pool gives up.
+     */
+    private static byte[] classFileEnd() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeShort(0x0021);
+        output.writeShort(1);
+        output.writeShort(0);
+        output.writeShort(0);
+        output.writeShort(0);
+        output.writeShort(0);
+        output.writeShort(0);
+        return bytes.toByteArray();
+    }
+
+    @org.forgerock.cuppa.Test
+    public static class AnnotatedClass {
+    }
+
+    public static class PlainClass {
+    }
+
+    public static class ReferringClass {
+        public Class<?> getAnnotationType() {
+            return org.forgerock.cuppa.Test.class;
+        }
+    }
+
+    public static class FieldClass {
+        public org.forgerock.cuppa.Test annotation;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.maven.surefire;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.surefire.providerapi.ProviderParameters;
+import org.apache.maven.surefire.report.ReportEntry;
+import org.apache.maven.surefire.report.ReporterFactory;
+import org.apache.maven.surefire.report.RunListener;
+import org.apache.maven.surefire.testset.TestRequest;
+import org.forgerock.cuppa.Configuration;
+import org.forgerock.cuppa.ConfigurationProvider;
+import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.reporters.Reporter;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class CuppaSurefireProviderTest {
+    private static final String FIRST = CuppaSurefireProviderTest.First.class.getCanonicalName();
+    private static final String SECOND = CuppaSurefireProviderTest.Second.class.getCanonicalName();
+    private static final List<List<String>> ADDITIONAL_REPORTS = Collections.synchronizedList(new ArrayList<>());
+    private static final String FLAKY_HOOK = CuppaSurefireProviderTest.FlakyHook.class.getCanonicalName();
+    private static final AtomicInteger HOOK_FAILURES = new AtomicInteger();
+    private static volatile CyclicBarrier barrier;
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, String> properties = new HashMap<>();
+    private TestRequest testRequest;
+    private final ByteArrayOutputStream console = new ByteArrayOutputStream();
+    private PrintStream originalOut;
+    private ClassLoader originalClassLoader;
+    private Path servicesDirectory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        barrier = new CyclicBarrier(2);
+        ADDITIONAL_REPORTS.clear();
+        originalOut = System.out;
+        System.setOut(new PrintStream(console, true, UTF_8.name()));
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+        servicesDirectory = Files.createTempDirectory("cuppa-services");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        System.setOut(originalOut);
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+        Path services = servicesDirectory.resolve("META-INF/services");
+        if (Files.exists(services)) {
+            Files.delete(services.resolve(ConfigurationProvider.class.getName()));
+            Files.delete(services);
+            Files.delete(services.getParent());
+        }
+        Files.delete(servicesDirectory);
+    }
+
+    @Test
+    public void classesShouldRunConcurrentlyWhenParallelIsSet() {
+
+        //Given
+        properties.put("parallel", "classes");
+        properties.put("threadCount", "2");
+        properties.put("perCoreThreadCount", "false");
+
+        //When
+        createProvider().invoke(Arrays.asList(First.class, Second.class));
+
+        //Then
+        assertThat(events).hasSize(8);
+        assertThat(events).containsSequence("testSetStarting " + FIRST, "testStarting first class waits",
+                "testSucceeded first class waits", "testSetCompleted " + FIRST);
+        assertThat(events).containsSequence("testSetStarting " + SECOND, "testStarting second class waits",
+                "testSucceeded second class waits", "testSetCompleted " + SECOND);
+    }
+
+    @Test
+    public void consoleOutputOfConcurrentClassesShouldNotBeInterleaved() throws Exception {
+
+        //Given
+        properties.put("parallel", "classes");
+        properties.put("threadCount", "2");
+        properties.put("perCoreThreadCount", "false");
+
+        //When
+        createProvider().invoke(Arrays.asList(First.class, Second.class));
+
+        //Then
+        String output = new String(console.toByteArray(), UTF_8);
+        assertThat(output).contains(String.join(System.lineSeparator(), "  first class", "    ✓ waits"));
+        assertThat(output).contains(String.join(System.lineSeparator(), "  second class", "    ✓ waits"));
+    }
+
+    @Test
+    public void eachConcurrentClassShouldBeReportedToItsOwnAdditionalReporter() throws Exception {
+
+        //Given
+        properties.put("parallel", "classes");
+        properties.put("threadCount", "2");
+        properties.put("perCoreThreadCount", "false");
+        Path services = Files.createDirectories(servicesDirectory.resolve("META-INF/services"));
+        Files.write(services.resolve(ConfigurationProvider.class.getName()),
+                RecordingConfigurationProvider.class.getName().getBytes(UTF_8));
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(
+                new URL[] {servicesDirectory.toUri().toURL()}, getClass().getClassLoader()));
+
+        //When
+        createProvider().invoke(Arrays.asList(First.class, Second.class));
+
+        //Then
+        assertThat(ADDITIONAL_REPORTS).containsOnly(
+                Arrays.asList("start", "testStart first class waits", "end"),
+                Arrays.asList("start", "testStart second class waits", "end"));
+    }
+
+    @Test
+    public void slowestTestsOfConcurrentClassesShouldBeListedInOneSummary() throws Exception {
+
+        //Given
+        properties.put("parallel", "classes");
+        properties.put("threadCount", "2");
+        properties.put("perCoreThreadCount", "false");
+        properties.put("slowestTests", "5");
+
+        //When
+        createProvider().invoke(Arrays.asList(First.class, Second.class));
+
+        //Then
+        String output = new String(console.toByteArray(), UTF_8);
+        String summary = output.substring(output.indexOf("Slowest tests:"));
+        assertThat(output.indexOf("Slowest tests:")).isEqualTo(output.lastIndexOf("Slowest tests:"));
+        assertThat(summary).contains("first class waits", "second class waits");
+    }
+
+    @Test
+    public void slowestTestsShouldIncludeTestsThatFailedBeforeBeingReRun() throws Exception {
+
+        //Given
+        testRequest = new TestRequest(null, null, null, 1);
+        properties.put("slowestTests", "5");
+        HOOK_FAILURES.set(1);
+
+        //When
+        createProvider().invoke(FlakyHook.class);
+
+        //Then
+        String output = new String(console.toByteArray(), UTF_8);
+        String summary = output.substring(output.indexOf("Slowest hooks:"));
+        assertThat(output.indexOf("Slowest hooks:")).isEqualTo(output.lastIndexOf("Slowest hooks:"));
+        assertThat(summary).contains("flaky hook \"beforeEach\" hook", "Test durations:");
+    }
+
+    @Test
+    public void hookThatPassesWhenReRunShouldBeReportedAsPassing() {
+
+        //Given
+        testRequest = new TestRequest(null, null, null, 1);
+        HOOK_FAILURES.set(1);
+
+        //When
+        createProvider().invoke(FlakyHook.class);
+
+        //Then
+        String hook = "flaky hook \"beforeEach\" hook";
+        assertThat(events).containsExactly(
+                "testSetStarting " + FLAKY_HOOK,
+                "testError " + hook,
+                "testSkipped flaky hook passes",
+                "testSetCompleted " + FLAKY_HOOK,
+                "testSetStarting " + FLAKY_HOOK,
+                "testStarting " + hook,
+                "testSucceeded " + hook,
+                "testStarting flaky hook passes",
+                "testSucceeded flaky hook passes",
+                "testSetCompleted " + FLAKY_HOOK);
+    }
+
+    private CuppaSurefireProvider createProvider() {
+        RunListener listener = mock(RunListener.class, invocation -> {
+            ReportEntry entry = (ReportEntry) invocation.getArguments()[0];
+            events.add(invocation.getMethod().getName() + " " + entry.getName());
+            return null;
+        });
+        ReporterFactory reporterFactory = mock(ReporterFactory.class);
+        when(reporterFactory.createReporter()).thenReturn(listener);
+        ProviderParameters parameters = mock(ProviderParameters.class);
+        when(parameters.getProviderProperties()).thenReturn(properties);
+        when(parameters.getReporterFactory()).thenReturn(reporterFactory);
+        when(parameters.getTestRequest()).thenReturn(testRequest);
+        return new CuppaSurefireProvider(parameters);
+    }
+
+    public static class First {
+        {
+            describe("first class", () -> {
+                it("waits", () -> barrier.await(10, TimeUnit.SECONDS));
+            });
+        }
+    }
+
+    public static class Second {
+        {
+            describe("second class", () -> {
+                it("waits", () -> barrier.await(10, TimeUnit.SECONDS));
+            });
+        }
+    }
+
+    public static class FlakyHook {
+        {
+            describe("flaky hook", () -> {
+                beforeEach(() -> {
+                    if (HOOK_FAILURES.getAndDecrement() > 0) {
+                        throw new IllegalStateException("Flaky");
+                    }
+                });
+                it("passes", TestFunction.identity());
+            });
+        }
+    }
+
+    public static class RecordingConfigurationProvider implements ConfigurationProvider {
+        @Override
+        public void configure(Configuration configuration) {
+            List<String> report = new ArrayList<>();
+            ADDITIONAL_REPORTS.add(report);
+            configuration.setAdditionalReporter(new Reporter() {
+                @Override
+                public void start(TestBlock rootBlock) {
+                    report.add("start");
+                }
+
+                @Override
+                public void testStart(org.forgerock.cuppa.model.Test test, List<TestBlock> parents) {
+                    report.add("testStart " + ReporterSupport.getFullDescription(test, parents));
+                }
+
+                @Override
+                public void end() {
+                    report.add("end");
+                }
+            });
+        }
+    }
+}
@@ -55,6 +55,10 @@ public final class Configuration {
      * Register a transform. This will be called with the root test block after instantiating all test classes on the
      * classpath. Use this function to manipulate the tests and their hooks before they are executed.
      *
+     * <p>Transforms that only remove tests or test blocks should implement
+     * {@link org.forgerock.cuppa.transforms.TestBlockTransform}, so that they can be applied in the same traversal of
+     * the test tree as the core transforms.</p>
+     *
      * @param transform The transform. Must not be null. Must not return null.
      */
     public void registerTestTreeTransform(Function<TestBlock, TestBlock> transform) {
@@ -87,6 +91,7 @@ public final class Configuration {
      * <ul>
      *     <li>{@link org.forgerock.cuppa.transforms.ExpressionTagTestBlockFilter}</li>
      *     <li>{@link org.forgerock.cuppa.transforms.TagTestBlockFilter}</li>
+     *     <li>{@link org.forgerock.cuppa.transforms.PatternTestBlockFilter}</li>
      *     <li>{@link org.forgerock.cuppa.internal.filters.OnlyTestBlockFilter}</li>
      *     <li>{@link org.forgerock.cuppa.internal.filters.EmptyTestBlockFilter}</li>
      * </ul>
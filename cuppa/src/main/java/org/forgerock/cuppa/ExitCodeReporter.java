@@ -7,12 +7,18 @@
  */
 package org.forgerock.cuppa;
 
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import org.forgerock.cuppa.model.Hook;
 import org.forgerock.cuppa.model.Test;
 import org.forgerock.cuppa.model.TestBlock;
-import org.forgerock.cuppa.reporters.Reporter;
+import org.forgerock.cuppa.reporters.ReporterEvent;
+import org.forgerock.cuppa.reporters.SelectiveReporter;
 
 /**
  * Reporter that tracks the outcome of hooks and tests to determine what the overall status of the test run
@@ -31,13 +37,15 @@ import org.forgerock.cuppa.reporters.Reporter;
  * the configuration of the test run (i.e. transforms executed), this determination is up to the caller to
  * decide.
  */
-public final class ExitCodeReporter implements Reporter {
+public final class ExitCodeReporter implements SelectiveReporter {
 
     private static final int SUCCESS = 0;
     private static final int FAILED_TESTS = 1;
     private static final int SKIPPED_TESTS = 2;
     private static final int PENDING_TESTS = 3;
     private static final int NO_TESTS = 4;
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            TEST_HOOK_FAIL, BLOCK_HOOK_FAIL, TEST_START, TEST_FAIL, TEST_PENDING, TEST_SKIP));
 
     private boolean testsRun;
     private boolean failedTests;
@@ -66,6 +74,11 @@ public final class ExitCodeReporter implements Reporter {
         return exitCode;
     }
 
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
+    }
+
     @Override
     public void testHookFail(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents,
             Throwable cause) {
@@ -18,9 +18,15 @@ package org.forgerock.cuppa;
 
 import static org.forgerock.cuppa.model.TestBlockType.WHEN;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,6 +38,15 @@ import org.forgerock.cuppa.model.TestBlock;
  * Provides utility methods for reporters.
  */
 public final class ReporterSupport {
+    private static final String CUPPA_PACKAGE = Cuppa.class.getPackage().getName();
+
+    /**
+     * Throwables whose stack traces have already been filtered, compared by identity as a throwable may override
+     * {@link Object#equals(Object)}. Throwables are weakly referenced, and the references of throwables that have been
+     * collected are queued in {@link #COLLECTED_THROWABLES} so that they can be removed.
+     */
+    private static final Set<ThrowableReference> FILTERED_THROWABLES = new HashSet<>();
+    private static final ReferenceQueue<Throwable> COLLECTED_THROWABLES = new ReferenceQueue<>();
 
     private ReporterSupport() {
     }
@@ -76,11 +91,17 @@ public final class ReporterSupport {
      * <p>This description is verbose but is suitable for display where there is no context to help identify the test
      * block.</p>
      *
+     * <p>If the test block is part of a tree compiled by {@link org.forgerock.cuppa.model.TestTreeCompiler}, its
+     * precomputed full description is returned.</p>
+     *
      * @param testBlock The test block.
      * @param parents The ancestor test blocks, starting with the root block and ending with the immediate parent.
      * @return A description of the test block.
      */
     public static String getFullDescription(TestBlock testBlock, List<TestBlock> parents) {
+        if (testBlock.fullDescription.isPresent()) {
+            return testBlock.fullDescription.get();
+        }
         return getDescription(Stream.concat(parents.stream(), Stream.of(testBlock)).collect(Collectors.toList()));
     }
 
@@ -90,11 +111,17 @@ public final class ReporterSupport {
      * <p>This description is verbose but is suitable for display where there is no context to help identify the
      * test.</p>
      *
+     * <p>If the test is part of a tree compiled by {@link org.forgerock.cuppa.model.TestTreeCompiler}, its
+     * precomputed full description is returned.</p>
+     *
      * @param test The test.
      * @param parents The ancestor test blocks, starting with the root block and ending with the immediate parent.
      * @return A description of the test.
      */
     public static String getFullDescription(Test test, List<TestBlock> parents) {
+        if (test.fullDescription.isPresent()) {
+            return test.fullDescription.get();
+        }
         return getDescription(parents) + " " + test.description;
     }
 
@@ -104,11 +131,17 @@ public final class ReporterSupport {
      * <p>This description is verbose but is suitable for display where there is no context to help identify the
      * hook.</p>
      *
+     * <p>If the hook is part of a tree compiled by {@link org.forgerock.cuppa.model.TestTreeCompiler}, its
+     * precomputed full description is returned.</p>
+     *
      * @param hook Test hook.
      * @param parents The ancestor test blocks, starting with the root block and ending with the immediate parent.
      * @return A description of the hook.
      */
     public static String getFullDescription(Hook hook, List<TestBlock> parents) {
+        if (hook.fullDescription.isPresent()) {
+            return hook.fullDescription.get();
+        }
         return getDescription(parents) + " " + getDescription(hook);
     }
 
@@ -117,12 +150,32 @@ public final class ReporterSupport {
      * to a test. If the {@link Throwable} has a cause, it will also be modified. The modification
      * is applied to all transitive causes.
      *
+     * <p>Each throwable is only modified once, so this method may safely be called several times for the same
+     * throwable, for example by each of several reporters. The runner filters the stack traces of exceptions thrown by
+     * tests and hooks before reporting them.</p>
+     *
      * @param throwable a throwable to modify.
      */
     public static void filterStackTrace(Throwable throwable) {
-        throwable.setStackTrace(filterStackTrace(throwable.getStackTrace()));
-        if (throwable.getCause() != null) {
-            filterStackTrace(throwable.getCause());
+        Set<Throwable> causes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable t = throwable; t != null && causes.add(t); t = t.getCause()) {
+            if (markFiltered(t)) {
+                t.setStackTrace(filterStackTrace(t.getStackTrace()));
+            }
+        }
+    }
+
+    /**
+     * Records that a throwable's stack trace is filtered.
+     *
+     * @return {@code true} if the stack trace has not already been filtered.
+     */
+    private static boolean markFiltered(Throwable throwable) {
+        synchronized (FILTERED_THROWABLES) {
+            for (Reference<?> r = COLLECTED_THROWABLES.poll(); r != null; r = COLLECTED_THROWABLES.poll()) {
+                FILTERED_THROWABLES.remove(r);
+            }
+            return FILTERED_THROWABLES.add(new ThrowableReference(throwable));
         }
     }
 
@@ -143,12 +196,10 @@ public final class ReporterSupport {
     }
 
     private static StackTraceElement[] getStackTraceUpToCuppaElements(StackTraceElement[] stackTraceElements) {
-        Optional<StackTraceElement> first = Arrays.stream(stackTraceElements)
-                .filter(s -> s.getClassName().startsWith(Cuppa.class.getPackage().getName()))
-                .findFirst();
-        if (first.isPresent()) {
-            int index = Arrays.asList(stackTraceElements).indexOf(first.get());
-            return Arrays.copyOf(stackTraceElements, index);
+        for (int i = 0; i < stackTraceElements.length; i++) {
+            if (stackTraceElements[i].getClassName().startsWith(CUPPA_PACKAGE)) {
+                return Arrays.copyOf(stackTraceElements, i);
+            }
         }
         return stackTraceElements;
     }
@@ -160,4 +211,31 @@ public final class ReporterSupport {
     private static boolean isStackTraceElementForLambda(StackTraceElement element) {
         return element.getMethodName().startsWith("lambda$");
     }
+
+    /**
+     * A weak reference to a throwable that is equal to another reference only if both refer to the same throwable, or
+     * if they are the same reference once the throwable has been collected.
+     */
+    private static final class ThrowableReference extends WeakReference<Throwable> {
+        private final int hashCode;
+
+        ThrowableReference(Throwable throwable) {
+            super(throwable, COLLECTED_THROWABLES);
+            this.hashCode = System.identityHashCode(throwable);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            Throwable throwable = get();
+            return throwable != null && o instanceof ThrowableReference && ((ThrowableReference) o).get() == throwable;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
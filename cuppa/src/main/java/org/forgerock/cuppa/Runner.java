@@ -20,10 +20,20 @@ import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static org.forgerock.cuppa.model.TestBlockType.ROOT;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -37,17 +47,38 @@ import org.forgerock.cuppa.model.Options;
 import org.forgerock.cuppa.model.Tags;
 import org.forgerock.cuppa.model.TestBlock;
 import org.forgerock.cuppa.model.TestBlockBuilder;
+import org.forgerock.cuppa.model.TestTreeCompiler;
 import org.forgerock.cuppa.reporters.CompositeReporter;
 import org.forgerock.cuppa.reporters.Reporter;
 import org.forgerock.cuppa.transforms.ExpressionTagTestBlockFilter;
+import org.forgerock.cuppa.transforms.PatternTestBlockFilter;
 import org.forgerock.cuppa.transforms.TagTestBlockFilter;
+import org.forgerock.cuppa.transforms.TestBlockTransform;
+import org.forgerock.cuppa.transforms.TestIdTestBlockFilter;
 
 /**
  * Runs Cuppa tests.
  */
 public final class Runner {
-    private static final ServiceLoader<ConfigurationProvider> CONFIGURATION_PROVIDER_LOADER
-            = ServiceLoader.load(ConfigurationProvider.class);
+    /**
+     * The class of the configuration provider found by each class loader, if any, so that the classpath is only
+     * searched once however many runners are created. A provider class is usually defined by the class loader it is
+     * cached against, so it is weakly referenced to let the class loader be collected. It stays reachable for as long
+     * as the class loader that defined it.
+     */
+    private static final Map<ClassLoader, Reference<Class<?>>> CONFIGURATION_PROVIDER_CLASSES = new WeakHashMap<>();
+    private static final Reference<Class<?>> NO_CONFIGURATION_PROVIDER = new WeakReference<>(null);
+    /**
+     * The instance of each configuration provider class. The instance is stored with its class, so it is kept for as
+     * long as the class, without keeping the class or its class loader alive.
+     */
+    private static final ClassValue<AtomicReference<ConfigurationProvider>> CONFIGURATION_PROVIDERS =
+            new ClassValue<AtomicReference<ConfigurationProvider>>() {
+                @Override
+                protected AtomicReference<ConfigurationProvider> computeValue(Class<?> type) {
+                    return new AtomicReference<>();
+                }
+            };
     private static final TestBlock EMPTY_TEST_BLOCK = new TestBlockBuilder()
             .setType(ROOT)
             .setTestClass(Cuppa.class)
@@ -111,11 +142,7 @@ public final class Runner {
      * @param configuration Cuppa configuration to control the behaviour of the runner.
      */
     public Runner(Configuration configuration) {
-        this(Stream.concat(
-                configuration.getRunOptions().get(TagsRunOption.class)
-                        .map(tags -> Stream.of(new ExpressionTagTestBlockFilter(tags), new TagTestBlockFilter(tags)))
-                        .orElseGet(Stream::empty),
-                DEFAULT_CORE_TEST_TRANSFORMS.stream()).collect(toList()), configuration);
+        this(coreTestTransforms(configuration.getRunOptions()), configuration);
     }
 
     private Runner(List<Function<TestBlock, TestBlock>> coreTestTransforms, Configuration configuration) {
@@ -146,13 +173,25 @@ public final class Runner {
                 : new CompositeReporter(Arrays.asList(exitCodeReporter, reporter));
         TestContainer.INSTANCE.runTests(() -> {
             fullReporter.start(rootBlock);
-            TestBlock transformedRootBlock = transformTests(rootBlock,
-                    Stream.concat(configuration.testTransforms.stream(), configuration.coreTestTransforms.stream()));
-            runTests(transformedRootBlock, fullReporter);
+            runTests(compileTests(rootBlock), fullReporter);
             fullReporter.end();
         });
     }
 
+    /**
+     * Applies this runner's test transforms to the tests contained in the provided test block and compiles the
+     * result, exactly as {@link #run(TestBlock, Reporter)} does before running them. This lets integrations find out
+     * which tests will be run, and the ids they will be reported with, without running them.
+     *
+     * @param rootBlock The root test block that contains all tests to be run.
+     * @return The compiled root block of the tests that would be run.
+     * @see TestTreeCompiler
+     */
+    public TestBlock compileTests(TestBlock rootBlock) {
+        return selectTestIds(TestTreeCompiler.compile(transformTests(rootBlock,
+                Stream.concat(configuration.testTransforms.stream(), configuration.coreTestTransforms.stream()))));
+    }
+
     /**
      * Returns the final status of the test run as an exit code.
      * See {@link ExitCodeReporter} for details on the possible exit codes and their meanings.
@@ -182,23 +221,85 @@ public final class Runner {
                 testBlock2.testBlocks.stream()).collect(toList())).build();
     }
 
+    private static List<Function<TestBlock, TestBlock>> coreTestTransforms(Options runOptions) {
+        List<Function<TestBlock, TestBlock>> transforms = new ArrayList<>();
+        runOptions.get(TagsRunOption.class).ifPresent(tags -> {
+            transforms.add(new ExpressionTagTestBlockFilter(tags));
+            transforms.add(new TagTestBlockFilter(tags));
+        });
+        runOptions.get(TestPatternsRunOption.class)
+                .ifPresent(patterns -> transforms.add(new PatternTestBlockFilter(patterns)));
+        transforms.addAll(DEFAULT_CORE_TEST_TRANSFORMS);
+        return transforms;
+    }
+
     private static Configuration getConfiguration(Options runOptions) {
         Configuration configuration = new Configuration(runOptions);
-        Iterator<ConfigurationProvider> iterator = CONFIGURATION_PROVIDER_LOADER.iterator();
-        if (iterator.hasNext()) {
-            ConfigurationProvider configurationProvider = iterator.next();
-            if (iterator.hasNext()) {
-                throw new CuppaException("There must only be a single configuration provider available on the "
-                        + "classpath");
-            }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ConfigurationProvider configurationProvider = getConfigurationProvider(classLoader);
+        if (configurationProvider != null) {
             configurationProvider.configure(configuration);
         }
         return configuration;
     }
 
+    /**
+     * Get the configuration provider of a class loader, searching the classpath the first time the class loader is
+     * used. Runners may be created concurrently, and the provider is shared by all the runners of a class loader.
+     *
+     * @return The provider, or {@code null} if there is none.
+     */
+    private static ConfigurationProvider getConfigurationProvider(ClassLoader classLoader) {
+        synchronized (CONFIGURATION_PROVIDER_CLASSES) {
+            Reference<Class<?>> reference = CONFIGURATION_PROVIDER_CLASSES.get(classLoader);
+            Class<?> providerClass = (reference != null) ? reference.get() : null;
+            if (providerClass != null) {
+                return CONFIGURATION_PROVIDERS.get(providerClass).get();
+            }
+            if (reference == NO_CONFIGURATION_PROVIDER) {
+                return null;
+            }
+            ConfigurationProvider loaded = loadConfigurationProvider(classLoader).orElse(null);
+            if (loaded == null) {
+                CONFIGURATION_PROVIDER_CLASSES.put(classLoader, NO_CONFIGURATION_PROVIDER);
+                return null;
+            }
+            CONFIGURATION_PROVIDER_CLASSES.put(classLoader, new WeakReference<>(loaded.getClass()));
+            // Another class loader may already have loaded the same class, in which case its instance is reused.
+            AtomicReference<ConfigurationProvider> instance = CONFIGURATION_PROVIDERS.get(loaded.getClass());
+            instance.compareAndSet(null, loaded);
+            return instance.get();
+        }
+    }
+
+    private static Optional<ConfigurationProvider> loadConfigurationProvider(ClassLoader classLoader) {
+        Iterator<ConfigurationProvider> iterator = ServiceLoader.load(ConfigurationProvider.class, classLoader)
+                .iterator();
+        if (!iterator.hasNext()) {
+            return Optional.empty();
+        }
+        ConfigurationProvider configurationProvider = iterator.next();
+        if (iterator.hasNext()) {
+            throw new CuppaException("There must only be a single configuration provider available on the "
+                    + "classpath");
+        }
+        return Optional.of(configurationProvider);
+    }
+
+    /**
+     * Applies the {@link TestIdsRunOption}, if any. Ids are only known once the tree has been compiled, so unlike
+     * other filters this one is applied to the compiled tree.
+     */
+    private TestBlock selectTestIds(TestBlock compiledRootBlock) {
+        Optional<Set<String>> ids = configuration.getRunOptions().get(TestIdsRunOption.class);
+        if (!ids.isPresent()) {
+            return compiledRootBlock;
+        }
+        return new TestIdTestBlockFilter(ids.get()).apply(compiledRootBlock);
+    }
+
     private TestBlock transformTests(TestBlock rootBlock, Stream<Function<TestBlock, TestBlock>> transforms) {
-        return transforms.reduce(Function.identity(), Function::andThen)
-                .apply(rootBlock);
+        return TestBlockTransform.fuse(transforms.collect(toList())).apply(rootBlock);
     }
 
     private void runTests(TestBlock rootBlock, Reporter reporter) {
@@ -230,4 +331,34 @@ public final class Runner {
             super(value);
         }
     }
+
+    /**
+     * Run state to select tests by their class name and description, using a {@link PatternTestBlockFilter}.
+     */
+    public static final class TestPatternsRunOption extends Option<List<String>> {
+        /**
+         * Create a new option.
+         *
+         * @param value The patterns to select tests with.
+         */
+        public TestPatternsRunOption(List<String> value) {
+            super(Collections.unmodifiableList(new ArrayList<>(value)));
+        }
+    }
+
+    /**
+     * Run state to only run the tests and test blocks with the given ids, using a {@link TestIdTestBlockFilter}.
+     * The filter is applied after the test tree has been compiled, so the ids are those that were reported by a
+     * previous run of the same tests. All other transforms are still applied.
+     */
+    public static final class TestIdsRunOption extends Option<Set<String>> {
+        /**
+         * Create a new option.
+         *
+         * @param value The ids of the tests and test blocks to run.
+         */
+        public TestIdsRunOption(Set<String> value) {
+            super(Collections.unmodifiableSet(new HashSet<>(value)));
+        }
+    }
 }
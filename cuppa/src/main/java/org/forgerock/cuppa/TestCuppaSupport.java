@@ -33,6 +33,9 @@ import org.forgerock.cuppa.reporters.Reporter;
 /**
  * A collection of static methods for facilitating the writing of tests for Cuppa and its extensions (such as test block
  * transforms).
+ *
+ * <p>The {@code find} methods search the tree each time they are called. Tests that look up many nodes in a large tree
+ * can build a {@link org.forgerock.cuppa.model.TestTreeIndex} of it once and look them up in the index instead.</p>
  */
 public final class TestCuppaSupport {
     private TestCuppaSupport() {
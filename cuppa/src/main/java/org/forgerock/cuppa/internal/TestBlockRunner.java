@@ -20,12 +20,10 @@ import static org.forgerock.cuppa.model.Behaviour.SKIP;
 import static org.forgerock.cuppa.model.HookType.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.forgerock.cuppa.ReporterSupport;
 import org.forgerock.cuppa.model.Hook;
 import org.forgerock.cuppa.model.HookType;
 import org.forgerock.cuppa.model.Test;
@@ -34,10 +32,16 @@ import org.forgerock.cuppa.reporters.Reporter;
 
 /**
  * Runs the tests within a test block.
+ *
+ * <p>The lists of runners and test blocks from the root to each runner are computed once, when the runner is
+ * constructed, and shared by every event reported for the block, so that running a test does not allocate.</p>
  */
 public final class TestBlockRunner {
     private final TestBlock testBlock;
     private final List<TestBlockRunner> parents;
+    private final List<TestBlock> parentBlocks;
+    private final List<TestBlockRunner> path;
+    private final List<TestBlock> pathBlocks;
     private final List<TestBlockRunner> children = new ArrayList<>();
     private final Reporter reporter;
     private boolean skipTests;
@@ -54,6 +58,17 @@ public final class TestBlockRunner {
         this.parents = parents;
         this.reporter = reporter;
         skipTests = testBlock.behaviour == SKIP;
+        parentBlocks = parents.isEmpty()
+                ? Collections.emptyList()
+                : parents.get(parents.size() - 1).pathBlocks;
+        List<TestBlockRunner> runners = new ArrayList<>(parents.size() + 1);
+        runners.addAll(parents);
+        runners.add(this);
+        path = Collections.unmodifiableList(runners);
+        List<TestBlock> blocks = new ArrayList<>(parentBlocks.size() + 1);
+        blocks.addAll(parentBlocks);
+        blocks.add(testBlock);
+        pathBlocks = Collections.unmodifiableList(blocks);
     }
 
     /**
@@ -70,82 +85,81 @@ public final class TestBlockRunner {
      */
     public void run() {
         boolean runBlockHooks = !shouldSkipTests();
-        reporter.testBlockStart(testBlock, blocksFromRunners(parents));
+        reporter.testBlockStart(testBlock, parentBlocks);
         if (runBlockHooks) {
             runBlockHooks(BEFORE);
         }
         for (Test test : testBlock.tests) {
-            List<TestBlockRunner> testParents = parentsIncludeThis();
             if (!test.function.isPresent()) {
-                reporter.testPending(test, blocksFromRunners(testParents));
+                reporter.testPending(test, pathBlocks);
             } else if (shouldSkipTests() || test.behaviour == SKIP) {
-                reporter.testSkip(test, blocksFromRunners(testParents));
+                reporter.testSkip(test, pathBlocks);
             } else {
-                parents.get(0).runTest(test, testParents);
+                path.get(0).runTest(test, this);
             }
         }
-        children.forEach(TestBlockRunner::run);
+        for (TestBlockRunner child : children) {
+            child.run();
+        }
         if (runBlockHooks) {
             runBlockHooks(AFTER);
         }
-        reporter.testBlockEnd(testBlock, blocksFromRunners(parents));
+        reporter.testBlockEnd(testBlock, parentBlocks);
     }
 
-    private void runTest(Test test, List<TestBlockRunner> testParents) {
-        List<TestBlock> testParentBlocks = blocksFromRunners(testParents);
+    /**
+     * Runs this runner's "before each" hooks, then either runs the test or passes it on to the next runner on the path
+     * to the runner that owns it, then runs this runner's "after each" hooks.
+     */
+    private void runTest(Test test, TestBlockRunner owner) {
+        List<TestBlock> testParentBlocks = owner.pathBlocks;
         boolean beforeEachHooksFailed = runTestHooks(BEFORE_EACH, test, testParentBlocks);
         if (beforeEachHooksFailed) {
-            reporter.testSkip(test, blocksFromRunners(testParents));
-        } else {
-            boolean isTestInThisRunner = testParents.size() == parents.size() + 1;
-            if (isTestInThisRunner) {
-                try {
-                    reporter.testStart(test, testParentBlocks);
-                    test.function.get().apply();
-                    reporter.testPass(test, testParentBlocks);
-                } catch (Throwable e) {
-                    reporter.testFail(test, testParentBlocks, e);
-                } finally {
-                    reporter.testEnd(test, testParentBlocks);
-                }
-            } else {
-                testParents.get(parents.size() + 1).runTest(test, testParents);
+            reporter.testSkip(test, testParentBlocks);
+        } else if (owner == this) {
+            try {
+                reporter.testStart(test, testParentBlocks);
+                test.function.get().apply();
+                reporter.testPass(test, testParentBlocks);
+            } catch (Throwable e) {
+                ReporterSupport.filterStackTrace(e);
+                reporter.testFail(test, testParentBlocks, e);
+            } finally {
+                reporter.testEnd(test, testParentBlocks);
             }
+        } else {
+            owner.path.get(path.size()).runTest(test, owner);
         }
-        runTestHooks(AFTER_EACH, test, blocksFromRunners(testParents));
+        runTestHooks(AFTER_EACH, test, testParentBlocks);
     }
 
     private boolean runTestHooks(HookType hookType, Test test, List<TestBlock> testParents) {
-        List<TestBlock> hookParents = blocksFromRunners(parentsIncludeThis());
-        return runHooks(testBlock.hooksOfType(hookType),
-                (hook) -> reporter.testHookStart(hook, hookParents, test, testParents),
-                (hook) -> reporter.testHookPass(hook, hookParents, test, testParents),
-                (hook, e) -> {
-                    reporter.testHookFail(hook, hookParents, test, testParents, e);
-                    reporter.hookFail(hook, hookParents, e);
-                });
+        for (Hook hook : testBlock.hooksOfType(hookType)) {
+            try {
+                reporter.testHookStart(hook, pathBlocks, test, testParents);
+                hook.function.apply();
+                reporter.testHookPass(hook, pathBlocks, test, testParents);
+            } catch (Throwable e) {
+                ReporterSupport.filterStackTrace(e);
+                reporter.testHookFail(hook, pathBlocks, test, testParents, e);
+                reporter.hookFail(hook, pathBlocks, e);
+                skipTests = true;
+                return true;
+            }
+        }
+        return false;
     }
 
     private boolean runBlockHooks(HookType hookType) {
-        List<TestBlock> parents = blocksFromRunners(parentsIncludeThis());
-        return runHooks(testBlock.hooksOfType(hookType),
-                (hook) -> reporter.blockHookStart(hook, parents),
-                (hook) -> reporter.blockHookPass(hook, parents),
-                (hook, e) -> {
-                    reporter.blockHookFail(hook, parents, e);
-                    reporter.hookFail(hook, parents, e);
-                });
-    }
-
-    private boolean runHooks(List<Hook> hooks, Consumer<Hook> startHandler, Consumer<Hook> passHandler,
-            BiConsumer<Hook, Throwable> failHandler) {
-        for (Hook hook : hooks) {
+        for (Hook hook : testBlock.hooksOfType(hookType)) {
             try {
-                startHandler.accept(hook);
+                reporter.blockHookStart(hook, pathBlocks);
                 hook.function.apply();
-                passHandler.accept(hook);
+                reporter.blockHookPass(hook, pathBlocks);
             } catch (Throwable e) {
-                failHandler.accept(hook, e);
+                ReporterSupport.filterStackTrace(e);
+                reporter.blockHookFail(hook, pathBlocks, e);
+                reporter.hookFail(hook, pathBlocks, e);
                 skipTests = true;
                 return true;
             }
@@ -153,15 +167,15 @@ public final class TestBlockRunner {
         return false;
     }
 
-    private List<TestBlockRunner> parentsIncludeThis() {
-        return Stream.concat(parents.stream(), Stream.of(this)).collect(Collectors.toList());
-    }
-
     private boolean shouldSkipTests() {
-        return skipTests || parents.stream().anyMatch(p -> p.skipTests);
-    }
-
-    private static List<TestBlock> blocksFromRunners(List<TestBlockRunner> runners) {
-        return runners.stream().map(r -> r.testBlock).collect(Collectors.toList());
+        if (skipTests) {
+            return true;
+        }
+        for (TestBlockRunner parent : parents) {
+            if (parent.skipTests) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -16,28 +16,32 @@
 
 package org.forgerock.cuppa.internal.filters;
 
-import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-
+import org.forgerock.cuppa.model.Test;
 import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.transforms.TestBlockTransform;
+import org.forgerock.cuppa.transforms.TestBlockVisitor;
 
 /**
  * Filter out test blocks that do not contain any tests.
  */
-public final class EmptyTestBlockFilter implements Function<TestBlock, TestBlock> {
+public final class EmptyTestBlockFilter implements TestBlockTransform, TestBlockVisitor {
+    @Override
+    public TestBlockVisitor visitor(TestBlock rootBlock, TestBlockVisitor preceding) {
+        return this;
+    }
+
     @Override
-    public TestBlock apply(TestBlock testBlock) {
-        List<TestBlock> testBlocks = testBlock.testBlocks.stream()
-                .map(this)
-                .filter(b -> !isEmpty(b))
-                .collect(Collectors.toList());
-        return testBlock.toBuilder()
-                .setTestBlocks(testBlocks)
-                .build();
+    public TestBlockVisitor visitTestBlock(TestBlock testBlock) {
+        return this;
     }
 
-    private boolean isEmpty(TestBlock testBlock) {
-        return testBlock.testBlocks.isEmpty() && testBlock.tests.isEmpty();
+    @Override
+    public boolean keepTest(Test test) {
+        return true;
+    }
+
+    @Override
+    public boolean keepTestBlock(TestBlock testBlock) {
+        return !testBlock.testBlocks.isEmpty() || !testBlock.tests.isEmpty();
     }
 }
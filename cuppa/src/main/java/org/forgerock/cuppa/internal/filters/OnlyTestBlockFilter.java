@@ -18,44 +18,50 @@ package org.forgerock.cuppa.internal.filters;
 
 import static org.forgerock.cuppa.model.Behaviour.ONLY;
 
-import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-
+import org.forgerock.cuppa.model.Test;
 import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.transforms.TestBlockTransform;
+import org.forgerock.cuppa.transforms.TestBlockVisitor;
 
 /**
  * Filters out all tests that are not marked as "only" if any test is marked as "only". Otherwise, does nothing.
  */
-public final class OnlyTestBlockFilter implements Function<TestBlock, TestBlock> {
-    @Override
-    public TestBlock apply(TestBlock rootBlock) {
-        boolean hasOnlyTests = hasOnlyTests(rootBlock);
-        if (!hasOnlyTests) {
-            return rootBlock;
+public final class OnlyTestBlockFilter implements TestBlockTransform {
+    private static final TestBlockVisitor ONLY_VISITOR = new TestBlockVisitor() {
+        @Override
+        public TestBlockVisitor visitTestBlock(TestBlock testBlock) {
+            return (testBlock.behaviour == ONLY) ? null : this;
         }
-        return pruneNotOnlyTests(rootBlock);
-    }
 
-    private TestBlock pruneNotOnlyTests(TestBlock testBlock) {
-        if (testBlock.behaviour == ONLY) {
-            return testBlock;
+        @Override
+        public boolean keepTest(Test test) {
+            return test.behaviour == ONLY;
         }
-        List<TestBlock> testBlocks = testBlock.testBlocks.stream()
-                .map(this::pruneNotOnlyTests)
-                .collect(Collectors.toList());
-        List<org.forgerock.cuppa.model.Test> tests = testBlock.tests.stream()
-                .filter(t -> t.behaviour == ONLY)
-                .collect(Collectors.toList());
-        return testBlock.toBuilder()
-                .setTestBlocks(testBlocks)
-                .setTests(tests)
-                .build();
+    };
+
+    @Override
+    public TestBlockVisitor visitor(TestBlock rootBlock, TestBlockVisitor preceding) {
+        return hasOnlyTests(rootBlock, preceding) ? ONLY_VISITOR.visitTestBlock(rootBlock) : null;
     }
 
-    private boolean hasOnlyTests(TestBlock block) {
-        return block.behaviour == ONLY
-                || block.tests.stream().anyMatch(t -> t.behaviour == ONLY)
-                || block.testBlocks.stream().anyMatch(this::hasOnlyTests);
+    /**
+     * Checks whether a test block contains any blocks or tests marked as only, ignoring tests that the preceding
+     * transforms remove.
+     */
+    private boolean hasOnlyTests(TestBlock block, TestBlockVisitor preceding) {
+        if (block.behaviour == ONLY) {
+            return true;
+        }
+        for (Test test : block.tests) {
+            if (test.behaviour == ONLY && (preceding == null || preceding.keepTest(test))) {
+                return true;
+            }
+        }
+        for (TestBlock testBlock : block.testBlocks) {
+            if (hasOnlyTests(testBlock, (preceding != null) ? preceding.visitTestBlock(testBlock) : null)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
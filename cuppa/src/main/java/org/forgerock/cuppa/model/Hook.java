@@ -50,8 +50,29 @@ public final class Hook {
      */
     public final HookFunction function;
 
+    /**
+     * An identifier for the hook, unique within the test run and stable across runs of the same tests. Only present
+     * in trees compiled by {@link TestTreeCompiler}, such as those that reporters receive events for.
+     */
+    public final Optional<String> id;
+
+    /**
+     * The full description of the hook, as given by
+     * {@link org.forgerock.cuppa.ReporterSupport#getFullDescription(Hook, java.util.List)}. Only present in trees
+     * compiled by {@link TestTreeCompiler}.
+     */
+    public final Optional<String> fullDescription;
+
+    private final int hashCode;
+
     // Package private. Use HookBuilder.
     Hook(HookType type, Class<?> testClass, Optional<String> description, HookFunction function) {
+        this(type, testClass, description, function, Optional.empty(), Optional.empty());
+    }
+
+    // Package private. Use TestTreeCompiler.
+    Hook(HookType type, Class<?> testClass, Optional<String> description, HookFunction function,
+            Optional<String> id, Optional<String> fullDescription) {
         Objects.requireNonNull(type, "Hook must have a type");
         Objects.requireNonNull(testClass, "Hook must have a testClass");
         Objects.requireNonNull(description, "Hook must have a description");
@@ -60,6 +81,9 @@ public final class Hook {
         this.testClass = testClass;
         this.description = description;
         this.function = function;
+        this.id = id;
+        this.fullDescription = fullDescription;
+        this.hashCode = Objects.hash(type, testClass, description, function);
     }
 
     @Override
@@ -73,6 +97,9 @@ public final class Hook {
 
         Hook hook = (Hook) o;
 
+        if (hashCode != hook.hashCode) {
+            return false;
+        }
         return Objects.equals(type, hook.type)
             && Objects.equals(testClass, hook.testClass)
             && Objects.equals(description, hook.description)
@@ -81,7 +108,7 @@ public final class Hook {
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, testClass, description, function);
+        return hashCode;
     }
 
     @Override
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * A compact, array-backed immutable list.
+ *
+ * <p>Because the list can never change, it can be shared rather than copied: {@link #copyOf} returns an existing
+ * {@code ImmutableList} as it is, and {@link #subList} returns a view of the same array. This lets test blocks that
+ * are rebuilt by transforms reuse the lists of the blocks they were built from.</p>
+ *
+ * @param <E> The type of the elements.
+ */
+final class ImmutableList<E> extends AbstractList<E> implements RandomAccess {
+    private static final ImmutableList<Object> EMPTY = new ImmutableList<>(new Object[0], 0, 0);
+
+    private final Object[] elements;
+    private final int offset;
+    private final int size;
+
+    private ImmutableList(Object[] elements, int offset, int size) {
+        this.elements = elements;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Gets an immutable list with the same elements as the given collection, in the same order. The collection is
+     * copied, unless it is itself an {@code ImmutableList}.
+     *
+     * @param collection The collection to copy.
+     * @param <E> The type of the elements.
+     * @return An immutable list.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<E> copyOf(Collection<? extends E> collection) {
+        if (collection instanceof ImmutableList) {
+            return (ImmutableList<E>) collection;
+        }
+        if (collection.isEmpty()) {
+            return (ImmutableList<E>) EMPTY;
+        }
+        Object[] elements = collection.toArray();
+        return new ImmutableList<>(elements, 0, elements.length);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) elements[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        }
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+        return new ImmutableList<>(elements, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOfRange(elements, offset, offset + size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (int i = offset; i < offset + size; i++) {
+            action.accept((E) elements[i]);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof ImmutableList) {
+            ImmutableList<?> other = (ImmutableList<?>) o;
+            if (elements == other.elements && offset == other.offset && size == other.size) {
+                return true;
+            }
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.forgerock.cuppa.model;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -23,31 +24,40 @@ import java.util.Optional;
 /**
  * A set of options. Options allow Cuppa's data model to be extended to include additional metadata about tests and test
  * blocks.
+ *
+ * <p>Options are immutable, and most tests and test blocks have no more than one or two, so they are stored in a pair
+ * of small arrays. Setting or un-setting an option copies the arrays, and shares whatever is unchanged. Larger sets of
+ * options are also indexed by a hash map.</p>
  */
 public final class Options {
     /**
      * The empty option set.
      */
-    public static final Options EMPTY = new Options();
-
-    private final Map<Class<? extends Option>, Option<?>> options;
-
-    private Options() {
-        this(new HashMap<>());
-    }
-
-    private Options(Map<Class<? extends Option>, Option<?>> options) {
-        this.options = options;
-    }
-
-    /**
-     * Creates an mutable options set from the given options.
-     *
-     * @param options A set of options to copy.
-     * @return An mutable set of options.
-     */
-    private static Options copyOf(Options options) {
-        return new Options(new HashMap<>(options.options));
+    public static final Options EMPTY = new Options(new Class<?>[0], new Option<?>[0]);
+
+    private static final int MAX_UNINDEXED_SIZE = 8;
+
+    private final Class<?>[] keys;
+    private final Option<?>[] values;
+    private final Map<Class<?>, Option<?>> index;
+    private final int hashCode;
+
+    private Options(Class<?>[] keys, Option<?>[] values) {
+        this.keys = keys;
+        this.values = values;
+        if (keys.length > MAX_UNINDEXED_SIZE) {
+            index = new HashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                index.put(keys[i], values[i]);
+            }
+        } else {
+            index = null;
+        }
+        int h = 0;
+        for (int i = 0; i < keys.length; i++) {
+            h += keys[i].hashCode() ^ values[i].hashCode();
+        }
+        hashCode = h;
     }
 
     /**
@@ -59,13 +69,24 @@ public final class Options {
      * @return An optional value.
      */
     public <V, O extends Option<V>> Optional<V> get(Class<O> optionClass) {
-        if (options.containsKey(optionClass)) {
-            O option = optionClass.cast(options.get(optionClass));
+        O option = find(optionClass);
+        if (option != null) {
             return Optional.of(option.get());
         }
         return Optional.empty();
     }
 
+    /**
+     * Get the option of the given type, without wrapping it.
+     *
+     * @param optionClass The class that corresponds to the option.
+     * @param <O> The type of the option.
+     * @return The option, or null if no such option has been set.
+     */
+    <O extends Option<?>> O find(Class<O> optionClass) {
+        return optionClass.cast(lookup(optionClass));
+    }
+
     /**
      * Un-sets an option.
      *
@@ -74,9 +95,20 @@ public final class Options {
      * @return A new Option instance without the specified option.
      */
     public <O extends Option<?>> Options unset(Class<O> optionClass) {
-        Options copy = copyOf(this);
-        copy.options.remove(optionClass);
-        return copy;
+        int i = indexOf(optionClass);
+        if (i < 0) {
+            return this;
+        }
+        if (keys.length == 1) {
+            return EMPTY;
+        }
+        Class<?>[] newKeys = new Class<?>[keys.length - 1];
+        Option<?>[] newValues = new Option<?>[values.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, i);
+        System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+        System.arraycopy(values, 0, newValues, 0, i);
+        System.arraycopy(values, i + 1, newValues, i, values.length - i - 1);
+        return new Options(newKeys, newValues);
     }
 
     /**
@@ -87,9 +119,37 @@ public final class Options {
      * @return A new Option instance with the specified option.
      */
     public <T> Options set(Option<T> option) {
-        Options copy = copyOf(this);
-        copy.options.put(option.getClass(), option);
-        return copy;
+        int i = indexOf(option.getClass());
+        if (i >= 0) {
+            if (values[i].equals(option)) {
+                return this;
+            }
+            Option<?>[] newValues = values.clone();
+            newValues[i] = option;
+            return new Options(keys, newValues);
+        }
+        Class<?>[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+        Option<?>[] newValues = Arrays.copyOf(values, values.length + 1);
+        newKeys[keys.length] = option.getClass();
+        newValues[values.length] = option;
+        return new Options(newKeys, newValues);
+    }
+
+    private int indexOf(Class<?> optionClass) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == optionClass) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Option<?> lookup(Class<?> optionClass) {
+        if (index != null) {
+            return index.get(optionClass);
+        }
+        int i = indexOf(optionClass);
+        return (i >= 0) ? values[i] : null;
     }
 
     @Override
@@ -103,17 +163,31 @@ public final class Options {
 
         Options options1 = (Options) o;
 
-        return options.equals(options1.options);
-
+        if (hashCode != options1.hashCode || keys.length != options1.keys.length) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (!values[i].equals(options1.lookup(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return options.hashCode();
+        return hashCode;
     }
 
     @Override
     public String toString() {
-        return options.toString();
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(keys[i]).append('=').append(values[i]);
+        }
+        return builder.append('}').toString();
     }
 }
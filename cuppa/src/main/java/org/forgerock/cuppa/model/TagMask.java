@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An immutable set of tags, represented as a bit mask.
+ *
+ * <p>Every tag name is interned to a small, dense integer id the first time it is seen, and a mask has the bits of
+ * the ids of its tags set. This makes unions and intersections of tag sets cheap, which matters when filtering large
+ * test trees by tag.</p>
+ */
+public final class TagMask {
+    /**
+     * The mask with no tags.
+     */
+    public static final TagMask EMPTY = new TagMask(new long[0]);
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new CopyOnWriteArrayList<>();
+
+    private final long[] words;
+    private final int hashCode;
+
+    private TagMask(long[] words) {
+        this.words = words;
+        this.hashCode = Arrays.hashCode(words);
+    }
+
+    /**
+     * Get the id of a tag, assigning it one if it has not been seen before.
+     *
+     * @param tag The name of the tag.
+     * @return The tag's id.
+     */
+    public static int idOf(String tag) {
+        Integer id = IDS.get(tag);
+        if (id != null) {
+            return id;
+        }
+        synchronized (IDS) {
+            return IDS.computeIfAbsent(tag, t -> {
+                NAMES.add(t);
+                return NAMES.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Get the mask of a set of tags.
+     *
+     * @param tags The names of the tags.
+     * @return A mask containing the tags.
+     */
+    public static TagMask of(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[0];
+        for (String tag : tags) {
+            int id = idOf(tag);
+            int word = id >>> ADDRESS_BITS_PER_WORD;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            words[word] |= 1L << id;
+        }
+        return new TagMask(words);
+    }
+
+    /**
+     * Whether this mask contains no tags.
+     *
+     * @return true if the mask is empty.
+     */
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * Whether this mask contains the tag with the given id.
+     *
+     * @param id The id of a tag, as returned by {@link #idOf(String)}.
+     * @return true if the tag is in this mask.
+     */
+    public boolean contains(int id) {
+        int word = id >>> ADDRESS_BITS_PER_WORD;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Whether this mask has any tags in common with another.
+     *
+     * @param other The other mask.
+     * @return true if the masks intersect.
+     */
+    public boolean intersects(TagMask other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the union of this mask and another. If either mask contains the other, it is returned rather than creating a
+     * new mask.
+     *
+     * @param other The other mask.
+     * @return A mask containing the tags of both masks.
+     */
+    public TagMask union(TagMask other) {
+        if (other.isSubsetOf(this)) {
+            return this;
+        }
+        if (isSubsetOf(other)) {
+            return other;
+        }
+        long[] union = Arrays.copyOf(words, Math.max(words.length, other.words.length));
+        for (int i = 0; i < other.words.length; i++) {
+            union[i] |= other.words[i];
+        }
+        return new TagMask(union);
+    }
+
+    /**
+     * Get the names of the tags in this mask.
+     *
+     * @return An immutable set of tag names.
+     */
+    public Set<String> toTags() {
+        Set<String> tags = new HashSet<>();
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                tags.add(NAMES.get((i << ADDRESS_BITS_PER_WORD) + bit));
+                word &= word - 1;
+            }
+        }
+        return Collections.unmodifiableSet(tags);
+    }
+
+    private boolean isSubsetOf(TagMask other) {
+        if (words.length > other.words.length) {
+            return false;
+        }
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & ~other.words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TagMask tagMask = (TagMask) o;
+        return hashCode == tagMask.hashCode && Arrays.equals(words, tagMask.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toTags().toString();
+    }
+}
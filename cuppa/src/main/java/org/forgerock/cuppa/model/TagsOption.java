@@ -25,6 +25,8 @@ import java.util.Set;
  * a test run.
  */
 public final class TagsOption extends Option<Set<String>> {
+    private final TagMask mask;
+
     /**
      * Create a new tags option.
      *
@@ -32,5 +34,26 @@ public final class TagsOption extends Option<Set<String>> {
      */
     public TagsOption(Set<String> value) {
         super(Collections.unmodifiableSet(new HashSet<>(value)));
+        this.mask = TagMask.of(value);
+    }
+
+    /**
+     * Get the tags as a mask.
+     *
+     * @return The mask of the tags.
+     */
+    public TagMask getMask() {
+        return mask;
+    }
+
+    /**
+     * Get the tags set in the given options as a mask.
+     *
+     * @param options A set of options.
+     * @return The mask of the tags, or {@link TagMask#EMPTY} if no tags are set.
+     */
+    public static TagMask maskOf(Options options) {
+        TagsOption option = options.find(TagsOption.class);
+        return (option != null) ? option.mask : TagMask.EMPTY;
     }
 }
@@ -54,9 +54,30 @@ public final class Test {
      */
     public final Options options;
 
+    /**
+     * An identifier for the test, unique within the test run and stable across runs of the same tests. Only present
+     * in trees compiled by {@link TestTreeCompiler}, such as those that reporters receive events for.
+     */
+    public final Optional<String> id;
+
+    /**
+     * The full description of the test, as given by
+     * {@link org.forgerock.cuppa.ReporterSupport#getFullDescription(Test, java.util.List)}. Only present in trees
+     * compiled by {@link TestTreeCompiler}.
+     */
+    public final Optional<String> fullDescription;
+
+    private final int hashCode;
+
     // Package private. Use TestBuilder.
     Test(Behaviour behaviour, Class<?> testClass, String description, Optional<TestFunction> function,
             Options options) {
+        this(behaviour, testClass, description, function, options, Optional.empty(), Optional.empty());
+    }
+
+    // Package private. Use TestTreeCompiler.
+    Test(Behaviour behaviour, Class<?> testClass, String description, Optional<TestFunction> function,
+            Options options, Optional<String> id, Optional<String> fullDescription) {
         Objects.requireNonNull(behaviour, "Test must have a behaviour");
         Objects.requireNonNull(testClass, "Test must have a testClass");
         Objects.requireNonNull(description, "Test must have a description");
@@ -66,10 +87,14 @@ public final class Test {
         this.description = description;
         this.function = function;
         this.options = options;
+        this.id = id;
+        this.fullDescription = fullDescription;
+        this.hashCode = Objects.hash(behaviour, testClass, description, function, options);
     }
 
     /**
-     * Creates a {@link TestBuilder} and initialises it's properties to this {@code Test}.
+     * Creates a {@link TestBuilder} and initialises it's properties to this {@code Test}. The {@link #id} and
+     * {@link #fullDescription} are not copied.
      * @return a {@link TestBuilder}.
      */
     public TestBuilder toBuilder() {
@@ -90,6 +115,9 @@ public final class Test {
             return false;
         }
         Test test = (Test) o;
+        if (hashCode != test.hashCode) {
+            return false;
+        }
         return Objects.equals(behaviour, test.behaviour)
             && Objects.equals(testClass, test.testClass)
             && Objects.equals(description, test.description)
@@ -99,7 +127,7 @@ public final class Test {
 
     @Override
     public int hashCode() {
-        return Objects.hash(behaviour, testClass, description, function, options);
+        return hashCode;
     }
 
     @Override
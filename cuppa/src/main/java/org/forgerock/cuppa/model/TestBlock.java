@@ -18,9 +18,11 @@ package org.forgerock.cuppa.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import org.forgerock.cuppa.functions.TestBlockFunction;
 
@@ -114,9 +116,33 @@ public final class TestBlock {
      */
     public final Options options;
 
+    /**
+     * An identifier for the test block, unique within the test run and stable across runs of the same tests. Only
+     * present in trees compiled by {@link TestTreeCompiler}, such as those that reporters receive events for.
+     */
+    public final Optional<String> id;
+
+    /**
+     * The full description of the test block, as given by
+     * {@link org.forgerock.cuppa.ReporterSupport#getFullDescription(TestBlock, java.util.List)}. Only present in trees
+     * compiled by {@link TestTreeCompiler}.
+     */
+    public final Optional<String> fullDescription;
+
+    private final Map<HookType, List<Hook>> hooksByType;
+    private final int hashCode;
+
     // Package private. Use TestBlockBuilder.
     TestBlock(TestBlockType type, Behaviour behaviour, Class<?> testClass, String description,
             List<TestBlock> testBlocks, List<Hook> hooks, List<Test> tests, Options options) {
+        this(type, behaviour, testClass, description, testBlocks, hooks, tests, options, Optional.empty(),
+                Optional.empty());
+    }
+
+    // Package private. Use TestTreeCompiler.
+    TestBlock(TestBlockType type, Behaviour behaviour, Class<?> testClass, String description,
+            List<TestBlock> testBlocks, List<Hook> hooks, List<Test> tests, Options options, Optional<String> id,
+            Optional<String> fullDescription) {
         Objects.requireNonNull(type, "TestBlock must have a type");
         Objects.requireNonNull(behaviour, "TestBlock must have a behaviour");
         Objects.requireNonNull(testClass, "TestBlock must have a testClass");
@@ -129,14 +155,20 @@ public final class TestBlock {
         this.behaviour = behaviour;
         this.testClass = testClass;
         this.description = description;
-        this.testBlocks = Collections.unmodifiableList(new ArrayList<>(testBlocks));
-        this.hooks = Collections.unmodifiableList(new ArrayList<>(hooks));
-        this.tests = Collections.unmodifiableList(new ArrayList<>(tests));
+        this.testBlocks = ImmutableList.copyOf(testBlocks);
+        this.hooks = ImmutableList.copyOf(hooks);
+        this.tests = ImmutableList.copyOf(tests);
         this.options = options;
+        this.id = id;
+        this.fullDescription = fullDescription;
+        this.hooksByType = indexHooks(this.hooks);
+        this.hashCode = Objects.hash(type, behaviour, testClass, description, this.testBlocks, this.hooks, this.tests,
+                options);
     }
 
     /**
-     * Creates a {@link TestBlockBuilder} and initialises it's properties to this {@code TestBlock}.
+     * Creates a {@link TestBlockBuilder} and initialises it's properties to this {@code TestBlock}. The {@link #id}
+     * and {@link #fullDescription} are not copied.
      * @return a {@link TestBlockBuilder}.
      */
     public TestBlockBuilder toBuilder() {
@@ -145,9 +177,9 @@ public final class TestBlock {
                 .setBehaviour(behaviour)
                 .setTestClass(testClass)
                 .setDescription(description)
-                .setTestBlocks(new ArrayList<>(testBlocks))
-                .setHooks(new ArrayList<>(hooks))
-                .setTests(new ArrayList<>(tests))
+                .setTestBlocks(testBlocks)
+                .setHooks(hooks)
+                .setTests(tests)
                 .setOptions(options);
     }
 
@@ -162,6 +194,9 @@ public final class TestBlock {
 
         TestBlock testBlock = (TestBlock) o;
 
+        if (hashCode != testBlock.hashCode) {
+            return false;
+        }
         return Objects.equals(type, testBlock.type)
             && Objects.equals(behaviour, testBlock.behaviour)
             && Objects.equals(testClass, testBlock.testClass)
@@ -174,7 +209,7 @@ public final class TestBlock {
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, behaviour, testClass, description, testBlocks, hooks, tests, options);
+        return hashCode;
     }
 
     @Override
@@ -198,8 +233,18 @@ public final class TestBlock {
      * @return An immutable list of hooks.
      */
     public List<Hook> hooksOfType(HookType type) {
-        return hooks.stream()
-                .filter(h -> h.type == type)
-                .collect(Collectors.toList());
+        return hooksByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    private static Map<HookType, List<Hook>> indexHooks(List<Hook> hooks) {
+        if (hooks.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<HookType, List<Hook>> index = new EnumMap<>(HookType.class);
+        for (Hook hook : hooks) {
+            index.computeIfAbsent(hook.type, t -> new ArrayList<>()).add(hook);
+        }
+        index.replaceAll((t, h) -> ImmutableList.copyOf(h));
+        return index;
     }
 }
@@ -80,7 +80,8 @@ public final class TestBlockBuilder {
     /**
      * Sets the nested test blocks.
      *
-     * <p>The list will be copied when {@link #build()} is called.</p>
+     * <p>The list will be copied when {@link #build()} is called, unless it is a list taken from an existing
+     * {@link TestBlock}, which is immutable and so is shared instead.</p>
      *
      * @param testBlocks A list of test blocks.
      * @return this {@code TestBlockBuilder}.
@@ -93,7 +94,8 @@ public final class TestBlockBuilder {
     /**
      * Sets the hooks defined by the test block.
      *
-     * <p>The list will be copied when {@link #build()} is called.</p>
+     * <p>The list will be copied when {@link #build()} is called, unless it is a list taken from an existing
+     * {@link TestBlock}, which is immutable and so is shared instead.</p>
      *
      * @param hooks A list of hooks.
      * @return this {@code TestBlockBuilder}.
@@ -106,7 +108,8 @@ public final class TestBlockBuilder {
     /**
      * Sets the tests defined by the test block.
      *
-     * <p>The list will be copied when {@link #build()} is called.</p>
+     * <p>The list will be copied when {@link #build()} is called, unless it is a list taken from an existing
+     * {@link TestBlock}, which is immutable and so is shared instead.</p>
      *
      * @param tests A list of tests.
      * @return this {@code TestBlockBuilder}.
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.forgerock.cuppa.ReporterSupport;
+
+/**
+ * Compiles a tree of tests ready to be run, by giving every test block, test and hook in the tree its
+ * {@code fullDescription} and {@code id}.
+ *
+ * <p>Full descriptions are computed once per node by extending the description of its parent, and are interned. An
+ * id is the name of the test class followed by a colon and the full description. Where several nodes in the tree
+ * would have the same id, the second and subsequent ones have {@code #2}, {@code #3} and so on appended, in the order
+ * they appear in the tree.</p>
+ */
+public final class TestTreeCompiler {
+
+    private TestTreeCompiler() {
+    }
+
+    /**
+     * Compiles the given tree.
+     *
+     * @param rootBlock The root of the tree.
+     * @return A copy of the tree in which every test block, test and hook has an id and a full description.
+     */
+    public static TestBlock compile(TestBlock rootBlock) {
+        return compile(rootBlock, ReporterSupport.getDescription(rootBlock), new HashMap<>());
+    }
+
+    /**
+     * Compiles a test block and its descendants.
+     *
+     * @param testBlock The test block.
+     * @param path The descriptions of the test block and its ancestors, joined by spaces but not trimmed.
+     * @param ids The number of times each id has been used so far.
+     */
+    private static TestBlock compile(TestBlock testBlock, String path, Map<String, Integer> ids) {
+        String fullDescription = path.trim().intern();
+        Optional<String> id = id(testBlock.testClass, fullDescription, ids);
+        List<Hook> hooks = new ArrayList<>(testBlock.hooks.size());
+        for (Hook hook : testBlock.hooks) {
+            String hookDescription = (fullDescription + " " + ReporterSupport.getDescription(hook)).intern();
+            hooks.add(new Hook(hook.type, hook.testClass, hook.description, hook.function,
+                    id(hook.testClass, hookDescription, ids), Optional.of(hookDescription)));
+        }
+        List<Test> tests = new ArrayList<>(testBlock.tests.size());
+        for (Test test : testBlock.tests) {
+            String testDescription = (fullDescription + " " + test.description).intern();
+            tests.add(new Test(test.behaviour, test.testClass, test.description, test.function, test.options,
+                    id(test.testClass, testDescription, ids), Optional.of(testDescription)));
+        }
+        List<TestBlock> testBlocks = new ArrayList<>(testBlock.testBlocks.size());
+        for (TestBlock child : testBlock.testBlocks) {
+            testBlocks.add(compile(child, path + " " + ReporterSupport.getDescription(child), ids));
+        }
+        return new TestBlock(testBlock.type, testBlock.behaviour, testBlock.testClass, testBlock.description,
+                testBlocks, hooks, tests, testBlock.options, id, Optional.of(fullDescription));
+    }
+
+    static Optional<String> id(Class<?> testClass, String fullDescription, Map<String, Integer> ids) {
+        String id = testClass.getName() + ":" + fullDescription;
+        int count = ids.merge(id, 1, Integer::sum);
+        return Optional.of((count == 1) ? id : id + "#" + count);
+    }
+}
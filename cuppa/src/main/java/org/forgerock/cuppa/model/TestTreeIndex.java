@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.forgerock.cuppa.ReporterSupport;
+
+/**
+ * An index of the test blocks, tests and hooks in a test tree, built in a single pass over the tree.
+ *
+ * <p>Lookups by id, full description, description, test class and tag take constant time. Ids and full descriptions
+ * are those given by {@link TestTreeCompiler}; if the tree has not been compiled they are computed in the same way
+ * while the index is built. Where several nodes share a description, lookups return the first in the tree, searching
+ * a test block's hooks and tests before its nested test blocks.</p>
+ *
+ * <p>The tags of a test include those inherited from its enclosing test blocks.</p>
+ */
+public final class TestTreeIndex {
+    private final TestBlock rootBlock;
+    private final Map<String, TestBlock> testBlocksById = new HashMap<>();
+    private final Map<String, Test> testsById = new HashMap<>();
+    private final Map<String, Hook> hooksById = new HashMap<>();
+    private final Map<String, TestBlock> testBlocksByFullDescription = new HashMap<>();
+    private final Map<String, Test> testsByFullDescription = new HashMap<>();
+    private final Map<String, TestBlock> testBlocksByDescription = new HashMap<>();
+    private final Map<String, Test> testsByDescription = new HashMap<>();
+    private final Map<String, Hook> hooksByDescription = new HashMap<>();
+    private final Map<Class<?>, List<Test>> testsByClass = new LinkedHashMap<>();
+    private final Map<String, List<Test>> testsByTag = new LinkedHashMap<>();
+    private final Map<Test, TestEntry> testEntries = new IdentityHashMap<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<Test> tests = new ArrayList<>();
+
+    private TestTreeIndex(TestBlock rootBlock) {
+        this.rootBlock = rootBlock;
+        index(rootBlock, ReporterSupport.getDescription(rootBlock), Collections.emptyList(), TagMask.EMPTY);
+        testsByClass.replaceAll((testClass, classTests) -> Collections.unmodifiableList(classTests));
+        testsByTag.replaceAll((tag, tagTests) -> Collections.unmodifiableList(tagTests));
+    }
+
+    /**
+     * Builds an index of the given tree.
+     *
+     * @param rootBlock The root of the tree.
+     * @return An index of the tree.
+     */
+    public static TestTreeIndex of(TestBlock rootBlock) {
+        return new TestTreeIndex(rootBlock);
+    }
+
+    /**
+     * Get the root of the indexed tree.
+     *
+     * @return The root test block.
+     */
+    public TestBlock getRootBlock() {
+        return rootBlock;
+    }
+
+    /**
+     * Get every test in the tree, in the order they appear in the tree.
+     *
+     * @return An immutable list of tests.
+     */
+    public List<Test> getTests() {
+        return Collections.unmodifiableList(tests);
+    }
+
+    /**
+     * Finds the test block with the given id.
+     *
+     * @param id The id.
+     * @return The test block, if there is one.
+     */
+    public Optional<TestBlock> findTestBlockById(String id) {
+        return Optional.ofNullable(testBlocksById.get(id));
+    }
+
+    /**
+     * Finds the test with the given id.
+     *
+     * @param id The id.
+     * @return The test, if there is one.
+     */
+    public Optional<Test> findTestById(String id) {
+        return Optional.ofNullable(testsById.get(id));
+    }
+
+    /**
+     * Finds the hook with the given id.
+     *
+     * @param id The id.
+     * @return The hook, if there is one.
+     */
+    public Optional<Hook> findHookById(String id) {
+        return Optional.ofNullable(hooksById.get(id));
+    }
+
+    /**
+     * Finds the first test block with the given full description.
+     *
+     * @param fullDescription The full description.
+     * @return The test block, if there is one.
+     */
+    public Optional<TestBlock> findTestBlockByFullDescription(String fullDescription) {
+        return Optional.ofNullable(testBlocksByFullDescription.get(fullDescription));
+    }
+
+    /**
+     * Finds the first test with the given full description.
+     *
+     * @param fullDescription The full description.
+     * @return The test, if there is one.
+     */
+    public Optional<Test> findTestByFullDescription(String fullDescription) {
+        return Optional.ofNullable(testsByFullDescription.get(fullDescription));
+    }
+
+    /**
+     * Finds the first test block with the given description.
+     *
+     * @param description The description.
+     * @return The test block, if there is one.
+     */
+    public Optional<TestBlock> findTestBlock(String description) {
+        return Optional.ofNullable(testBlocksByDescription.get(description));
+    }
+
+    /**
+     * Finds the first test with the given description.
+     *
+     * @param description The description.
+     * @return The test, if there is one.
+     */
+    public Optional<Test> findTest(String description) {
+        return Optional.ofNullable(testsByDescription.get(description));
+    }
+
+    /**
+     * Finds the first hook with the given description.
+     *
+     * @param description The description.
+     * @return The hook, if there is one.
+     */
+    public Optional<Hook> findHook(String description) {
+        return Optional.ofNullable(hooksByDescription.get(description));
+    }
+
+    /**
+     * Get the tests defined in the given test class.
+     *
+     * @param testClass The test class.
+     * @return An immutable list of tests, in the order they appear in the tree.
+     */
+    public List<Test> getTestsByClass(Class<?> testClass) {
+        return testsByClass.getOrDefault(testClass, Collections.emptyList());
+    }
+
+    /**
+     * Get the tests that have the given tag, either directly or inherited from a test block.
+     *
+     * @param tag The tag.
+     * @return An immutable list of tests, in the order they appear in the tree.
+     */
+    public List<Test> getTestsByTag(String tag) {
+        return testsByTag.getOrDefault(tag, Collections.emptyList());
+    }
+
+    /**
+     * Get the number of tests defined in each test class.
+     *
+     * @return An immutable map of test class to number of tests, in the order the classes appear in the tree.
+     */
+    public Map<Class<?>, Integer> getTestCountsByClass() {
+        return counts(testsByClass);
+    }
+
+    /**
+     * Get the number of tests that have each tag, either directly or inherited from a test block.
+     *
+     * @return An immutable map of tag to number of tests, in the order the tags are first used in the tree.
+     */
+    public Map<String, Integer> getTestCountsByTag() {
+        return counts(testsByTag);
+    }
+
+    /**
+     * Get the test blocks that enclose a test, from the root block down.
+     *
+     * @param test A test in the indexed tree.
+     * @return An immutable list of test blocks.
+     * @throws IllegalArgumentException If the test is not in the indexed tree.
+     */
+    public List<TestBlock> getParents(Test test) {
+        return entryOf(test).parents;
+    }
+
+    /**
+     * Get the id of a test.
+     *
+     * @param test A test in the indexed tree.
+     * @return The id.
+     * @throws IllegalArgumentException If the test is not in the indexed tree.
+     */
+    public String getId(Test test) {
+        return entryOf(test).id;
+    }
+
+    /**
+     * Get the tags of a test, including those inherited from its test blocks.
+     *
+     * @param test A test in the indexed tree.
+     * @return The tags.
+     * @throws IllegalArgumentException If the test is not in the indexed tree.
+     */
+    public TagMask getTags(Test test) {
+        return entryOf(test).tags;
+    }
+
+    private TestEntry entryOf(Test test) {
+        TestEntry entry = testEntries.get(test);
+        if (entry == null) {
+            throw new IllegalArgumentException("Test is not in the indexed tree: " + test);
+        }
+        return entry;
+    }
+
+    private void index(TestBlock testBlock, String path, List<TestBlock> parents, TagMask parentTags) {
+        String fullDescription = testBlock.fullDescription.orElseGet(path::trim);
+        testBlocksById.put(idOf(testBlock.id, testBlock.testClass, fullDescription), testBlock);
+        testBlocksByFullDescription.putIfAbsent(fullDescription, testBlock);
+        testBlocksByDescription.putIfAbsent(testBlock.description, testBlock);
+        for (Hook hook : testBlock.hooks) {
+            String hookDescription = hook.fullDescription
+                    .orElseGet(() -> fullDescription + " " + ReporterSupport.getDescription(hook));
+            hooksById.put(idOf(hook.id, hook.testClass, hookDescription), hook);
+            hook.description.ifPresent(d -> hooksByDescription.putIfAbsent(d, hook));
+        }
+        List<TestBlock> testParents = new ArrayList<>(parents.size() + 1);
+        testParents.addAll(parents);
+        testParents.add(testBlock);
+        testParents = Collections.unmodifiableList(testParents);
+        TagMask blockTags = parentTags.union(TagsOption.maskOf(testBlock.options));
+        for (Test test : testBlock.tests) {
+            String testDescription = test.fullDescription.orElseGet(() -> fullDescription + " " + test.description);
+            String id = idOf(test.id, test.testClass, testDescription);
+            TagMask testTags = blockTags.union(TagsOption.maskOf(test.options));
+            tests.add(test);
+            testsById.put(id, test);
+            testsByFullDescription.putIfAbsent(testDescription, test);
+            testsByDescription.putIfAbsent(test.description, test);
+            testEntries.put(test, new TestEntry(testParents, id, testTags));
+            testsByClass.computeIfAbsent(test.testClass, c -> new ArrayList<>()).add(test);
+            for (String tag : testTags.toTags()) {
+                testsByTag.computeIfAbsent(tag, t -> new ArrayList<>()).add(test);
+            }
+        }
+        for (TestBlock child : testBlock.testBlocks) {
+            index(child, path + " " + ReporterSupport.getDescription(child), testParents, blockTags);
+        }
+    }
+
+    private String idOf(Optional<String> id, Class<?> testClass, String fullDescription) {
+        return id.orElseGet(() -> TestTreeCompiler.id(testClass, fullDescription, ids).get());
+    }
+
+    private static <K> Map<K, Integer> counts(Map<K, List<Test>> testsByKey) {
+        Map<K, Integer> counts = new LinkedHashMap<>();
+        testsByKey.forEach((key, tests) -> counts.put(key, tests.size()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private static final class TestEntry {
+        private final List<TestBlock> parents;
+        private final String id;
+        private final TagMask tags;
+
+        private TestEntry(List<TestBlock> parents, String id, TagMask tags) {
+            this.parents = parents;
+            this.id = id;
+            this.tags = tags;
+        }
+    }
+}
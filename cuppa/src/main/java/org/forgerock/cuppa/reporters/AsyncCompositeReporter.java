@@ -0,0 +1,432 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.forgerock.cuppa.CuppaException;
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * A reporter that delegates to a list of other reporters, calling each of them on its own thread.
+ *
+ * <p>Use this reporter to wrap slow reporters, such as those writing to a network filesystem, so that they do not add
+ * latency to every test. Each event is published as an immutable object into a bounded buffer per reporter, which is
+ * drained by a dedicated consumer thread. When a buffer is full, the {@link Backpressure} policy decides whether the
+ * test thread waits for space or the event is discarded.</p>
+ *
+ * <p>Events are discarded in whole units, so a reporter never sees a start event without its matching end event, or
+ * the other way round. If there is no space for {@link #testStart(Test, List)}, every event for that test up to and
+ * including {@link #testEnd(Test, List)} is discarded; if there is no space for the start of a hook, its pass or fail
+ * events are discarded. Once a start event has been accepted, the rest of its unit is always delivered, waiting for
+ * space if need be. The start and end of the run and of test blocks are never discarded.</p>
+ *
+ * <p>The reporter threads are started by {@link #start(TestBlock)}. {@link #end()} waits until every reporter has
+ * processed all of its buffered events, so no accepted event is lost, and then stops the threads. Events published
+ * outside a run, between {@link #end()} and the next {@link #start(TestBlock)}, are ignored. If a reporter throws
+ * whilst handling an event, the first such exception is rethrown from {@link #end()}.</p>
+ *
+ * <p>Events are only published to the reporters that subscribe to them, as given by
+ * {@link ReporterEvent#subscriptionsOf(Reporter)}.</p>
+ */
+public final class AsyncCompositeReporter implements SelectiveReporter {
+    /**
+     * The default number of events that can be buffered for each reporter.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final Event STOP = r -> { };
+
+    private final List<Reporter> reporters;
+    private final Set<ReporterEvent> subscribedEvents;
+    private final int capacity;
+    private final Backpressure backpressure;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private List<Consumer> consumers;
+
+    /**
+     * Constructs a new asynchronous composite reporter that blocks when a buffer is full.
+     *
+     * @param reporters The reporters to delegate calls to.
+     */
+    public AsyncCompositeReporter(List<Reporter> reporters) {
+        this(reporters, DEFAULT_CAPACITY, Backpressure.BLOCK);
+    }
+
+    /**
+     * Constructs a new asynchronous composite reporter.
+     *
+     * @param reporters The reporters to delegate calls to.
+     * @param capacity The maximum number of events buffered for each reporter. Must be positive.
+     * @param backpressure What to do when a reporter's buffer is full.
+     */
+    public AsyncCompositeReporter(List<Reporter> reporters, int capacity, Backpressure backpressure) {
+        Objects.requireNonNull(reporters, "Reporters must not be null");
+        Objects.requireNonNull(backpressure, "Backpressure must not be null");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.reporters = new ArrayList<>(reporters);
+        Set<ReporterEvent> events = EnumSet.noneOf(ReporterEvent.class);
+        reporters.forEach(r -> events.addAll(ReporterEvent.subscriptionsOf(r)));
+        this.subscribedEvents = Collections.unmodifiableSet(events);
+        this.capacity = capacity;
+        this.backpressure = backpressure;
+    }
+
+    /**
+     * Get the number of events that have been discarded because a reporter's buffer was full. Only events published
+     * with the {@link Backpressure#DROP} policy are ever discarded.
+     *
+     * @return The number of discarded events, counted once per reporter that missed the event.
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return subscribedEvents;
+    }
+
+    @Override
+    public void start(TestBlock rootBlock) {
+        publishWithoutDropping(startConsumers(), START, r -> r.start(rootBlock));
+    }
+
+    @Override
+    public void end() {
+        List<Consumer> running = stopConsumers();
+        publishWithoutDropping(running, END, Reporter::end);
+        running.forEach(c -> c.put(STOP));
+        Throwable error = null;
+        for (Consumer consumer : running) {
+            consumer.join();
+            if (error == null) {
+                error = consumer.error;
+            }
+        }
+        if (error != null) {
+            throw new CuppaException("A reporter failed whilst handling an event", error);
+        }
+    }
+
+    @Override
+    public void testBlockStart(TestBlock testBlock, List<TestBlock> parents) {
+        publishWithoutDropping(getConsumers(), TEST_BLOCK_START, r -> r.testBlockStart(testBlock, parents));
+    }
+
+    @Override
+    public void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
+        publishWithoutDropping(getConsumers(), TEST_BLOCK_END, r -> r.testBlockEnd(testBlock, parents));
+    }
+
+    @Override
+    public void blockHookStart(Hook hook, List<TestBlock> parents) {
+        publish(BLOCK_HOOK_START, hook, r -> r.blockHookStart(hook, parents));
+    }
+
+    @Override
+    public void blockHookPass(Hook hook, List<TestBlock> parents) {
+        publish(BLOCK_HOOK_PASS, hook, r -> r.blockHookPass(hook, parents));
+    }
+
+    @Override
+    public void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        publish(BLOCK_HOOK_FAIL, hook, r -> r.blockHookFail(hook, parents, cause));
+    }
+
+    @Override
+    public void testHookStart(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents) {
+        publish(TEST_HOOK_START, hook, r -> r.testHookStart(hook, hookParents, test, testParents));
+    }
+
+    @Override
+    public void testHookPass(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents) {
+        publish(TEST_HOOK_PASS, hook, r -> r.testHookPass(hook, hookParents, test, testParents));
+    }
+
+    @Override
+    public void testHookFail(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents,
+            Throwable cause) {
+        publish(TEST_HOOK_FAIL, hook, r -> r.testHookFail(hook, hookParents, test, testParents, cause));
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void hookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        publish(HOOK_FAIL, hook, r -> r.hookFail(hook, parents, cause));
+    }
+
+    @Override
+    public void testStart(Test test, List<TestBlock> parents) {
+        publish(TEST_START, test, r -> r.testStart(test, parents));
+    }
+
+    @Override
+    public void testEnd(Test test, List<TestBlock> parents) {
+        publish(TEST_END, test, r -> r.testEnd(test, parents));
+    }
+
+    @Override
+    public void testPass(Test test, List<TestBlock> parents) {
+        publish(TEST_PASS, test, r -> r.testPass(test, parents));
+    }
+
+    @Override
+    public void testFail(Test test, List<TestBlock> parents, Throwable cause) {
+        publish(TEST_FAIL, test, r -> r.testFail(test, parents, cause));
+    }
+
+    @Override
+    public void testPending(Test test, List<TestBlock> parents) {
+        publish(TEST_PENDING, test, r -> r.testPending(test, parents));
+    }
+
+    @Override
+    public void testSkip(Test test, List<TestBlock> parents) {
+        publish(TEST_SKIP, test, r -> r.testSkip(test, parents));
+    }
+
+    /**
+     * Publishes an event about a test or hook.
+     *
+     * @param type The type of event.
+     * @param unit The test or hook that the event is about, whose events are discarded together.
+     * @param event The event.
+     */
+    private void publish(ReporterEvent type, Object unit, Event event) {
+        if (!subscribedEvents.contains(type)) {
+            return;
+        }
+        if (backpressure == Backpressure.BLOCK) {
+            publishWithoutDropping(getConsumers(), type, event);
+            return;
+        }
+        for (Consumer consumer : getConsumers()) {
+            if (consumer.events.contains(type) && !consumer.offer(type, unit, event)) {
+                droppedEvents.incrementAndGet();
+            }
+        }
+    }
+
+    private static void publishWithoutDropping(List<Consumer> consumers, ReporterEvent type, Event event) {
+        for (Consumer consumer : consumers) {
+            if (consumer.events.contains(type)) {
+                consumer.put(event);
+            }
+        }
+    }
+
+    private synchronized List<Consumer> startConsumers() {
+        if (consumers == null) {
+            List<Consumer> started = new ArrayList<>(reporters.size());
+            for (int i = 0; i < reporters.size(); i++) {
+                Consumer consumer = new Consumer(reporters.get(i), capacity, i);
+                consumer.thread.start();
+                started.add(consumer);
+            }
+            consumers = started;
+        }
+        return consumers;
+    }
+
+    /**
+     * Get the consumers of the current run, without starting any.
+     *
+     * @return The running consumers, or an empty list if the reporter has not been started or has ended.
+     */
+    private synchronized List<Consumer> getConsumers() {
+        return (consumers != null) ? consumers : Collections.emptyList();
+    }
+
+    private synchronized List<Consumer> stopConsumers() {
+        List<Consumer> running = getConsumers();
+        consumers = null;
+        return running;
+    }
+
+    /**
+     * Controls what happens when an event is published and a reporter's buffer is full.
+     */
+    public enum Backpressure {
+        /**
+         * Wait until the reporter has made space in its buffer.
+         */
+        BLOCK,
+
+        /**
+         * Discard the event for that reporter and increment the dropped event count. Events are discarded together
+         * with the other events of the same test or hook.
+         */
+        DROP
+    }
+
+    @FunctionalInterface
+    private interface Event {
+        void dispatch(Reporter reporter);
+    }
+
+    private static final class Consumer implements Runnable {
+        private final Reporter reporter;
+        private final Set<ReporterEvent> events;
+        private final BlockingQueue<Event> buffer;
+        /**
+         * The tests and hooks whose start event was discarded, so that the rest of their events are discarded too.
+         */
+        private final Set<Object> droppedUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Thread thread;
+        private volatile Throwable error;
+
+        private Consumer(Reporter reporter, int capacity, int index) {
+            this.reporter = reporter;
+            this.events = ReporterEvent.subscriptionsOf(reporter);
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "cuppa-reporter-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Event event = take();
+                if (event == STOP) {
+                    return;
+                }
+                try {
+                    event.dispatch(reporter);
+                } catch (Throwable e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Publishes an event, discarding it if the buffer is full and no other event of its test or hook has been
+         * delivered.
+         *
+         * @return {@code false} if the event was discarded.
+         */
+        private boolean offer(ReporterEvent type, Object unit, Event event) {
+            synchronized (droppedUnits) {
+                if (type == TEST_START || type == BLOCK_HOOK_START || type == TEST_HOOK_START) {
+                    if (buffer.offer(event)) {
+                        droppedUnits.remove(unit);
+                        return true;
+                    }
+                    droppedUnits.add(unit);
+                    return false;
+                }
+                if (droppedUnits.contains(unit)) {
+                    if (type == TEST_END) {
+                        droppedUnits.remove(unit);
+                    }
+                    return false;
+                }
+                if (isStartDelivered(type)) {
+                    put(event);
+                    return true;
+                }
+                return buffer.offer(event);
+            }
+        }
+
+        /**
+         * Whether the start of the test or hook that an event is about has been delivered, given that it was not
+         * discarded.
+         */
+        private boolean isStartDelivered(ReporterEvent type) {
+            switch (type) {
+                case TEST_PASS:
+                case TEST_FAIL:
+                case TEST_END:
+                    return events.contains(TEST_START);
+                case BLOCK_HOOK_PASS:
+                case BLOCK_HOOK_FAIL:
+                    return events.contains(BLOCK_HOOK_START);
+                case TEST_HOOK_PASS:
+                case TEST_HOOK_FAIL:
+                    return events.contains(TEST_HOOK_START);
+                case HOOK_FAIL:
+                    return events.contains(BLOCK_HOOK_START) || events.contains(TEST_HOOK_START);
+                default:
+                    return false;
+            }
+        }
+
+        private Event take() {
+            while (true) {
+                try {
+                    return buffer.take();
+                } catch (InterruptedException ignored) {
+                    // Keep draining: end() relies on every event being consumed.
+                }
+            }
+        }
+
+        private void put(Event event) {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        buffer.put(event);
+                        return;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void join() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        thread.join();
+                        return;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -16,7 +16,12 @@
 
 package org.forgerock.cuppa.reporters;
 
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import org.forgerock.cuppa.model.Hook;
 import org.forgerock.cuppa.model.Test;
@@ -24,9 +29,14 @@ import org.forgerock.cuppa.model.TestBlock;
 
 /**
  * A reporter that delegates to list of other reporters.
+ *
+ * <p>The reporters that handle each event are worked out once, on construction, using
+ * {@link ReporterEvent#subscriptionsOf(Reporter)}. Events are then dispatched only to the reporters that subscribe to
+ * them, in the order the reporters were given.</p>
  */
-public final class CompositeReporter implements Reporter {
-    private final List<Reporter> reporters;
+public final class CompositeReporter implements SelectiveReporter {
+    private final Reporter[][] dispatch = new Reporter[ReporterEvent.values().length][];
+    private final Set<ReporterEvent> subscribedEvents;
 
     /**
      * Constructs a new composite reporter.
@@ -34,92 +44,142 @@ public final class CompositeReporter implements Reporter {
      * @param reporters The reporters to delegate calls to.
      */
     public CompositeReporter(List<Reporter> reporters) {
-        this.reporters = reporters;
+        Set<ReporterEvent> events = EnumSet.noneOf(ReporterEvent.class);
+        for (ReporterEvent event : ReporterEvent.values()) {
+            Reporter[] subscribers = reporters.stream()
+                    .filter(r -> ReporterEvent.subscriptionsOf(r).contains(event))
+                    .toArray(Reporter[]::new);
+            dispatch[event.ordinal()] = subscribers;
+            if (subscribers.length > 0) {
+                events.add(event);
+            }
+        }
+        this.subscribedEvents = Collections.unmodifiableSet(events);
+    }
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return subscribedEvents;
     }
 
     @Override
     public void start(TestBlock rootBlock) {
-        reporters.forEach(r -> r.start(rootBlock));
+        for (Reporter reporter : dispatch[START.ordinal()]) {
+            reporter.start(rootBlock);
+        }
     }
 
     @Override
     public void end() {
-        reporters.forEach(Reporter::end);
+        for (Reporter reporter : dispatch[END.ordinal()]) {
+            reporter.end();
+        }
     }
 
     @Override
     public void testBlockStart(TestBlock testBlock, List<TestBlock> parents) {
-        reporters.forEach(r -> r.testBlockStart(testBlock, parents));
+        for (Reporter reporter : dispatch[TEST_BLOCK_START.ordinal()]) {
+            reporter.testBlockStart(testBlock, parents);
+        }
     }
 
     @Override
     public void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
-        reporters.forEach(r -> r.testBlockEnd(testBlock, parents));
+        for (Reporter reporter : dispatch[TEST_BLOCK_END.ordinal()]) {
+            reporter.testBlockEnd(testBlock, parents);
+        }
     }
 
     @Override
     public void blockHookStart(Hook hook, List<TestBlock> parents) {
-        reporters.forEach(r -> r.blockHookStart(hook, parents));
+        for (Reporter reporter : dispatch[BLOCK_HOOK_START.ordinal()]) {
+            reporter.blockHookStart(hook, parents);
+        }
     }
 
     @Override
     public void blockHookPass(Hook hook, List<TestBlock> parents) {
-        reporters.forEach(r -> r.blockHookPass(hook, parents));
+        for (Reporter reporter : dispatch[BLOCK_HOOK_PASS.ordinal()]) {
+            reporter.blockHookPass(hook, parents);
+        }
     }
 
     @Override
     public void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
-        reporters.forEach(r -> r.blockHookFail(hook, parents, cause));
+        for (Reporter reporter : dispatch[BLOCK_HOOK_FAIL.ordinal()]) {
+            reporter.blockHookFail(hook, parents, cause);
+        }
     }
 
     @Override
     public void testHookStart(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents) {
-        reporters.forEach(r -> r.testHookStart(hook, hookParents, test, testParents));
+        for (Reporter reporter : dispatch[TEST_HOOK_START.ordinal()]) {
+            reporter.testHookStart(hook, hookParents, test, testParents);
+        }
     }
 
     @Override
     public void testHookPass(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents) {
-        reporters.forEach(r -> r.testHookPass(hook, hookParents, test, testParents));
+        for (Reporter reporter : dispatch[TEST_HOOK_PASS.ordinal()]) {
+            reporter.testHookPass(hook, hookParents, test, testParents);
+        }
     }
 
     @Override
     public void testHookFail(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents,
             Throwable cause) {
-        reporters.forEach(r -> r.testHookFail(hook, hookParents, test, testParents, cause));
+        for (Reporter reporter : dispatch[TEST_HOOK_FAIL.ordinal()]) {
+            reporter.testHookFail(hook, hookParents, test, testParents, cause);
+        }
     }
 
     @Override
+    @SuppressWarnings("deprecation")
     public void hookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
-        reporters.forEach(r -> r.hookFail(hook, parents, cause));
+        for (Reporter reporter : dispatch[HOOK_FAIL.ordinal()]) {
+            reporter.hookFail(hook, parents, cause);
+        }
     }
 
     @Override
     public void testStart(Test test, List<TestBlock> parents) {
-        reporters.forEach(r -> r.testStart(test, parents));
+        for (Reporter reporter : dispatch[TEST_START.ordinal()]) {
+            reporter.testStart(test, parents);
+        }
     }
 
     @Override
     public void testEnd(Test test, List<TestBlock> parents) {
-        reporters.forEach(r -> r.testEnd(test, parents));
+        for (Reporter reporter : dispatch[TEST_END.ordinal()]) {
+            reporter.testEnd(test, parents);
+        }
     }
 
     @Override
     public void testPass(Test test, List<TestBlock> parents) {
-        reporters.forEach(r -> r.testPass(test, parents));
+        for (Reporter reporter : dispatch[TEST_PASS.ordinal()]) {
+            reporter.testPass(test, parents);
+        }
     }
 
     @Override
     public void testFail(Test test, List<TestBlock> parents, Throwable cause) {
-        reporters.forEach(r -> r.testFail(test, parents, cause));
+        for (Reporter reporter : dispatch[TEST_FAIL.ordinal()]) {
+            reporter.testFail(test, parents, cause);
+        }
     }
 
     @Override
     public void testPending(Test test, List<TestBlock> parents) {
-        reporters.forEach(r -> r.testPending(test, parents));
+        for (Reporter reporter : dispatch[TEST_PENDING.ordinal()]) {
+            reporter.testPending(test, parents);
+        }
     }
 
     @Override
     public void testSkip(Test test, List<TestBlock> parents) {
-        reporters.forEach(r -> r.testSkip(test, parents));
+        for (Reporter reporter : dispatch[TEST_SKIP.ordinal()]) {
+            reporter.testSkip(test, parents);
+        }
     }
 }
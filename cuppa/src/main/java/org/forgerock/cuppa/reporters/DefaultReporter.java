@@ -16,14 +16,22 @@
 
 package org.forgerock.cuppa.reporters;
 
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.io.BufferedOutputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
 
 import org.forgerock.cuppa.ReporterSupport;
 import org.forgerock.cuppa.model.Hook;
@@ -32,11 +40,33 @@ import org.forgerock.cuppa.model.TestBlock;
 
 /**
  * An RSpec-like reporter.
+ *
+ * <p>Output is buffered and each test block's output is collected separately, then written in the order the blocks
+ * were started. This keeps the output readable if blocks are run concurrently. Whatever can be written in order is
+ * written and flushed whenever a block starts or completes and whenever a test or hook reports its result, so progress
+ * is visible during long blocks and the reporter's lines stay in order with anything tests print themselves.</p>
+ *
+ * <p>The reporter can optionally list the slowest tests, hooks and test blocks at the end of the run, with the time
+ * each took and its share of the whole run, followed by a histogram of test durations. To list them once for several
+ * runs instead, add a {@link SlowestTestsReporter} to each run and print its summary once they have all ended.</p>
  */
-public final class DefaultReporter implements Reporter {
+public final class DefaultReporter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            START, END, TEST_BLOCK_START, TEST_BLOCK_END, TEST_HOOK_FAIL, BLOCK_HOOK_FAIL, TEST_PASS, TEST_FAIL,
+            TEST_PENDING, TEST_SKIP));
+    private static final Set<ReporterEvent> TIMED_SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            START, END, TEST_BLOCK_START, TEST_BLOCK_END, BLOCK_HOOK_START, BLOCK_HOOK_PASS, BLOCK_HOOK_FAIL,
+            TEST_HOOK_START, TEST_HOOK_PASS, TEST_HOOK_FAIL, TEST_START, TEST_END, TEST_PASS, TEST_FAIL, TEST_PENDING,
+            TEST_SKIP));
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
     private final PrintStream stream;
     private final List<TestFailure> failures = new ArrayList<>();
-    private int depth;
+    private final List<String> indents = new ArrayList<>(Collections.singletonList(""));
+    private final Map<TestBlock, BlockOutput> blockOutputs = new IdentityHashMap<>();
+    private final int slowestCount;
+    private SlowestTestsReporter slowestTests;
+    private BlockOutput output = new BlockOutput();
     private int passed;
     private int failed;
     private int pending;
@@ -55,11 +85,27 @@ public final class DefaultReporter implements Reporter {
      * @param stream A stream to write to.
      */
     public DefaultReporter(OutputStream stream) {
+        this(stream, 0);
+    }
+
+    /**
+     * Constructs a reporter that writes to the specified stream, using the JVM's default charset, and lists the
+     * slowest tests, hooks and test blocks at the end of the run.
+     *
+     * @param stream A stream to write to.
+     * @param slowestCount The number of slowest tests, hooks and test blocks to list. If zero, durations are neither
+     *     recorded nor listed.
+     */
+    public DefaultReporter(OutputStream stream, int slowestCount) {
+        if (slowestCount < 0) {
+            throw new IllegalArgumentException("Slowest count must not be negative");
+        }
         try {
-            this.stream = new PrintStream(stream, false, Charset.defaultCharset().toString());
+            this.stream = new PrintStream(new BufferedOutputStream(stream), false, Charset.defaultCharset().toString());
         } catch (UnsupportedEncodingException e) {
             throw new RuntimeException("The JVM default charset is not supported!");
         }
+        this.slowestCount = slowestCount;
     }
 
     /**
@@ -70,16 +116,28 @@ public final class DefaultReporter implements Reporter {
      * @throws UnsupportedEncodingException If the charset is not supported by the JVM.
      */
     public DefaultReporter(OutputStream stream, Charset charset) throws UnsupportedEncodingException {
-        this.stream = new PrintStream(stream, false, charset.toString());
+        this.stream = new PrintStream(new BufferedOutputStream(stream), false, charset.toString());
+        this.slowestCount = 0;
     }
 
     @Override
-    public void start(TestBlock rootBlock) {
-        stream.println();
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return (slowestCount > 0) ? TIMED_SUBSCRIBED_EVENTS : SUBSCRIBED_EVENTS;
     }
 
     @Override
-    public void end() {
+    public synchronized void start(TestBlock rootBlock) {
+        output = new BlockOutput();
+        output.println("");
+        if (slowestCount > 0) {
+            slowestTests = new SlowestTestsReporter(slowestCount);
+            slowestTests.start(rootBlock);
+        }
+    }
+
+    @Override
+    public synchronized void end() {
+        write(output, true);
         stream.println();
         stream.println();
         stream.println("  " + passed + " passing");
@@ -99,59 +157,200 @@ public final class DefaultReporter implements Reporter {
                 failure.cause.printStackTrace(stream);
             }
         }
+        if (slowestTests != null) {
+            slowestTests.printSummary(stream);
+        }
+        stream.flush();
     }
 
     @Override
-    public void testBlockStart(TestBlock testBlock, List<TestBlock> parents) {
-        stream.println(getIndent() + ReporterSupport.getDescription(testBlock));
-        depth++;
+    public synchronized void testBlockStart(TestBlock testBlock, List<TestBlock> parents) {
+        BlockOutput blockOutput = outputOf(parents).startChild();
+        blockOutputs.put(testBlock, blockOutput);
+        blockOutput.println(getIndent(parents.size()) + ReporterSupport.getDescription(testBlock));
+        flush();
+        if (slowestTests != null) {
+            slowestTests.testBlockStart(testBlock, parents);
+        }
     }
 
     @Override
-    public void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
-        depth--;
+    public synchronized void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
+        BlockOutput blockOutput = blockOutputs.remove(testBlock);
+        if (blockOutput != null) {
+            blockOutput.complete = true;
+        }
+        flush();
+        if (slowestTests != null) {
+            slowestTests.testBlockEnd(testBlock, parents);
+        }
     }
 
     @Override
-    public void testHookFail(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents,
-            Throwable cause) {
-        blockHookFail(hook, hookParents, cause);
+    public synchronized void blockHookStart(Hook hook, List<TestBlock> parents) {
+        if (slowestTests != null) {
+            slowestTests.blockHookStart(hook, parents);
+        }
     }
 
     @Override
-    public void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
-        failed++;
-        failures.add(new TestFailure(ReporterSupport.getFullDescription(hook, parents), cause));
-        stream.println(getIndent() + failures.size() + ") " + ReporterSupport.getDescription(hook));
+    public synchronized void blockHookPass(Hook hook, List<TestBlock> parents) {
+        if (slowestTests != null) {
+            slowestTests.blockHookPass(hook, parents);
+        }
+    }
+
+    @Override
+    public synchronized void testHookStart(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents) {
+        if (slowestTests != null) {
+            slowestTests.testHookStart(hook, hookParents, test, testParents);
+        }
+    }
+
+    @Override
+    public synchronized void testHookPass(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents) {
+        if (slowestTests != null) {
+            slowestTests.testHookPass(hook, hookParents, test, testParents);
+        }
+    }
+
+    @Override
+    public synchronized void testHookFail(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents, Throwable cause) {
+        if (slowestTests != null) {
+            slowestTests.testHookFail(hook, hookParents, test, testParents, cause);
+        }
+        hookFail(hook, hookParents, testParents, cause);
+    }
+
+    @Override
+    public synchronized void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        if (slowestTests != null) {
+            slowestTests.blockHookFail(hook, parents, cause);
+        }
+        hookFail(hook, parents, parents, cause);
+    }
+
+    @Override
+    public synchronized void testStart(Test test, List<TestBlock> parents) {
+        if (slowestTests != null) {
+            slowestTests.testStart(test, parents);
+        }
+    }
+
+    @Override
+    public synchronized void testEnd(Test test, List<TestBlock> parents) {
+        if (slowestTests != null) {
+            slowestTests.testEnd(test, parents);
+        }
     }
 
     @Override
-    public void testPass(Test test, List<TestBlock> parents) {
+    public synchronized void testPass(Test test, List<TestBlock> parents) {
         passed++;
-        stream.println(getIndent() + "✓ " + test.description);
+        println(parents, "✓ " + test.description);
     }
 
     @Override
-    public void testFail(Test test, List<TestBlock> parents, Throwable cause) {
+    public synchronized void testFail(Test test, List<TestBlock> parents, Throwable cause) {
         failed++;
         failures.add(new TestFailure(ReporterSupport.getFullDescription(test, parents), cause));
-        stream.println(getIndent() + failures.size() + ") " + test.description);
+        println(parents, failures.size() + ") " + test.description);
     }
 
     @Override
-    public void testPending(Test test, List<TestBlock> parents) {
+    public synchronized void testPending(Test test, List<TestBlock> parents) {
         pending++;
-        stream.println(getIndent() + "- " + test.description);
+        println(parents, "- " + test.description);
     }
 
     @Override
-    public void testSkip(Test test, List<TestBlock> parents) {
+    public synchronized void testSkip(Test test, List<TestBlock> parents) {
         skipped++;
-        stream.println(getIndent() + "- " + test.description);
+        println(parents, "- " + test.description);
     }
 
-    private String getIndent() {
-        return Stream.generate(() -> "  ").limit(depth).collect(Collectors.joining());
+    private void hookFail(Hook hook, List<TestBlock> hookParents, List<TestBlock> outputParents, Throwable cause) {
+        failed++;
+        failures.add(new TestFailure(ReporterSupport.getFullDescription(hook, hookParents), cause));
+        println(outputParents, failures.size() + ") " + ReporterSupport.getDescription(hook));
+    }
+
+    private void println(List<TestBlock> parents, String line) {
+        outputOf(parents).println(getIndent(parents.size()) + line);
+        flush();
+    }
+
+    private void flush() {
+        write(output, false);
+        stream.flush();
+    }
+
+    private BlockOutput outputOf(List<TestBlock> parents) {
+        if (parents.isEmpty()) {
+            return output;
+        }
+        BlockOutput blockOutput = blockOutputs.get(parents.get(parents.size() - 1));
+        return (blockOutput != null) ? blockOutput : output;
+    }
+
+    private String getIndent(int depth) {
+        while (indents.size() <= depth) {
+            indents.add(indents.get(indents.size() - 1) + "  ");
+        }
+        return indents.get(depth);
+    }
+
+    /**
+     * Writes as much of the given block's output as possible to the stream, in order. Output of a nested block is only
+     * written once all the output before it has been written, and output after a nested block is only written once the
+     * nested block has completed.
+     *
+     * @param blockOutput The output to write.
+     * @param force Whether to write everything, even if nested blocks have not completed.
+     * @return Whether the block has completed and all of its output has been written.
+     */
+    private boolean write(BlockOutput blockOutput, boolean force) {
+        while (!blockOutput.segments.isEmpty()) {
+            Object segment = blockOutput.segments.peekFirst();
+            if (segment instanceof BlockOutput) {
+                if (!write((BlockOutput) segment, force) && !force) {
+                    return false;
+                }
+            } else {
+                stream.print(segment);
+            }
+            blockOutput.segments.removeFirst();
+        }
+        return blockOutput.complete;
+    }
+
+    /**
+     * The buffered output of a single test block: lines of text interleaved with the output of nested blocks.
+     */
+    private static final class BlockOutput {
+        private final Deque<Object> segments = new ArrayDeque<>();
+        private boolean complete;
+
+        private void println(String line) {
+            Object last = segments.peekLast();
+            StringBuilder text;
+            if (last instanceof StringBuilder) {
+                text = (StringBuilder) last;
+            } else {
+                text = new StringBuilder();
+                segments.addLast(text);
+            }
+            text.append(line).append(LINE_SEPARATOR);
+        }
+
+        private BlockOutput startChild() {
+            BlockOutput child = new BlockOutput();
+            segments.addLast(child);
+            return child;
+        }
     }
 
     private static final class TestFailure {
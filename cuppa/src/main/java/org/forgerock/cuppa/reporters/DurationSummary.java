@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long tests, hooks and test blocks take, and prints the slowest of each along with a histogram of test
+ * durations.
+ *
+ * <p>Only a {@link ReporterClock#nanoTime()} timestamp is taken when something starts or ends; descriptions are only
+ * needed when something ends, and sorting is left until the summary is printed. The time taken by a "before each" or
+ * "after each" hook is the total for all the tests it was run for.</p>
+ */
+final class DurationSummary {
+    /**
+     * The upper bounds, in milliseconds, of all but the last bucket of the histogram of test durations.
+     */
+    private static final long[] HISTOGRAM_BOUNDS = {1, 10, 100, 1000, 10000};
+    private static final double PERCENT = 100.0;
+
+    private final int count;
+    private final Map<Object, Long> startTimes = new IdentityHashMap<>();
+    private final List<Duration> tests = new ArrayList<>();
+    private final Map<String, Duration> hooks = new HashMap<>();
+    private final List<Duration> testBlocks = new ArrayList<>();
+    private long runStartTime;
+
+    /**
+     * Constructs a new summary.
+     *
+     * @param count The number of slowest tests, hooks and test blocks to print.
+     */
+    DurationSummary(int count) {
+        this.count = count;
+    }
+
+    /**
+     * Records the start of the run, and discards anything recorded for a previous run.
+     */
+    void runStarted() {
+        startTimes.clear();
+        tests.clear();
+        hooks.clear();
+        testBlocks.clear();
+        runStartTime = ReporterClock.nanoTime();
+    }
+
+    /**
+     * Records the start of a test, hook or test block. Hooks run for a test are keyed by the test, as a "before each"
+     * hook may be run for several tests at once; a test's hooks and the test itself never overlap.
+     *
+     * @param key The test, hook or test block.
+     */
+    void started(Object key) {
+        startTimes.put(key, ReporterClock.nanoTime());
+    }
+
+    /**
+     * Records the end of a test.
+     *
+     * @param key The key that was given when the test started.
+     * @param description The full description of the test.
+     */
+    void testEnded(Object key, String description) {
+        Long startTime = startTimes.remove(key);
+        if (startTime != null) {
+            tests.add(new Duration(description, ReporterClock.nanoTime() - startTime));
+        }
+    }
+
+    /**
+     * Records the end of a hook.
+     *
+     * @param key The key that was given when the hook started.
+     * @param description The full description of the hook.
+     */
+    void hookEnded(Object key, String description) {
+        Long startTime = startTimes.remove(key);
+        if (startTime != null) {
+            hooks.computeIfAbsent(description, d -> new Duration(d, 0)).nanos += ReporterClock.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * Records the end of a test block.
+     *
+     * @param key The key that was given when the test block started.
+     * @param description The full description of the test block.
+     */
+    void testBlockEnded(Object key, String description) {
+        Long startTime = startTimes.remove(key);
+        if (startTime != null) {
+            testBlocks.add(new Duration(description, ReporterClock.nanoTime() - startTime));
+        }
+    }
+
+    /**
+     * Prints the summary.
+     *
+     * @param stream The stream to print to.
+     */
+    void print(PrintStream stream) {
+        long totalNanos = Math.max(ReporterClock.nanoTime() - runStartTime, 1);
+        printSlowest(stream, "Slowest tests:", tests, totalNanos);
+        printSlowest(stream, "Slowest hooks:", new ArrayList<>(hooks.values()), totalNanos);
+        printSlowest(stream, "Slowest test blocks:", testBlocks, totalNanos);
+        if (tests.isEmpty()) {
+            return;
+        }
+        long[] bucketCounts = new long[HISTOGRAM_BOUNDS.length + 1];
+        for (Duration test : tests) {
+            int bucket = 0;
+            while (bucket < HISTOGRAM_BOUNDS.length && test.getMillis() >= HISTOGRAM_BOUNDS[bucket]) {
+                bucket++;
+            }
+            bucketCounts[bucket]++;
+        }
+        stream.println();
+        stream.println("  Test durations:");
+        for (int i = 0; i < bucketCounts.length; i++) {
+            String bucket = (i < HISTOGRAM_BOUNDS.length) ? "< " + HISTOGRAM_BOUNDS[i] + "ms"
+                    : ">= " + HISTOGRAM_BOUNDS[HISTOGRAM_BOUNDS.length - 1] + "ms";
+            stream.println(String.format(Locale.ROOT, "    %-10s %d", bucket, bucketCounts[i]));
+        }
+    }
+
+    private void printSlowest(PrintStream stream, String title, List<Duration> durations, long totalNanos) {
+        if (durations.isEmpty()) {
+            return;
+        }
+        durations.sort(Comparator.comparingLong((Duration d) -> d.nanos).reversed());
+        stream.println();
+        stream.println("  " + title);
+        for (Duration duration : durations.subList(0, Math.min(count, durations.size()))) {
+            stream.println(String.format(Locale.ROOT, "    %7dms %5.1f%%  %s", duration.getMillis(),
+                    PERCENT * duration.nanos / totalNanos, duration.description));
+        }
+    }
+
+    private static final class Duration {
+        private final String description;
+        private long nanos;
+
+        private Duration(String description, long nanos) {
+            this.description = description;
+            this.nanos = nanos;
+        }
+
+        private long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+}
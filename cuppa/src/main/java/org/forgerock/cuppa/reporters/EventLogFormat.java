@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+/**
+ * Constants describing the binary event log written by {@link EventLogReporter} and read by
+ * {@link EventLogReplayer}.
+ *
+ * <p>A log starts with a header: the {@link #MAGIC} number, the format {@link #VERSION} and the wall clock time at
+ * which the log was created, in milliseconds since the epoch. It is followed by a sequence of records. Each record is
+ * an {@code int} length, counting the bytes that follow it, then a {@code byte} record type, then a {@code long}
+ * timestamp in nanoseconds since the log was created, then the record's payload.</p>
+ *
+ * <p>Record types below {@link #STRING} are the ordinals of the {@link ReporterEvent}s they record. Strings, test
+ * blocks, tests and hooks are each defined by a record of their own the first time they are used, and are referred to
+ * by their index thereafter. Strings, and test blocks, tests and hooks, are indexed separately, in the order they were
+ * defined. A test block is always defined after all of its children.</p>
+ *
+ * <p>A throwable is recorded along with its kind, {@link #ASSERTION_ERROR} or {@link #THROWABLE}, so that replayed
+ * assertion errors are still reported as test failures rather than errors.</p>
+ */
+final class EventLogFormat {
+    static final int MAGIC = 0x43555050;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 13;
+
+    static final byte STRING = 64;
+    static final byte TEST_BLOCK = 65;
+    static final byte TEST = 66;
+    static final byte HOOK = 67;
+
+    static final byte THROWABLE = 0;
+    static final byte ASSERTION_ERROR = 1;
+
+    static final int NONE = -1;
+    static final int MAX_CAUSE_DEPTH = 32;
+
+    private EventLogFormat() {
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.forgerock.cuppa.reporters.EventLogFormat.*;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.forgerock.cuppa.CuppaException;
+import org.forgerock.cuppa.functions.HookFunction;
+import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.Behaviour;
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.HookBuilder;
+import org.forgerock.cuppa.model.HookType;
+import org.forgerock.cuppa.model.Options;
+import org.forgerock.cuppa.model.TagsOption;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.model.TestBlockBuilder;
+import org.forgerock.cuppa.model.TestBlockType;
+import org.forgerock.cuppa.model.TestBuilder;
+
+/**
+ * Reads the events from a log written by {@link EventLogReporter}, rebuilding the test model as it goes.
+ */
+final class EventLogReader implements AutoCloseable {
+    private static final ReporterEvent[] EVENTS = ReporterEvent.values();
+    private static final TestBlockType[] TEST_BLOCK_TYPES = TestBlockType.values();
+    private static final Behaviour[] BEHAVIOURS = Behaviour.values();
+    private static final HookType[] HOOK_TYPES = HookType.values();
+
+    private final Path file;
+    private final ClassLoader classLoader;
+    private final DataInputStream in;
+    private final long startTime;
+    private final List<String> strings = new ArrayList<>();
+    private final List<Object> definitions = new ArrayList<>();
+    private final Map<String, Class<?>> classes = new HashMap<>();
+
+    EventLogReader(Path file, ClassLoader classLoader) {
+        this.file = file;
+        this.classLoader = classLoader;
+        try {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        } catch (IOException e) {
+            throw new CuppaException("Failed to read event log " + file, e);
+        }
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new CuppaException(file + " is not a Cuppa event log");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new CuppaException("Unsupported event log version " + version + " in " + file);
+            }
+            this.startTime = in.readLong();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw (e instanceof CuppaException) ? (CuppaException) e
+                    : new CuppaException("Failed to read event log " + file, e);
+        }
+    }
+
+    /**
+     * Get the wall clock time at which the log was created.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Reads up to and including the next event record.
+     *
+     * @return The event, or null if there are no more complete events in the log.
+     */
+    Event next() {
+        try {
+            while (true) {
+                int length = in.readInt();
+                byte type = in.readByte();
+                long timestamp = in.readLong();
+                if (type >= 0 && type < EVENTS.length) {
+                    Event event = readEvent(EVENTS[type]);
+                    event.time = TimeUnit.MILLISECONDS.toNanos(startTime) + timestamp;
+                    return event;
+                }
+                if (!readDefinition(type)) {
+                    in.readFully(new byte[length - RECORD_HEADER_SIZE + Integer.BYTES]);
+                }
+            }
+        } catch (EOFException e) {
+            return null;
+        } catch (IOException e) {
+            throw new CuppaException("Failed to read event log " + file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new CuppaException("Failed to close event log " + file, e);
+        }
+    }
+
+    private boolean readDefinition(byte type) throws IOException {
+        switch (type) {
+            case STRING:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                strings.add(new String(bytes, UTF_8));
+                return true;
+            case TEST_BLOCK:
+                definitions.add(readTestBlock());
+                return true;
+            case TEST:
+                definitions.add(readTest());
+                return true;
+            case HOOK:
+                definitions.add(readHook());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private TestBlock readTestBlock() throws IOException {
+        TestBlockBuilder builder = new TestBlockBuilder()
+                .setType(TEST_BLOCK_TYPES[in.readByte()])
+                .setBehaviour(BEHAVIOURS[in.readByte()])
+                .setTestClass(readClass())
+                .setDescription(readString())
+                .setOptions(readTags());
+        builder.setTestBlocks(readDefinitions(TestBlock.class));
+        builder.setHooks(readDefinitions(Hook.class));
+        builder.setTests(readDefinitions(Test.class));
+        return builder.build();
+    }
+
+    private Test readTest() throws IOException {
+        return new TestBuilder()
+                .setBehaviour(BEHAVIOURS[in.readByte()])
+                .setTestClass(readClass())
+                .setDescription(readString())
+                .setFunction(in.readBoolean() ? Optional.of(TestFunction.identity()) : Optional.empty())
+                .setOptions(readTags())
+                .build();
+    }
+
+    private Hook readHook() throws IOException {
+        return new HookBuilder()
+                .setType(HOOK_TYPES[in.readByte()])
+                .setTestClass(readClass())
+                .setDescription(Optional.ofNullable(readOptionalString()))
+                .setFunction(HookFunction.identity())
+                .build();
+    }
+
+    private Event readEvent(ReporterEvent type) throws IOException {
+        if (type == ReporterEvent.START) {
+            TestBlock rootBlock = (TestBlock) definitions.get(in.readInt());
+            return new Event(type, rootBlock, r -> r.start(rootBlock));
+        }
+        if (type == ReporterEvent.END) {
+            return new Event(type, null, Reporter::end);
+        }
+        Object subject = definitions.get(in.readInt());
+        List<TestBlock> parents = readDefinitions(TestBlock.class);
+        if (subject instanceof TestBlock) {
+            TestBlock testBlock = (TestBlock) subject;
+            return new Event(type, null, (type == ReporterEvent.TEST_BLOCK_START)
+                    ? r -> r.testBlockStart(testBlock, parents)
+                    : r -> r.testBlockEnd(testBlock, parents));
+        }
+        if (subject instanceof Test) {
+            return new Event(type, null, readTestEvent(type, (Test) subject, parents));
+        }
+        return new Event(type, null, readHookEvent(type, (Hook) subject, parents));
+    }
+
+    private Consumer<Reporter> readTestEvent(ReporterEvent type, Test test, List<TestBlock> parents)
+            throws IOException {
+        switch (type) {
+            case TEST_START:
+                return r -> r.testStart(test, parents);
+            case TEST_END:
+                return r -> r.testEnd(test, parents);
+            case TEST_PASS:
+                return r -> r.testPass(test, parents);
+            case TEST_FAIL:
+                Throwable cause = readThrowable();
+                return r -> r.testFail(test, parents, cause);
+            case TEST_PENDING:
+                return r -> r.testPending(test, parents);
+            default:
+                return r -> r.testSkip(test, parents);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private Consumer<Reporter> readHookEvent(ReporterEvent type, Hook hook, List<TestBlock> parents)
+            throws IOException {
+        switch (type) {
+            case BLOCK_HOOK_START:
+                return r -> r.blockHookStart(hook, parents);
+            case BLOCK_HOOK_PASS:
+                return r -> r.blockHookPass(hook, parents);
+            case BLOCK_HOOK_FAIL:
+                Throwable blockCause = readThrowable();
+                return r -> r.blockHookFail(hook, parents, blockCause);
+            case HOOK_FAIL:
+                Throwable cause = readThrowable();
+                return r -> r.hookFail(hook, parents, cause);
+            default:
+                Test test = (Test) definitions.get(in.readInt());
+                List<TestBlock> testParents = readDefinitions(TestBlock.class);
+                if (type == ReporterEvent.TEST_HOOK_START) {
+                    return r -> r.testHookStart(hook, parents, test, testParents);
+                }
+                if (type == ReporterEvent.TEST_HOOK_PASS) {
+                    return r -> r.testHookPass(hook, parents, test, testParents);
+                }
+                Throwable testCause = readThrowable();
+                return r -> r.testHookFail(hook, parents, test, testParents, testCause);
+        }
+    }
+
+    private Throwable readThrowable() throws IOException {
+        Throwable first = null;
+        Throwable last = null;
+        while (in.readBoolean()) {
+            String className = readString();
+            byte kind = in.readByte();
+            String message = readOptionalString();
+            Throwable throwable = (kind == ASSERTION_ERROR)
+                    ? new ReplayedAssertionError(className, message)
+                    : new ReplayedThrowable(className, message);
+            StackTraceElement[] stackTrace = new StackTraceElement[in.readInt()];
+            for (int i = 0; i < stackTrace.length; i++) {
+                stackTrace[i] = new StackTraceElement(readString(), readString(), readOptionalString(), in.readInt());
+            }
+            throwable.setStackTrace(stackTrace);
+            if (last == null) {
+                first = throwable;
+            } else {
+                last.initCause(throwable);
+            }
+            last = throwable;
+        }
+        return first;
+    }
+
+    private <T> List<T> readDefinitions(Class<T> definitionClass) throws IOException {
+        int size = in.readInt();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(definitionClass.cast(definitions.get(in.readInt())));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private Options readTags() throws IOException {
+        int size = in.readInt();
+        if (size == 0) {
+            return Options.EMPTY;
+        }
+        Set<String> tags = new HashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            tags.add(readString());
+        }
+        return Options.EMPTY.set(new TagsOption(tags));
+    }
+
+    private Class<?> readClass() throws IOException {
+        String name = readString();
+        Class<?> testClass = classes.get(name);
+        if (testClass == null) {
+            try {
+                testClass = Class.forName(name, false, classLoader);
+            } catch (ClassNotFoundException e) {
+                throw new CuppaException("Cannot replay event log " + file + ": test class " + name
+                        + " cannot be loaded", e);
+            }
+            classes.put(name, testClass);
+        }
+        return testClass;
+    }
+
+    private String readString() throws IOException {
+        return strings.get(in.readInt());
+    }
+
+    private String readOptionalString() throws IOException {
+        int id = in.readInt();
+        return (id == NONE) ? null : strings.get(id);
+    }
+
+    /**
+     * An event read from the log, which can be replayed to a reporter.
+     */
+    static final class Event {
+        final ReporterEvent type;
+        final TestBlock rootBlock;
+        /**
+         * The time at which the event was recorded, in nanoseconds since the epoch.
+         */
+        long time;
+        private final Consumer<Reporter> dispatch;
+
+        private Event(ReporterEvent type, TestBlock rootBlock, Consumer<Reporter> dispatch) {
+            this.type = type;
+            this.rootBlock = rootBlock;
+            this.dispatch = dispatch;
+        }
+
+        /**
+         * Replays the event to a reporter, with the {@link ReporterClock} set to the time the event was recorded.
+         *
+         * @param reporter The reporter.
+         */
+        void replay(Reporter reporter) {
+            ReporterClock.setReplayedTime(time);
+            try {
+                dispatch.accept(reporter);
+            } finally {
+                ReporterClock.clearReplayedTime();
+            }
+        }
+    }
+}
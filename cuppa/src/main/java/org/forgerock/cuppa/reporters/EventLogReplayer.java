@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static java.util.Comparator.comparingLong;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * Replays event logs written by {@link EventLogReporter} to any {@link Reporter}, so that reports can be produced after
+ * a test run has finished.
+ *
+ * <p>The classes of the recorded tests must be loadable by the thread's context class loader, as the test model
+ * refers to them. Replayed tests and hooks have no-op functions and only their tags as options. Replayed assertion
+ * errors are {@link ReplayedAssertionError}s and other exceptions are {@link ReplayedThrowable}s, so failures and
+ * errors are told apart as they were in the original run. A truncated log, for example from a run that crashed, is
+ * replayed up to its last complete record.</p>
+ *
+ * <p>While an event is replayed, {@link ReporterClock} reports the time at which it was recorded, so reporters that
+ * take their timestamps from it report the durations of the original run.</p>
+ */
+public final class EventLogReplayer {
+
+    private EventLogReplayer() {
+    }
+
+    /**
+     * Replays every event in the given log to a reporter, in the order they were recorded.
+     *
+     * @param log The event log.
+     * @param reporter The reporter to replay the events to.
+     */
+    public static void replay(Path log, Reporter reporter) {
+        try (EventLogReader reader = new EventLogReader(log, getClassLoader())) {
+            for (EventLogReader.Event event = reader.next(); event != null; event = reader.next()) {
+                event.replay(reporter);
+            }
+        }
+    }
+
+    /**
+     * Replays several event logs to a reporter as if they were a single run, for example to combine the results of
+     * separate forks or shards of a test suite. Each log is expected to hold a single run.
+     *
+     * <p>The reporter is started once, with a root test block containing the top-level test blocks of every log. The
+     * events of each log are then replayed in turn, in the order that the logs were created, and finally the reporter
+     * is ended once.</p>
+     *
+     * @param logs The event logs.
+     * @param reporter The reporter to replay the events to.
+     */
+    public static void replay(List<Path> logs, Reporter reporter) {
+        if (logs.size() == 1) {
+            replay(logs.get(0), reporter);
+            return;
+        }
+        List<EventLogReader> readers = new ArrayList<>(logs.size());
+        try {
+            for (Path log : logs) {
+                readers.add(new EventLogReader(log, getClassLoader()));
+            }
+            readers.sort(comparingLong(EventLogReader::getStartTime));
+            EventLogReader.Event start = null;
+            List<TestBlock> testBlocks = new ArrayList<>();
+            for (EventLogReader reader : readers) {
+                EventLogReader.Event event = reader.next();
+                if (event != null && event.type == ReporterEvent.START) {
+                    start = (start == null) ? event : start;
+                    testBlocks.addAll(event.rootBlock.testBlocks);
+                }
+            }
+            if (start == null) {
+                return;
+            }
+            TestBlock rootBlock = start.rootBlock.toBuilder().setTestBlocks(Collections.unmodifiableList(testBlocks))
+                    .build();
+            replayAt(start.time, () -> reporter.start(rootBlock));
+            long endTime = start.time;
+            for (EventLogReader reader : readers) {
+                for (EventLogReader.Event event = reader.next(); event != null; event = reader.next()) {
+                    if (event.type != ReporterEvent.START && event.type != ReporterEvent.END) {
+                        event.replay(reporter);
+                    }
+                    endTime = Math.max(endTime, event.time);
+                }
+            }
+            replayAt(endTime, reporter::end);
+        } finally {
+            readers.forEach(EventLogReader::close);
+        }
+    }
+
+    private static void replayAt(long time, Runnable replay) {
+        ReporterClock.setReplayedTime(time);
+        try {
+            replay.run();
+        } finally {
+            ReporterClock.clearReplayedTime();
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return (classLoader != null) ? classLoader : EventLogReplayer.class.getClassLoader();
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+import static org.forgerock.cuppa.reporters.EventLogFormat.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.forgerock.cuppa.CuppaException;
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.Options;
+import org.forgerock.cuppa.model.TagsOption;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * A reporter that records every event to a compact binary log, so that other reporters can be run against the results
+ * after the test run has finished, using {@link EventLogReplayer}.
+ *
+ * <p>Recording an event costs little more than copying its arguments into a buffer: descriptions and other strings
+ * are written once and referred to by index thereafter, as are test blocks, tests and hooks. Each event is timestamped
+ * with a monotonic clock. The buffer is written to the log when it is full, when a top-level test block ends and at
+ * the end of the run.</p>
+ *
+ * <p>Test and hook functions and options other than tags are not recorded.</p>
+ */
+public final class EventLogReporter implements Reporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final RecordBuffer eventRecord = new RecordBuffer();
+    private final RecordBuffer definitionRecord = new RecordBuffer();
+    private final RecordBuffer stringRecord = new RecordBuffer();
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<Object, Integer> definitions = new IdentityHashMap<>();
+    private FileChannel channel;
+    private boolean created;
+    private long origin;
+
+    /**
+     * Constructs a reporter that writes to the given file. The file is replaced when the first run starts. If the
+     * reporter is used for several runs, each is appended to the same log and the file is closed at the end of each
+     * run.
+     *
+     * @param file The file to write the log to.
+     */
+    public EventLogReporter(Path file) {
+        Objects.requireNonNull(file, "File must not be null");
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void start(TestBlock rootBlock) {
+        try {
+            if (channel == null) {
+                open();
+            }
+            int block = define(rootBlock);
+            eventRecord.reset();
+            eventRecord.data.writeInt(block);
+            emit(ReporterEvent.START, eventRecord);
+        } catch (IOException e) {
+            throw new CuppaException("Failed to write event log " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void end() {
+        try {
+            eventRecord.reset();
+            emit(ReporterEvent.END, eventRecord);
+            drain();
+            channel.close();
+            channel = null;
+        } catch (IOException e) {
+            throw new CuppaException("Failed to write event log " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void testBlockStart(TestBlock testBlock, List<TestBlock> parents) {
+        record(ReporterEvent.TEST_BLOCK_START, testBlock, parents, null, null, null);
+    }
+
+    @Override
+    public synchronized void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
+        record(ReporterEvent.TEST_BLOCK_END, testBlock, parents, null, null, null);
+        if (parents.size() <= 1) {
+            try {
+                drain();
+            } catch (IOException e) {
+                throw new CuppaException("Failed to write event log " + file, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void testHookStart(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents) {
+        record(ReporterEvent.TEST_HOOK_START, hook, hookParents, test, testParents, null);
+    }
+
+    @Override
+    public synchronized void blockHookStart(Hook hook, List<TestBlock> parents) {
+        record(ReporterEvent.BLOCK_HOOK_START, hook, parents, null, null, null);
+    }
+
+    @Override
+    public synchronized void testHookPass(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents) {
+        record(ReporterEvent.TEST_HOOK_PASS, hook, hookParents, test, testParents, null);
+    }
+
+    @Override
+    public synchronized void blockHookPass(Hook hook, List<TestBlock> parents) {
+        record(ReporterEvent.BLOCK_HOOK_PASS, hook, parents, null, null, null);
+    }
+
+    @Override
+    public synchronized void testHookFail(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents, Throwable cause) {
+        record(ReporterEvent.TEST_HOOK_FAIL, hook, hookParents, test, testParents, cause);
+    }
+
+    @Override
+    public synchronized void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        record(ReporterEvent.BLOCK_HOOK_FAIL, hook, parents, null, null, cause);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public synchronized void hookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        record(ReporterEvent.HOOK_FAIL, hook, parents, null, null, cause);
+    }
+
+    @Override
+    public synchronized void testStart(Test test, List<TestBlock> parents) {
+        record(ReporterEvent.TEST_START, test, parents, null, null, null);
+    }
+
+    @Override
+    public synchronized void testEnd(Test test, List<TestBlock> parents) {
+        record(ReporterEvent.TEST_END, test, parents, null, null, null);
+    }
+
+    @Override
+    public synchronized void testPass(Test test, List<TestBlock> parents) {
+        record(ReporterEvent.TEST_PASS, test, parents, null, null, null);
+    }
+
+    @Override
+    public synchronized void testFail(Test test, List<TestBlock> parents, Throwable cause) {
+        record(ReporterEvent.TEST_FAIL, test, parents, null, null, cause);
+    }
+
+    @Override
+    public synchronized void testPending(Test test, List<TestBlock> parents) {
+        record(ReporterEvent.TEST_PENDING, test, parents, null, null, null);
+    }
+
+    @Override
+    public synchronized void testSkip(Test test, List<TestBlock> parents) {
+        record(ReporterEvent.TEST_SKIP, test, parents, null, null, null);
+    }
+
+    private void open() throws IOException {
+        buffer.clear();
+        if (created) {
+            channel = FileChannel.open(file, WRITE, APPEND);
+            return;
+        }
+        channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING);
+        created = true;
+        origin = System.nanoTime();
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Records an event. The subject is the test block, hook or test that the event is about. Test hook events have a
+     * second subject, the test that the hook ran for.
+     */
+    private void record(ReporterEvent event, Object subject, List<TestBlock> parents, Test test,
+            List<TestBlock> testParents, Throwable cause) {
+        try {
+            int subjectId = define(subject);
+            int[] parentIds = define(parents);
+            int testId = (test != null) ? define(test) : NONE;
+            int[] testParentIds = (testParents != null) ? define(testParents) : null;
+            eventRecord.reset();
+            DataOutputStream out = eventRecord.data;
+            out.writeInt(subjectId);
+            writeIds(out, parentIds);
+            if (test != null) {
+                out.writeInt(testId);
+                writeIds(out, testParentIds);
+            }
+            if (cause != null) {
+                writeThrowable(out, cause);
+            }
+            emit(event, eventRecord);
+        } catch (IOException e) {
+            throw new CuppaException("Failed to write event log " + file, e);
+        }
+    }
+
+    private int[] define(List<TestBlock> testBlocks) throws IOException {
+        int[] ids = new int[testBlocks.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = define(testBlocks.get(i));
+        }
+        return ids;
+    }
+
+    private int define(Object subject) throws IOException {
+        Integer existing = definitions.get(subject);
+        if (existing != null) {
+            return existing;
+        }
+        byte type;
+        if (subject instanceof TestBlock) {
+            type = TEST_BLOCK;
+            writeTestBlock((TestBlock) subject);
+        } else if (subject instanceof Test) {
+            type = TEST;
+            writeTest((Test) subject);
+        } else {
+            type = HOOK;
+            writeHook((Hook) subject);
+        }
+        emit(type, definitionRecord);
+        int id = definitions.size();
+        definitions.put(subject, id);
+        return id;
+    }
+
+    private void writeTestBlock(TestBlock testBlock) throws IOException {
+        int[] testBlocks = define(testBlock.testBlocks);
+        int[] hooks = new int[testBlock.hooks.size()];
+        for (int i = 0; i < hooks.length; i++) {
+            hooks[i] = define(testBlock.hooks.get(i));
+        }
+        int[] tests = new int[testBlock.tests.size()];
+        for (int i = 0; i < tests.length; i++) {
+            tests[i] = define(testBlock.tests.get(i));
+        }
+        definitionRecord.reset();
+        DataOutputStream out = definitionRecord.data;
+        out.writeByte(testBlock.type.ordinal());
+        out.writeByte(testBlock.behaviour.ordinal());
+        out.writeInt(string(testBlock.testClass.getName()));
+        out.writeInt(string(testBlock.description));
+        writeTags(out, testBlock.options);
+        writeIds(out, testBlocks);
+        writeIds(out, hooks);
+        writeIds(out, tests);
+    }
+
+    private void writeTest(Test test) throws IOException {
+        definitionRecord.reset();
+        DataOutputStream out = definitionRecord.data;
+        out.writeByte(test.behaviour.ordinal());
+        out.writeInt(string(test.testClass.getName()));
+        out.writeInt(string(test.description));
+        out.writeBoolean(test.function.isPresent());
+        writeTags(out, test.options);
+    }
+
+    private void writeHook(Hook hook) throws IOException {
+        definitionRecord.reset();
+        DataOutputStream out = definitionRecord.data;
+        out.writeByte(hook.type.ordinal());
+        out.writeInt(string(hook.testClass.getName()));
+        out.writeInt(hook.description.isPresent() ? string(hook.description.get()) : NONE);
+    }
+
+    private void writeTags(DataOutputStream out, Options options) throws IOException {
+        Set<String> tags = options.get(TagsOption.class).orElse(Collections.emptySet());
+        out.writeInt(tags.size());
+        for (String tag : tags) {
+            out.writeInt(string(tag));
+        }
+    }
+
+    private static void writeIds(DataOutputStream out, int[] ids) throws IOException {
+        out.writeInt(ids.length);
+        for (int id : ids) {
+            out.writeInt(id);
+        }
+    }
+
+    /**
+     * Writes a throwable and its causes, up to {@link EventLogFormat#MAX_CAUSE_DEPTH} of them. Suppressed exceptions
+     * are not recorded.
+     */
+    private void writeThrowable(DataOutputStream out, Throwable throwable) throws IOException {
+        Map<Throwable, Boolean> seen = new IdentityHashMap<>();
+        Throwable current = throwable;
+        while (current != null && seen.size() < MAX_CAUSE_DEPTH && seen.put(current, true) == null) {
+            out.writeBoolean(true);
+            out.writeInt(string(current.getClass().getName()));
+            out.writeByte((current instanceof AssertionError) ? ASSERTION_ERROR : THROWABLE);
+            out.writeInt(current.getMessage() != null ? string(current.getMessage()) : NONE);
+            StackTraceElement[] stackTrace = current.getStackTrace();
+            out.writeInt(stackTrace.length);
+            for (StackTraceElement element : stackTrace) {
+                out.writeInt(string(element.getClassName()));
+                out.writeInt(string(element.getMethodName()));
+                out.writeInt(element.getFileName() != null ? string(element.getFileName()) : NONE);
+                out.writeInt(element.getLineNumber());
+            }
+            current = current.getCause();
+        }
+        out.writeBoolean(false);
+    }
+
+    private int string(String value) throws IOException {
+        Integer existing = strings.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        stringRecord.reset();
+        stringRecord.data.writeInt(bytes.length);
+        stringRecord.data.write(bytes);
+        emit(STRING, stringRecord);
+        int id = strings.size();
+        strings.put(value, id);
+        return id;
+    }
+
+    private void emit(ReporterEvent event, RecordBuffer record) throws IOException {
+        emit((byte) event.ordinal(), record);
+    }
+
+    private void emit(byte type, RecordBuffer record) throws IOException {
+        int size = RECORD_HEADER_SIZE + record.size();
+        if (buffer.remaining() < size) {
+            drain();
+        }
+        long timestamp = System.nanoTime() - origin;
+        if (buffer.remaining() < size) {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            header.putInt(size - Integer.BYTES).put(type).putLong(timestamp).flip();
+            writeFully(header);
+            writeFully(record.toByteBuffer());
+            return;
+        }
+        buffer.putInt(size - Integer.BYTES).put(type).putLong(timestamp);
+        buffer.put(record.toByteBuffer());
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * A reusable buffer for encoding the payload of a record.
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        private final DataOutputStream data = new DataOutputStream(this);
+
+        private ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
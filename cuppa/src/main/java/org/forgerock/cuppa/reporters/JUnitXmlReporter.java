@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.forgerock.cuppa.CuppaException;
+import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * A reporter that writes JUnit-style XML reports, one file per test class, named {@code TEST-<class name>.xml}.
+ *
+ * <p>Test cases are streamed to disk as their results arrive, so the reporter's memory use does not grow with the size
+ * of the suite. A class's report is completed as soon as all of its top-level test blocks have run, or at the end of
+ * the run. Each test class is written independently, so classes may be run concurrently.</p>
+ *
+ * <p>Failed assertions are reported as failures and any other exceptions as errors, both with filtered stack traces.
+ * Failing hooks are reported as erroring test cases named after the hook.</p>
+ */
+public final class JUnitXmlReporter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            START, END, TEST_BLOCK_END, TEST_HOOK_FAIL, BLOCK_HOOK_FAIL, TEST_START, TEST_PASS, TEST_FAIL,
+            TEST_PENDING, TEST_SKIP));
+
+    private final Path directory;
+    private final Map<Class<?>, JUnitXmlSuiteWriter> writers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicInteger> remainingBlocks = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new JUnit XML reporter.
+     *
+     * @param directory The directory to write reports to. It will be created if it does not exist.
+     */
+    public JUnitXmlReporter(Path directory) {
+        Objects.requireNonNull(directory, "Directory must not be null");
+        this.directory = directory;
+    }
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
+    }
+
+    @Override
+    public void start(TestBlock rootBlock) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new CuppaException("Failed to create JUnit XML report directory " + directory, e);
+        }
+        Map<Class<?>, Integer> blockCounts = new HashMap<>();
+        rootBlock.testBlocks.forEach(b -> blockCounts.merge(b.testClass, 1, Integer::sum));
+        remainingBlocks.clear();
+        blockCounts.forEach((testClass, count) -> remainingBlocks.put(testClass, new AtomicInteger(count)));
+    }
+
+    @Override
+    public void end() {
+        for (Class<?> testClass : writers.keySet()) {
+            finish(testClass);
+        }
+    }
+
+    @Override
+    public void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
+        if (parents.size() != 1) {
+            return;
+        }
+        AtomicInteger remaining = remainingBlocks.get(testBlock.testClass);
+        if (remaining != null && remaining.decrementAndGet() == 0) {
+            remainingBlocks.remove(testBlock.testClass);
+            finish(testBlock.testClass);
+        }
+    }
+
+    @Override
+    public void testHookFail(Hook hook, List<TestBlock> hookParents, Test test, List<TestBlock> testParents,
+            Throwable cause) {
+        blockHookFail(hook, hookParents, cause);
+    }
+
+    @Override
+    public void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        writerFor(hook.testClass).testCase(ReporterSupport.getFullDescription(hook, parents), 0, cause);
+    }
+
+    @Override
+    public void testStart(Test test, List<TestBlock> parents) {
+        writerFor(test.testClass).testStart(test);
+    }
+
+    @Override
+    public void testPass(Test test, List<TestBlock> parents) {
+        JUnitXmlSuiteWriter writer = writerFor(test.testClass);
+        writer.testCase(ReporterSupport.getFullDescription(test, parents), writer.testEnd(test), null);
+    }
+
+    @Override
+    public void testFail(Test test, List<TestBlock> parents, Throwable cause) {
+        JUnitXmlSuiteWriter writer = writerFor(test.testClass);
+        writer.testCase(ReporterSupport.getFullDescription(test, parents), writer.testEnd(test), cause);
+    }
+
+    @Override
+    public void testPending(Test test, List<TestBlock> parents) {
+        writerFor(test.testClass).skippedTestCase(ReporterSupport.getFullDescription(test, parents));
+    }
+
+    @Override
+    public void testSkip(Test test, List<TestBlock> parents) {
+        writerFor(test.testClass).skippedTestCase(ReporterSupport.getFullDescription(test, parents));
+    }
+
+    private JUnitXmlSuiteWriter writerFor(Class<?> testClass) {
+        return writers.computeIfAbsent(testClass, c -> new JUnitXmlSuiteWriter(directory, c.getName()));
+    }
+
+    private void finish(Class<?> testClass) {
+        JUnitXmlSuiteWriter writer = writers.remove(testClass);
+        if (writer != null) {
+            writer.finish();
+        }
+    }
+}
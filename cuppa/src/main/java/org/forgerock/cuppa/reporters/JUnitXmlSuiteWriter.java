@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.forgerock.cuppa.CuppaException;
+import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.model.Test;
+
+/**
+ * Writes the JUnit XML report for a single test class.
+ *
+ * <p>The {@code testsuite} element carries the counts of its test cases, which are not known until every test has run.
+ * Test cases are therefore streamed to a temporary file, and the report is assembled from a header and that file once
+ * the class has finished. All methods are synchronized, so a writer may be shared by concurrently running tests.</p>
+ */
+final class JUnitXmlSuiteWriter {
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final String ENCODING = StandardCharsets.UTF_8.name();
+
+    private final String className;
+    private final Path reportFile;
+    private final Path bodyFile;
+    private final OutputStream bodyStream;
+    private final XMLStreamWriter body;
+    private final Map<Test, Long> startTimes = new IdentityHashMap<>();
+    private final Instant timestamp = Instant.ofEpochMilli(ReporterClock.currentTimeMillis());
+    private final long startTime = ReporterClock.nanoTime();
+    private int tests;
+    private int failures;
+    private int errors;
+    private int skipped;
+
+    JUnitXmlSuiteWriter(Path directory, String className) {
+        this.className = className;
+        this.reportFile = directory.resolve("TEST-" + className + ".xml");
+        try {
+            this.bodyFile = Files.createTempFile(directory, "TEST-" + className, ".part");
+            this.bodyStream = new BufferedOutputStream(Files.newOutputStream(bodyFile));
+            this.body = OUTPUT_FACTORY.createXMLStreamWriter(bodyStream, ENCODING);
+        } catch (IOException | XMLStreamException e) {
+            throw new CuppaException("Failed to create JUnit XML report for " + className, e);
+        }
+    }
+
+    synchronized void testStart(Test test) {
+        startTimes.put(test, ReporterClock.nanoTime());
+    }
+
+    /**
+     * Records the end of a test.
+     *
+     * @param test The test.
+     * @return The test's duration in nanoseconds, or zero if its start was not recorded.
+     */
+    synchronized long testEnd(Test test) {
+        Long start = startTimes.remove(test);
+        return (start != null) ? ReporterClock.nanoTime() - start : 0;
+    }
+
+    /**
+     * Writes a test case that has run.
+     *
+     * @param name The name of the test case.
+     * @param nanos The duration of the test case in nanoseconds.
+     * @param cause The cause of the test case's failure, or null if it passed.
+     */
+    synchronized void testCase(String name, long nanos, Throwable cause) {
+        tests++;
+        try {
+            if (cause == null) {
+                writeTestCaseStart(name, nanos, true);
+                return;
+            }
+            writeTestCaseStart(name, nanos, false);
+            String element;
+            if (cause instanceof AssertionError) {
+                failures++;
+                element = "failure";
+            } else {
+                errors++;
+                element = "error";
+            }
+            body.writeStartElement(element);
+            if (cause.getMessage() != null) {
+                body.writeAttribute("message", sanitize(cause.getMessage()));
+            }
+            body.writeAttribute("type", ReplayedThrowable.getClassName(cause));
+            body.writeCharacters(sanitize(getStackTrace(cause)));
+            body.writeEndElement();
+            body.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new CuppaException("Failed to write JUnit XML report for " + className, e);
+        }
+    }
+
+    /**
+     * Writes a test case that was skipped or pending.
+     *
+     * @param name The name of the test case.
+     */
+    synchronized void skippedTestCase(String name) {
+        tests++;
+        skipped++;
+        try {
+            writeTestCaseStart(name, 0, false);
+            body.writeEmptyElement("skipped");
+            body.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new CuppaException("Failed to write JUnit XML report for " + className, e);
+        }
+    }
+
+    /**
+     * Writes the complete report and deletes the temporary file holding the test cases.
+     */
+    synchronized void finish() {
+        try {
+            // Close the start tag of the last test case, which is left open in case it has attributes to add.
+            body.writeCharacters("");
+            body.close();
+            bodyStream.close();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(reportFile))) {
+                XMLStreamWriter header = OUTPUT_FACTORY.createXMLStreamWriter(out, ENCODING);
+                header.writeStartDocument(ENCODING, "1.0");
+                header.writeStartElement("testsuite");
+                header.writeAttribute("name", className);
+                header.writeAttribute("tests", Integer.toString(tests));
+                header.writeAttribute("failures", Integer.toString(failures));
+                header.writeAttribute("errors", Integer.toString(errors));
+                header.writeAttribute("skipped", Integer.toString(skipped));
+                header.writeAttribute("time", formatSeconds(ReporterClock.nanoTime() - startTime));
+                header.writeAttribute("timestamp", DateTimeFormatter.ISO_LOCAL_DATE_TIME
+                        .format(timestamp.truncatedTo(ChronoUnit.SECONDS).atOffset(ZoneOffset.UTC)));
+                // Close the start tag so that the test cases can be copied in verbatim.
+                header.writeCharacters("");
+                header.flush();
+                Files.copy(bodyFile, out);
+                header.writeEndElement();
+                header.writeEndDocument();
+                header.close();
+            }
+            Files.delete(bodyFile);
+        } catch (IOException | XMLStreamException e) {
+            throw new CuppaException("Failed to write JUnit XML report for " + className, e);
+        }
+    }
+
+    private void writeTestCaseStart(String name, long nanos, boolean empty) throws XMLStreamException {
+        if (empty) {
+            body.writeEmptyElement("testcase");
+        } else {
+            body.writeStartElement("testcase");
+        }
+        body.writeAttribute("name", sanitize(name));
+        body.writeAttribute("classname", className);
+        body.writeAttribute("time", formatSeconds(nanos));
+    }
+
+    private static String formatSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", (double) nanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static String getStackTrace(Throwable cause) {
+        ReporterSupport.filterStackTrace(cause);
+        StringWriter writer = new StringWriter();
+        cause.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    /**
+     * Replaces control characters, which cannot appear in an XML 1.0 document.
+     */
+    private static String sanitize(String text) {
+        StringBuilder builder = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < ' ' && c != '\t' && c != '\n' && c != '\r') {
+                if (builder == null) {
+                    builder = new StringBuilder(text);
+                }
+                builder.setCharAt(i, '?');
+            }
+        }
+        return (builder != null) ? builder.toString() : text;
+    }
+}
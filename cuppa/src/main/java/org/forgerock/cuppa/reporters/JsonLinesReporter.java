@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.cuppa.CuppaException;
+import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * A reporter that writes one JSON object per line for each test result and each failing hook, for consumption by
+ * other tools.
+ *
+ * <p>Each object has the following fields:</p>
+ * <ul>
+ *     <li>{@code id} - the {@link org.forgerock.cuppa.model.Test#id id} of the test or hook. A test is reported
+ *     once, but a hook is reported each time it fails, so the same hook id appears more than once if, for example, a
+ *     {@code beforeEach} hook fails for several tests.</li>
+ *     <li>{@code path} - the full description of the test or hook.</li>
+ *     <li>{@code class} - the name of the class that defined the test or hook.</li>
+ *     <li>{@code kind} - either {@code test} or {@code hook}.</li>
+ *     <li>{@code outcome} - one of {@code passed}, {@code failed}, {@code pending} or {@code skipped}.</li>
+ *     <li>{@code durationMillis} - how long the test took to run, or zero if it did not run.</li>
+ *     <li>{@code failure} - for failures only, an object with the {@code type} and {@code message} of the exception
+ *     and the {@code location} in the test at which it was thrown, if known.</li>
+ * </ul>
+ *
+ * <p>Lines are written as results arrive. Output is buffered, but is flushed whenever a top-level test block
+ * completes, at the end of the run, and when a line is written more than a second after the previous flush, so the
+ * output can be followed while the tests run. Lines are not flushed while no results arrive.</p>
+ */
+public final class JsonLinesReporter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            END, TEST_BLOCK_END, TEST_HOOK_FAIL, BLOCK_HOOK_FAIL, TEST_START, TEST_PASS, TEST_FAIL, TEST_PENDING,
+            TEST_SKIP));
+    private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int HEX_DIGIT_BITS = 4;
+    private static final int HEX_DIGIT_MASK = 0xf;
+
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder();
+    private final Map<Test, Long> startTimes = new IdentityHashMap<>();
+    private long lastFlush = System.nanoTime();
+
+    /**
+     * Constructs a reporter that writes to the specified stream, in UTF-8.
+     *
+     * @param stream A stream to write to.
+     */
+    public JsonLinesReporter(OutputStream stream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8));
+    }
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
+    }
+
+    @Override
+    public synchronized void end() {
+        flush();
+    }
+
+    @Override
+    public synchronized void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
+        if (parents.size() <= 1) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void testHookFail(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents, Throwable cause) {
+        blockHookFail(hook, hookParents, cause);
+    }
+
+    @Override
+    public synchronized void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        String path = ReporterSupport.getFullDescription(hook, parents);
+        String id = hook.id.isPresent() ? hook.id.get() : hook.testClass.getName() + ":" + path;
+        write(id, path, hook.testClass, "hook", "failed", 0, cause);
+    }
+
+    @Override
+    public synchronized void testStart(Test test, List<TestBlock> parents) {
+        startTimes.put(test, ReporterClock.nanoTime());
+    }
+
+    @Override
+    public synchronized void testPass(Test test, List<TestBlock> parents) {
+        writeTest(test, parents, "passed", null);
+    }
+
+    @Override
+    public synchronized void testFail(Test test, List<TestBlock> parents, Throwable cause) {
+        writeTest(test, parents, "failed", cause);
+    }
+
+    @Override
+    public synchronized void testPending(Test test, List<TestBlock> parents) {
+        writeTest(test, parents, "pending", null);
+    }
+
+    @Override
+    public synchronized void testSkip(Test test, List<TestBlock> parents) {
+        writeTest(test, parents, "skipped", null);
+    }
+
+    private void writeTest(Test test, List<TestBlock> parents, String outcome, Throwable cause) {
+        Long start = startTimes.remove(test);
+        long duration = (start != null) ? ReporterClock.nanoTime() - start : 0;
+        String path = ReporterSupport.getFullDescription(test, parents);
+        String id = test.id.isPresent() ? test.id.get() : test.testClass.getName() + ":" + path;
+        write(id, path, test.testClass, "test", outcome, duration, cause);
+    }
+
+    private void write(String id, String path, Class<?> testClass, String kind, String outcome, long duration,
+            Throwable cause) {
+        line.setLength(0);
+        line.append("{\"id\":");
+        appendString(id);
+        line.append(",\"path\":");
+        appendString(path);
+        line.append(",\"class\":");
+        appendString(testClass.getName());
+        line.append(",\"kind\":\"").append(kind);
+        line.append("\",\"outcome\":\"").append(outcome);
+        line.append("\",\"durationMillis\":");
+        line.append(String.format(Locale.ROOT, "%.3f", (double) duration / TimeUnit.MILLISECONDS.toNanos(1)));
+        if (cause != null) {
+            appendFailure(cause);
+        }
+        line.append('}').append('\n');
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            throw new CuppaException("Failed to write JSON lines report", e);
+        }
+        if (System.nanoTime() - lastFlush > FLUSH_INTERVAL) {
+            flush();
+        }
+    }
+
+    private void appendFailure(Throwable cause) {
+        ReporterSupport.filterStackTrace(cause);
+        line.append(",\"failure\":{\"type\":");
+        appendString(ReplayedThrowable.getClassName(cause));
+        line.append(",\"message\":");
+        appendString(cause.getMessage());
+        StackTraceElement[] stackTrace = cause.getStackTrace();
+        line.append(",\"location\":");
+        appendString((stackTrace.length > 0) ? stackTrace[stackTrace.length - 1].toString() : null);
+        line.append('}');
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < ' ') {
+                        line.append("\\u00").append(HEX_DIGITS[c >> HEX_DIGIT_BITS])
+                                .append(HEX_DIGITS[c & HEX_DIGIT_MASK]);
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    private void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new CuppaException("Failed to write JSON lines report", e);
+        }
+        lastFlush = System.nanoTime();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+/**
+ * A stand-in for an {@link AssertionError}, or a subclass of it, that was recorded in an event log and replayed by
+ * {@link EventLogReplayer}. Being an {@code AssertionError} itself, reporters treat it as a test failure rather than an
+ * error, as they did the original. It carries the original error's class name, message and stack trace, and prints
+ * like the original.
+ */
+public final class ReplayedAssertionError extends AssertionError {
+    private static final long serialVersionUID = 1L;
+
+    private final String className;
+    private final String message;
+
+    ReplayedAssertionError(String className, String message) {
+        this.className = className;
+        this.message = message;
+    }
+
+    /**
+     * Get the fully qualified class name of the original error.
+     *
+     * @return The class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return (message != null) ? className + ": " + message : className;
+    }
+}
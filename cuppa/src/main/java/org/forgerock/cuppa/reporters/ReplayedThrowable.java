@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+/**
+ * A stand-in for an exception that was recorded in an event log and replayed by {@link EventLogReplayer}. It carries
+ * the original exception's class name, message and stack trace, and prints like the original. Assertion errors are
+ * replayed as {@link ReplayedAssertionError}s instead.
+ */
+public final class ReplayedThrowable extends Throwable {
+    private static final long serialVersionUID = 1L;
+
+    private final String className;
+
+    ReplayedThrowable(String className, String message) {
+        super(message);
+        this.className = className;
+    }
+
+    /**
+     * Get the fully qualified class name of the original exception.
+     *
+     * @return The class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Get the fully qualified class name of a throwable, or of the original exception if it was replayed from an
+     * event log.
+     *
+     * @param throwable The throwable.
+     * @return The class name.
+     */
+    static String getClassName(Throwable throwable) {
+        if (throwable instanceof ReplayedThrowable) {
+            return ((ReplayedThrowable) throwable).getClassName();
+        } else if (throwable instanceof ReplayedAssertionError) {
+            return ((ReplayedAssertionError) throwable).getClassName();
+        }
+        return throwable.getClass().getName();
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return (message != null) ? className + ": " + message : className;
+    }
+}
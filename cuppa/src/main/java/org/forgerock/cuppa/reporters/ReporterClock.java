@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The clock that reporters should take timestamps from, instead of {@link System#nanoTime()} and
+ * {@link System#currentTimeMillis()}.
+ *
+ * <p>During a test run, it is the system clock. While {@link EventLogReplayer} is replaying an event to a reporter, it
+ * is the time at which the event was originally recorded, so durations and timestamps in reports produced from an
+ * event log match those of the original run. The replayed time is only visible to the thread doing the replay.</p>
+ */
+public final class ReporterClock {
+    private static final ThreadLocal<Long> REPLAYED_TIME = new ThreadLocal<>();
+
+    private ReporterClock() {
+    }
+
+    /**
+     * Get the current value of a monotonic clock, in nanoseconds. Like {@link System#nanoTime()}, the value is only
+     * meaningful when compared to other values from this method.
+     *
+     * @return The current time in nanoseconds.
+     */
+    public static long nanoTime() {
+        Long replayedTime = REPLAYED_TIME.get();
+        return (replayedTime != null) ? replayedTime : System.nanoTime();
+    }
+
+    /**
+     * Get the current wall clock time.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public static long currentTimeMillis() {
+        Long replayedTime = REPLAYED_TIME.get();
+        return (replayedTime != null) ? TimeUnit.NANOSECONDS.toMillis(replayedTime) : System.currentTimeMillis();
+    }
+
+    /**
+     * Sets the time that the current thread's clock reports, while an event is replayed.
+     *
+     * @param epochNanos The time at which the event was recorded, in nanoseconds since the epoch.
+     */
+    static void setReplayedTime(long epochNanos) {
+        REPLAYED_TIME.set(epochNanos);
+    }
+
+    /**
+     * Restores the current thread's clock to the system clock.
+     */
+    static void clearReplayedTime() {
+        REPLAYED_TIME.remove();
+    }
+}
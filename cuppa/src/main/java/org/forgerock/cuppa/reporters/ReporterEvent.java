@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The events that a {@link Reporter} can receive, one for each of its methods.
+ *
+ * @see SelectiveReporter
+ */
+public enum ReporterEvent {
+    /**
+     * {@link Reporter#start}.
+     */
+    START,
+
+    /**
+     * {@link Reporter#end}.
+     */
+    END,
+
+    /**
+     * {@link Reporter#testBlockStart}.
+     */
+    TEST_BLOCK_START,
+
+    /**
+     * {@link Reporter#testBlockEnd}.
+     */
+    TEST_BLOCK_END,
+
+    /**
+     * {@link Reporter#blockHookStart}.
+     */
+    BLOCK_HOOK_START,
+
+    /**
+     * {@link Reporter#blockHookPass}.
+     */
+    BLOCK_HOOK_PASS,
+
+    /**
+     * {@link Reporter#blockHookFail}.
+     */
+    BLOCK_HOOK_FAIL,
+
+    /**
+     * {@link Reporter#testHookStart}.
+     */
+    TEST_HOOK_START,
+
+    /**
+     * {@link Reporter#testHookPass}.
+     */
+    TEST_HOOK_PASS,
+
+    /**
+     * {@link Reporter#testHookFail}.
+     */
+    TEST_HOOK_FAIL,
+
+    /**
+     * {@link Reporter#hookFail}.
+     */
+    HOOK_FAIL,
+
+    /**
+     * {@link Reporter#testStart}.
+     */
+    TEST_START,
+
+    /**
+     * {@link Reporter#testEnd}.
+     */
+    TEST_END,
+
+    /**
+     * {@link Reporter#testPass}.
+     */
+    TEST_PASS,
+
+    /**
+     * {@link Reporter#testFail}.
+     */
+    TEST_FAIL,
+
+    /**
+     * {@link Reporter#testPending}.
+     */
+    TEST_PENDING,
+
+    /**
+     * {@link Reporter#testSkip}.
+     */
+    TEST_SKIP;
+
+    private static final Set<ReporterEvent> ALL = Collections.unmodifiableSet(EnumSet.allOf(ReporterEvent.class));
+
+    /**
+     * Get the events that the given reporter needs to receive. Reporters that do not implement
+     * {@link SelectiveReporter} receive every event.
+     *
+     * @param reporter The reporter.
+     * @return An immutable set of events.
+     */
+    public static Set<ReporterEvent> subscriptionsOf(Reporter reporter) {
+        if (reporter instanceof SelectiveReporter) {
+            return ((SelectiveReporter) reporter).getSubscribedEvents();
+        }
+        return ALL;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import java.util.Set;
+
+/**
+ * A reporter that only handles some of the events a {@link Reporter} can receive.
+ *
+ * <p>Composite reporters use the subscribed events to decide which reporters to call, so that events nobody handles
+ * cost nothing to dispatch. A reporter may still be called for events it has not subscribed to, for example when it
+ * is used directly rather than through a composite, and must ignore them.</p>
+ */
+public interface SelectiveReporter extends Reporter {
+
+    /**
+     * Get the events that this reporter handles. The result must not change during the lifetime of the reporter.
+     *
+     * @return An immutable set of events.
+     */
+    Set<ReporterEvent> getSubscribedEvents();
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static org.forgerock.cuppa.reporters.ReporterEvent.*;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.model.Hook;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * A reporter that records how long tests, hooks and test blocks take, so that the slowest of each can be listed along
+ * with a histogram of test durations.
+ *
+ * <p>Durations are accumulated over every run the reporter is given, so a single reporter can be added to several
+ * runners, including runners that run concurrently, to produce one summary for all of them. The share of the whole
+ * run shown for each entry is relative to the time from the first run's start to when the summary is printed.</p>
+ *
+ * <p>{@link DefaultReporter} uses this reporter to list the slowest tests at the end of each run.</p>
+ */
+public final class SlowestTestsReporter implements SelectiveReporter {
+    private static final Set<ReporterEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            START, TEST_BLOCK_START, TEST_BLOCK_END, BLOCK_HOOK_START, BLOCK_HOOK_PASS, BLOCK_HOOK_FAIL,
+            TEST_HOOK_START, TEST_HOOK_PASS, TEST_HOOK_FAIL, TEST_START, TEST_END));
+
+    private final DurationSummary durationSummary;
+    private boolean started;
+
+    /**
+     * Constructs a new reporter.
+     *
+     * @param slowestCount The number of slowest tests, hooks and test blocks to list. Must be positive.
+     */
+    public SlowestTestsReporter(int slowestCount) {
+        if (slowestCount < 1) {
+            throw new IllegalArgumentException("Slowest count must be positive");
+        }
+        durationSummary = new DurationSummary(slowestCount);
+    }
+
+    /**
+     * Prints the slowest tests, hooks and test blocks of every run so far, followed by a histogram of test durations.
+     *
+     * @param stream The stream to print to.
+     */
+    public synchronized void printSummary(PrintStream stream) {
+        durationSummary.print(stream);
+    }
+
+    @Override
+    public Set<ReporterEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
+    }
+
+    @Override
+    public synchronized void start(TestBlock rootBlock) {
+        if (!started) {
+            durationSummary.runStarted();
+            started = true;
+        }
+    }
+
+    @Override
+    public synchronized void testBlockStart(TestBlock testBlock, List<TestBlock> parents) {
+        if (!parents.isEmpty()) {
+            durationSummary.started(testBlock);
+        }
+    }
+
+    @Override
+    public synchronized void testBlockEnd(TestBlock testBlock, List<TestBlock> parents) {
+        durationSummary.testBlockEnded(testBlock, ReporterSupport.getFullDescription(testBlock, parents));
+    }
+
+    @Override
+    public synchronized void blockHookStart(Hook hook, List<TestBlock> parents) {
+        durationSummary.started(hook);
+    }
+
+    @Override
+    public synchronized void blockHookPass(Hook hook, List<TestBlock> parents) {
+        durationSummary.hookEnded(hook, ReporterSupport.getFullDescription(hook, parents));
+    }
+
+    @Override
+    public synchronized void blockHookFail(Hook hook, List<TestBlock> parents, Throwable cause) {
+        durationSummary.hookEnded(hook, ReporterSupport.getFullDescription(hook, parents));
+    }
+
+    @Override
+    public synchronized void testHookStart(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents) {
+        durationSummary.started(test);
+    }
+
+    @Override
+    public synchronized void testHookPass(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents) {
+        durationSummary.hookEnded(test, ReporterSupport.getFullDescription(hook, hookParents));
+    }
+
+    @Override
+    public synchronized void testHookFail(Hook hook, List<TestBlock> hookParents, Test test,
+            List<TestBlock> testParents, Throwable cause) {
+        durationSummary.hookEnded(test, ReporterSupport.getFullDescription(hook, hookParents));
+    }
+
+    @Override
+    public synchronized void testStart(Test test, List<TestBlock> parents) {
+        durationSummary.started(test);
+    }
+
+    @Override
+    public synchronized void testEnd(Test test, List<TestBlock> parents) {
+        durationSummary.testEnded(test, ReporterSupport.getFullDescription(test, parents));
+    }
+}
@@ -16,17 +16,10 @@
 
 package org.forgerock.cuppa.transforms;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
-import org.forgerock.cuppa.model.Options;
+import org.forgerock.cuppa.model.TagMask;
 import org.forgerock.cuppa.model.Tags;
-import org.forgerock.cuppa.model.TagsOption;
-import org.forgerock.cuppa.model.Test;
 import org.forgerock.cuppa.model.TestBlock;
 import org.forgerock.cuppa.transforms.expression.Condition;
 import org.forgerock.cuppa.transforms.expression.ExpressionParser;
@@ -38,9 +31,9 @@ import org.forgerock.cuppa.transforms.expression.ExpressionParser;
  *
  * @see Condition
  */
-public final class ExpressionTagTestBlockFilter implements Function<TestBlock, TestBlock> {
+public final class ExpressionTagTestBlockFilter implements TestBlockTransform {
     private final Tags runTags;
-    private final Condition condition;
+    private final Predicate<TagMask> condition;
 
     /**
      * Creates a new filter.
@@ -49,39 +42,14 @@ public final class ExpressionTagTestBlockFilter implements Function<TestBlock, T
      */
     public ExpressionTagTestBlockFilter(Tags runTags) {
         this.runTags = runTags;
-        this.condition = ExpressionParser.parse(runTags.expressionTags);
+        this.condition = ExpressionParser.parse(runTags.expressionTags).compile();
     }
 
     @Override
-    public TestBlock apply(TestBlock testBlock) {
+    public TestBlockVisitor visitor(TestBlock rootBlock, TestBlockVisitor preceding) {
         if (runTags.expressionTags.isEmpty()) {
-            return testBlock;
+            return null;
         }
-
-        return filterTests(testBlock, Collections.emptySet());
-    }
-
-    private TestBlock filterTests(TestBlock testBlock, Set<String> parentBlockTags) {
-        Set<String> blockTags = union(getTags(testBlock.options), parentBlockTags);
-        List<TestBlock> testBlocks = testBlock.testBlocks.stream()
-                .map(b -> filterTests(b, blockTags))
-                .collect(Collectors.toList());
-        List<Test> tests = testBlock.tests.stream()
-                .filter(t -> condition.shouldRun(union(getTags(t.options), blockTags)))
-                .collect(Collectors.toList());
-        return testBlock.toBuilder()
-                .setTestBlocks(testBlocks)
-                .setTests(tests)
-                .build();
-    }
-
-    private Set<String> getTags(Options options) {
-        return options.get(TagsOption.class).orElse(Collections.emptySet());
-    }
-
-    private <T> Set<T> union(Set<T> a, Set<T> b) {
-        Set<T> union = new HashSet<>(a);
-        union.addAll(b);
-        return union;
+        return TagMaskVisitor.forRoot(rootBlock, condition);
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * Applies several {@link TestBlockTransform}s in a single traversal of the test tree.
+ */
+final class FusedTestBlockTransform {
+
+    private FusedTestBlockTransform() {
+    }
+
+    static Function<TestBlock, TestBlock> of(List<TestBlockTransform> transforms) {
+        if (transforms.isEmpty()) {
+            return Function.identity();
+        }
+        return rootBlock -> apply(rootBlock, transforms);
+    }
+
+    static TestBlock apply(TestBlock rootBlock, List<TestBlockTransform> transforms) {
+        List<TestBlockVisitor> visitors = new ArrayList<>(transforms.size());
+        TestBlockVisitor visitor = null;
+        for (TestBlockTransform transform : transforms) {
+            TestBlockVisitor transformVisitor = transform.visitor(rootBlock, visitor);
+            if (transformVisitor != null) {
+                visitors.add(transformVisitor);
+                visitor = CompositeVisitor.of(visitors);
+            }
+        }
+        return transform(rootBlock, visitor);
+    }
+
+    /**
+     * Applies a visitor to the contents of a test block. Test blocks in which nothing was removed are returned
+     * unchanged, rather than copied.
+     *
+     * @param testBlock The test block to transform.
+     * @param visitor The visitor for the block's contents, or null to keep them all.
+     * @return The transformed test block.
+     */
+    private static TestBlock transform(TestBlock testBlock, TestBlockVisitor visitor) {
+        if (visitor == null) {
+            return testBlock;
+        }
+        List<TestBlock> testBlocks = null;
+        for (int i = 0; i < testBlock.testBlocks.size(); i++) {
+            TestBlock child = testBlock.testBlocks.get(i);
+            TestBlock transformedChild = transform(child, visitor.visitTestBlock(child));
+            boolean keep = visitor.keepTestBlock(transformedChild);
+            if (testBlocks == null && (transformedChild != child || !keep)) {
+                testBlocks = new ArrayList<>(testBlock.testBlocks.subList(0, i));
+            }
+            if (testBlocks != null && keep) {
+                testBlocks.add(transformedChild);
+            }
+        }
+        List<Test> tests = null;
+        for (int i = 0; i < testBlock.tests.size(); i++) {
+            Test test = testBlock.tests.get(i);
+            boolean keep = visitor.keepTest(test);
+            if (tests == null && !keep) {
+                tests = new ArrayList<>(testBlock.tests.subList(0, i));
+            }
+            if (tests != null && keep) {
+                tests.add(test);
+            }
+        }
+        if (testBlocks == null && tests == null) {
+            return testBlock;
+        }
+        return testBlock.toBuilder()
+                .setTestBlocks((testBlocks != null) ? testBlocks : testBlock.testBlocks)
+                .setTests((tests != null) ? tests : testBlock.tests)
+                .build();
+    }
+
+    /**
+     * Keeps a test or test block only if every one of a list of visitors keeps it.
+     */
+    private static final class CompositeVisitor implements TestBlockVisitor {
+        private final TestBlockVisitor[] visitors;
+
+        private CompositeVisitor(TestBlockVisitor[] visitors) {
+            this.visitors = visitors;
+        }
+
+        private static TestBlockVisitor of(List<TestBlockVisitor> visitors) {
+            if (visitors.isEmpty()) {
+                return null;
+            }
+            if (visitors.size() == 1) {
+                return visitors.get(0);
+            }
+            return new CompositeVisitor(visitors.toArray(new TestBlockVisitor[visitors.size()]));
+        }
+
+        @Override
+        public TestBlockVisitor visitTestBlock(TestBlock testBlock) {
+            List<TestBlockVisitor> childVisitors = new ArrayList<>(visitors.length);
+            for (TestBlockVisitor visitor : visitors) {
+                TestBlockVisitor childVisitor = visitor.visitTestBlock(testBlock);
+                if (childVisitor != null) {
+                    childVisitors.add(childVisitor);
+                }
+            }
+            return of(childVisitors);
+        }
+
+        @Override
+        public boolean keepTest(Test test) {
+            for (TestBlockVisitor visitor : visitors) {
+                if (!visitor.keepTest(test)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean keepTestBlock(TestBlock testBlock) {
+            for (TestBlockVisitor visitor : visitors) {
+                if (!visitor.keepTestBlock(testBlock)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Matches strings against several glob or regular expression patterns at once.
+ *
+ * <p>Patterns without wildcards are looked up in a hash set. All the other patterns are combined into a single regular
+ * expression, so the cost of matching a string grows slowly with the number of patterns.</p>
+ */
+final class PatternMatcher {
+    static final String REGEX_PREFIX = "%regex[";
+    static final String REGEX_SUFFIX = "]";
+
+    private final boolean matchesAll;
+    private final Set<String> literals;
+    private final Pattern pattern;
+
+    private PatternMatcher(boolean matchesAll, Set<String> literals, Pattern pattern) {
+        this.matchesAll = matchesAll;
+        this.literals = literals;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Compiles a set of patterns. A pattern of the form {@code %regex[...]} is a regular expression. Any other pattern
+     * is a glob, in which {@code *} matches any sequence of characters and {@code ?} matches any single character.
+     *
+     * @param patterns The patterns.
+     * @return A matcher that matches a string if any of the patterns match the whole string.
+     * @throws java.util.regex.PatternSyntaxException If a regular expression is invalid.
+     */
+    static PatternMatcher compile(Collection<String> patterns) {
+        boolean matchesAll = false;
+        Set<String> literals = new HashSet<>();
+        List<String> regexes = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern.startsWith(REGEX_PREFIX) && pattern.endsWith(REGEX_SUFFIX)) {
+                String regex = pattern.substring(REGEX_PREFIX.length(), pattern.length() - REGEX_SUFFIX.length());
+                regexes.add(regex);
+            } else if (pattern.equals("*")) {
+                matchesAll = true;
+            } else if (pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0) {
+                regexes.add(globToRegex(pattern));
+            } else {
+                literals.add(pattern);
+            }
+        }
+        Pattern pattern = null;
+        if (!regexes.isEmpty()) {
+            pattern = Pattern.compile((regexes.size() == 1)
+                    ? regexes.get(0)
+                    : "(?:" + String.join(")|(?:", regexes) + ")");
+        }
+        return new PatternMatcher(matchesAll, literals, pattern);
+    }
+
+    /**
+     * Whether this matcher matches every string.
+     *
+     * @return {@code true} if it does.
+     */
+    boolean matchesAll() {
+        return matchesAll;
+    }
+
+    /**
+     * Checks whether any of the patterns matches the whole of the given string.
+     *
+     * @param s The string.
+     * @return {@code true} if a pattern matches.
+     */
+    boolean matches(String s) {
+        return matchesAll || literals.contains(s) || (pattern != null && pattern.matcher(s).matches());
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (literalStart < i) {
+                    regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                }
+                regex.append((c == '*') ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return regex.toString();
+    }
+}
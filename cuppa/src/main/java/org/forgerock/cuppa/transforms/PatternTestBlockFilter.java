@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.forgerock.cuppa.ReporterSupport;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * Filters the test tree to only include tests that match one of a set of patterns, in the style of Maven Surefire's
+ * {@code -Dtest} parameter.
+ *
+ * <p>Each pattern has the form {@code ClassPattern#DescriptionPattern}, where the class pattern is matched against
+ * the simple or fully qualified name of the test class, and the description pattern against the full description of
+ * each test, as given by {@link ReporterSupport#getFullDescription(Test, List)}. Several description patterns may be
+ * joined with {@code +}. A pattern without a {@code #} selects all the tests in a matching class, as well as any tests
+ * whose full description matches it. A pattern that matches the full description of a test block selects all the
+ * tests within it. Patterns prefixed with {@code !} exclude the tests they match.</p>
+ *
+ * <p>Patterns are globs, in which {@code *} matches any sequence of characters and {@code ?} any single character, or
+ * regular expressions of the form {@code %regex[...]}. As in Surefire, a regular expression is split into class and
+ * description expressions at its first {@code #}, as in {@code %regex[.*Calculator.*#.*negative.*]}, and a class
+ * expression is also matched against the path of the class file, such as {@code org/example/CalculatorTest.class}.
+ * The patterns are compiled once, and those that apply to a test class are combined into a single matcher, so
+ * filtering stays fast with many patterns.</p>
+ */
+public final class PatternTestBlockFilter implements TestBlockTransform {
+    private static final PatternMatcher MATCH_ALL = PatternMatcher.compile(Collections.singleton("*"));
+
+    private final List<String> patterns;
+    private final List<ClassPatterns> includes;
+    private final List<ClassPatterns> excludes;
+    private final Map<Class<?>, ClassMatchers> classMatchers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new filter.
+     *
+     * @param patterns The patterns. Blank patterns are ignored.
+     * @throws java.util.regex.PatternSyntaxException If a regular expression is invalid.
+     */
+    public PatternTestBlockFilter(Collection<String> patterns) {
+        Map<String, List<String>> includedDescriptions = new LinkedHashMap<>();
+        Map<String, List<String>> excludedDescriptions = new LinkedHashMap<>();
+        List<String> nonBlankPatterns = new ArrayList<>();
+        for (String pattern : patterns) {
+            String trimmed = pattern.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            nonBlankPatterns.add(trimmed);
+            if (trimmed.startsWith("!")) {
+                addPattern(trimmed.substring(1).trim(), excludedDescriptions);
+            } else {
+                addPattern(trimmed, includedDescriptions);
+            }
+        }
+        this.patterns = Collections.unmodifiableList(nonBlankPatterns);
+        this.includes = compile(includedDescriptions);
+        this.excludes = compile(excludedDescriptions);
+    }
+
+    /**
+     * Splits a comma separated list of patterns, as given to Surefire's {@code -Dtest} parameter. Commas within a
+     * {@code %regex[...]} pattern do not separate patterns.
+     *
+     * @param patterns The patterns, separated by commas.
+     * @return The patterns.
+     */
+    public static List<String> splitPatterns(String patterns) {
+        List<String> split = new ArrayList<>();
+        int start = 0;
+        int depth = 0;
+        for (int i = 0; i < patterns.length(); i++) {
+            char c = patterns.charAt(i);
+            if (c == '[') {
+                depth++;
+            } else if (c == ']' && depth > 0) {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                split.add(patterns.substring(start, i));
+                start = i + 1;
+            }
+        }
+        split.add(patterns.substring(start));
+        return split;
+    }
+
+    /**
+     * Get the patterns this filter was created with.
+     *
+     * @return An immutable list of patterns.
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    @Override
+    public TestBlockVisitor visitor(TestBlock rootBlock, TestBlockVisitor preceding) {
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return null;
+        }
+        return new PatternVisitor(ReporterSupport.getDescription(rootBlock), includes.isEmpty());
+    }
+
+    private static void addPattern(String pattern, Map<String, List<String>> descriptionsByClass) {
+        if (isRegex(pattern)) {
+            addRegexPattern(pattern, descriptionsByClass);
+            return;
+        }
+        int hash = pattern.indexOf('#');
+        if (hash < 0) {
+            descriptionsByClass.computeIfAbsent(classPattern(pattern), c -> new ArrayList<>()).add("*");
+            descriptionsByClass.computeIfAbsent("*", c -> new ArrayList<>()).add(pattern);
+            return;
+        }
+        String classPattern = classPattern(pattern.substring(0, hash));
+        List<String> descriptions = descriptionsByClass.computeIfAbsent(classPattern, c -> new ArrayList<>());
+        String descriptionPatterns = pattern.substring(hash + 1);
+        if (descriptionPatterns.isEmpty()) {
+            descriptions.add("*");
+        } else if (descriptionPatterns.startsWith(PatternMatcher.REGEX_PREFIX)) {
+            descriptions.add(descriptionPatterns);
+        } else {
+            for (String description : descriptionPatterns.split("\\+")) {
+                descriptions.add(description.trim());
+            }
+        }
+    }
+
+    /**
+     * Adds a {@code %regex[...]} pattern, which holds both the class and description expressions if it contains a
+     * {@code #}. An empty expression on either side of the {@code #} matches anything.
+     */
+    private static void addRegexPattern(String pattern, Map<String, List<String>> descriptionsByClass) {
+        String regex = pattern.substring(PatternMatcher.REGEX_PREFIX.length(),
+                pattern.length() - PatternMatcher.REGEX_SUFFIX.length());
+        int hash = regex.indexOf('#');
+        if (hash < 0) {
+            descriptionsByClass.computeIfAbsent(pattern, c -> new ArrayList<>()).add("*");
+            descriptionsByClass.computeIfAbsent("*", c -> new ArrayList<>()).add(pattern);
+            return;
+        }
+        String classRegex = regex.substring(0, hash);
+        String descriptionRegex = regex.substring(hash + 1);
+        descriptionsByClass.computeIfAbsent(classRegex.isEmpty() ? "*" : toRegexPattern(classRegex),
+                c -> new ArrayList<>()).add(descriptionRegex.isEmpty() ? "*" : toRegexPattern(descriptionRegex));
+    }
+
+    private static boolean isRegex(String pattern) {
+        return pattern.startsWith(PatternMatcher.REGEX_PREFIX) && pattern.endsWith(PatternMatcher.REGEX_SUFFIX);
+    }
+
+    private static String toRegexPattern(String regex) {
+        return PatternMatcher.REGEX_PREFIX + regex + PatternMatcher.REGEX_SUFFIX;
+    }
+
+    /**
+     * Normalises a Surefire class pattern, which may be a source file path with a {@code .java} extension, to a class
+     * name pattern.
+     */
+    private static String classPattern(String pattern) {
+        String classPattern = pattern.trim();
+        if (classPattern.isEmpty() || classPattern.startsWith(PatternMatcher.REGEX_PREFIX)) {
+            return classPattern.isEmpty() ? "*" : classPattern;
+        }
+        if (classPattern.endsWith(".java") || classPattern.endsWith(".class")) {
+            classPattern = classPattern.substring(0, classPattern.lastIndexOf('.'));
+        }
+        while (classPattern.startsWith("**/")) {
+            classPattern = classPattern.substring("**/".length());
+        }
+        return classPattern.replace("**", "*").replace('/', '.');
+    }
+
+    private static List<ClassPatterns> compile(Map<String, List<String>> descriptionsByClass) {
+        List<ClassPatterns> classPatterns = new ArrayList<>();
+        descriptionsByClass.forEach((classPattern, descriptions) -> classPatterns.add(new ClassPatterns(
+                PatternMatcher.compile(Collections.singleton(classPattern)), PatternMatcher.compile(descriptions))));
+        return classPatterns;
+    }
+
+    private ClassMatchers matchersFor(Class<?> testClass) {
+        return classMatchers.computeIfAbsent(testClass, c -> new ClassMatchers(
+                descriptionMatchers(c, includes), descriptionMatchers(c, excludes)));
+    }
+
+    private static List<PatternMatcher> descriptionMatchers(Class<?> testClass, List<ClassPatterns> classPatterns) {
+        List<PatternMatcher> matchers = new ArrayList<>();
+        for (ClassPatterns patterns : classPatterns) {
+            if (patterns.classMatcher.matches(testClass.getName())
+                    || patterns.classMatcher.matches(testClass.getSimpleName())
+                    || patterns.classMatcher.matches(testClass.getName().replace('.', '/') + ".class")) {
+                if (patterns.descriptionMatcher.matchesAll()) {
+                    return Collections.singletonList(MATCH_ALL);
+                }
+                matchers.add(patterns.descriptionMatcher);
+            }
+        }
+        return matchers;
+    }
+
+    private static boolean matches(List<PatternMatcher> matchers, String fullDescription) {
+        for (PatternMatcher matcher : matchers) {
+            if (matcher.matches(fullDescription)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keeps the tests within a test block that match the patterns.
+     */
+    private final class PatternVisitor implements TestBlockVisitor {
+        private final String path;
+        private final boolean included;
+
+        private PatternVisitor(String path, boolean included) {
+            this.path = path;
+            this.included = included;
+        }
+
+        @Override
+        public TestBlockVisitor visitTestBlock(TestBlock testBlock) {
+            String childPath = path + " " + ReporterSupport.getDescription(testBlock);
+            if (included) {
+                return excludes.isEmpty() ? null : new PatternVisitor(childPath, true);
+            }
+            ClassMatchers matchers = matchersFor(testBlock.testClass);
+            String fullDescription = testBlock.fullDescription.orElseGet(childPath::trim);
+            return new PatternVisitor(childPath, matches(matchers.includes, fullDescription));
+        }
+
+        @Override
+        public boolean keepTest(Test test) {
+            ClassMatchers matchers = matchersFor(test.testClass);
+            String fullDescription = test.fullDescription.orElseGet(() -> path.trim() + " " + test.description);
+            return (included || matches(matchers.includes, fullDescription))
+                    && !matches(matchers.excludes, fullDescription);
+        }
+    }
+
+    private static final class ClassPatterns {
+        private final PatternMatcher classMatcher;
+        private final PatternMatcher descriptionMatcher;
+
+        private ClassPatterns(PatternMatcher classMatcher, PatternMatcher descriptionMatcher) {
+            this.classMatcher = classMatcher;
+            this.descriptionMatcher = descriptionMatcher;
+        }
+    }
+
+    private static final class ClassMatchers {
+        private final List<PatternMatcher> includes;
+        private final List<PatternMatcher> excludes;
+
+        private ClassMatchers(List<PatternMatcher> includes, List<PatternMatcher> excludes) {
+            this.includes = includes;
+            this.excludes = excludes;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import java.util.function.Predicate;
+
+import org.forgerock.cuppa.model.TagMask;
+import org.forgerock.cuppa.model.TagsOption;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * Keeps the tests whose tags, including those inherited from their test blocks, match a predicate.
+ */
+final class TagMaskVisitor implements TestBlockVisitor {
+    private final TagMask blockMask;
+    private final Predicate<TagMask> predicate;
+
+    private TagMaskVisitor(TagMask blockMask, Predicate<TagMask> predicate) {
+        this.blockMask = blockMask;
+        this.predicate = predicate;
+    }
+
+    static TestBlockVisitor forRoot(TestBlock rootBlock, Predicate<TagMask> predicate) {
+        return new TagMaskVisitor(TagsOption.maskOf(rootBlock.options), predicate);
+    }
+
+    @Override
+    public TestBlockVisitor visitTestBlock(TestBlock testBlock) {
+        TagMask childMask = blockMask.union(TagsOption.maskOf(testBlock.options));
+        return (childMask == blockMask) ? this : new TagMaskVisitor(childMask, predicate);
+    }
+
+    @Override
+    public boolean keepTest(Test test) {
+        return predicate.test(blockMask.union(TagsOption.maskOf(test.options)));
+    }
+}
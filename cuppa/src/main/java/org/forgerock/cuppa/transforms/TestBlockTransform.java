@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import static java.util.Collections.singletonList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * A test tree transform that only removes tests and test blocks, and so can be expressed as a
+ * {@link TestBlockVisitor}.
+ *
+ * <p>Consecutive transforms of this kind can be {@link #fuse fused} so that they are all applied in a single traversal
+ * of the tree. Test blocks whose contents are unchanged are returned as they are, rather than copied, so the cost of a
+ * transform is proportional to what it actually removes.</p>
+ */
+public interface TestBlockTransform extends Function<TestBlock, TestBlock> {
+
+    /**
+     * Creates a visitor that applies this transform to the contents of the given root block.
+     *
+     * @param rootBlock The root test block, before any transforms in the same traversal have been applied.
+     * @param preceding A visitor that applies the transforms that come before this one in the same traversal, or
+     *     {@code null} if there are none. It may be used to find out which tests those transforms keep.
+     * @return A visitor, or {@code null} if the transform would leave the tree unchanged.
+     */
+    TestBlockVisitor visitor(TestBlock rootBlock, TestBlockVisitor preceding);
+
+    @Override
+    default TestBlock apply(TestBlock rootBlock) {
+        return FusedTestBlockTransform.apply(rootBlock, singletonList(this));
+    }
+
+    /**
+     * Combines a list of transforms into a single transform. Runs of consecutive {@link TestBlockTransform}s are
+     * applied in a single traversal of the tree; any other transforms are applied on their own, in order.
+     *
+     * @param transforms The transforms to combine, in the order they should be applied.
+     * @return A transform equivalent to applying each of the given transforms in turn.
+     */
+    static Function<TestBlock, TestBlock> fuse(List<? extends Function<TestBlock, TestBlock>> transforms) {
+        Function<TestBlock, TestBlock> fused = Function.identity();
+        List<TestBlockTransform> run = new ArrayList<>();
+        for (Function<TestBlock, TestBlock> transform : transforms) {
+            if (transform instanceof TestBlockTransform) {
+                run.add((TestBlockTransform) transform);
+            } else {
+                fused = fused.andThen(FusedTestBlockTransform.of(run)).andThen(transform);
+                run = new ArrayList<>();
+            }
+        }
+        return fused.andThen(FusedTestBlockTransform.of(run));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+
+/**
+ * Decides which tests and test blocks a {@link TestBlockTransform} keeps, one test block at a time.
+ *
+ * <p>A visitor is responsible for the contents of a single test block. It is asked for a visitor for each nested test
+ * block before the nested block's contents are visited, so state that depends on a block's ancestors, such as
+ * inherited tags, can be carried by the visitor itself rather than by the traversal.</p>
+ */
+public interface TestBlockVisitor {
+
+    /**
+     * Gets the visitor for the contents of a nested test block.
+     *
+     * @param testBlock A test block nested directly in the block this visitor is responsible for.
+     * @return The visitor for the nested block's contents, or {@code null} if the transform keeps all of them.
+     */
+    TestBlockVisitor visitTestBlock(TestBlock testBlock);
+
+    /**
+     * Decides whether to keep a test.
+     *
+     * @param test A test in the block this visitor is responsible for.
+     * @return Whether the test should be kept.
+     */
+    boolean keepTest(Test test);
+
+    /**
+     * Decides whether to keep a nested test block, once its own contents have been visited. The block given is the
+     * result of applying every visitor in the traversal to its contents.
+     *
+     * @param testBlock A test block nested directly in the block this visitor is responsible for.
+     * @return Whether the test block should be kept.
+     */
+    default boolean keepTestBlock(TestBlock testBlock) {
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.forgerock.cuppa.transforms;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.model.TestTreeCompiler;
+
+/**
+ * Filters a compiled test tree to only include the tests with the given ids, and every test in the test blocks with the
+ * given ids. Hooks are kept, so the selected tests are run with the same hooks as before, but test blocks that are
+ * left without any tests are removed along with their hooks.
+ *
+ * <p>Ids are only assigned by the {@link TestTreeCompiler}, so this filter removes every test from a tree that has not
+ * been compiled. It is typically used to re-run the tests that failed in a previous run of the same tree.</p>
+ */
+public final class TestIdTestBlockFilter implements TestBlockTransform {
+    private final Set<String> ids;
+    private final TestBlockVisitor visitor = new TestBlockVisitor() {
+        @Override
+        public TestBlockVisitor visitTestBlock(TestBlock testBlock) {
+            return testBlock.id.isPresent() && ids.contains(testBlock.id.get()) ? null : this;
+        }
+
+        @Override
+        public boolean keepTest(Test test) {
+            return test.id.isPresent() && ids.contains(test.id.get());
+        }
+
+        @Override
+        public boolean keepTestBlock(TestBlock testBlock) {
+            return !testBlock.tests.isEmpty() || !testBlock.testBlocks.isEmpty();
+        }
+    };
+
+    /**
+     * Creates a new filter.
+     *
+     * @param ids The ids of the tests and test blocks to include.
+     */
+    public TestIdTestBlockFilter(Collection<String> ids) {
+        this.ids = Collections.unmodifiableSet(new HashSet<>(ids));
+    }
+
+    @Override
+    public TestBlockVisitor visitor(TestBlock rootBlock, TestBlockVisitor preceding) {
+        return visitor.visitTestBlock(rootBlock);
+    }
+
+    /**
+     * Get the ids of the tests and test blocks that this filter includes.
+     *
+     * @return An immutable set of ids.
+     */
+    public Set<String> getIds() {
+        return ids;
+    }
+}
@@ -17,6 +17,9 @@
 package org.forgerock.cuppa.transforms.expression;
 
 import java.util.Collection;
+import java.util.function.Predicate;
+
+import org.forgerock.cuppa.model.TagMask;
 
 import org.forgerock.cuppa.transforms.ExpressionTagTestBlockFilter;
 
@@ -34,4 +37,14 @@ public interface Condition {
      */
     boolean shouldRun(Collection<String> tags);
 
+    /**
+     * Compile the condition to a predicate over tag masks, which is cheaper to evaluate than
+     * {@link #shouldRun(Collection)}. The default implementation converts each mask back to a set of tag names.
+     *
+     * @return A predicate that is true for the masks of the tags that comply with the condition.
+     */
+    default Predicate<TagMask> compile() {
+        return mask -> shouldRun(mask.toTags());
+    }
+
 }
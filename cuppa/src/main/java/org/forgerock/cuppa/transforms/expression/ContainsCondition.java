@@ -17,6 +17,9 @@
 package org.forgerock.cuppa.transforms.expression;
 
 import java.util.Collection;
+import java.util.function.Predicate;
+
+import org.forgerock.cuppa.model.TagMask;
 
 /**
  * A condition that checks if a tag is contains in a collection of tags.
@@ -38,4 +41,10 @@ public class ContainsCondition implements Condition {
     public final boolean shouldRun(Collection<String> tags) {
         return tags.contains(tag);
     }
+
+    @Override
+    public final Predicate<TagMask> compile() {
+        int id = TagMask.idOf(tag);
+        return mask -> mask.contains(id);
+    }
 }
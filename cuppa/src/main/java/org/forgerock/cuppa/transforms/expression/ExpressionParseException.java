@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms.expression;
+
+/**
+ * Thrown when a tag expression cannot be parsed.
+ */
+public final class ExpressionParseException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final String expression;
+    private final int position;
+
+    /**
+     * Constructs a new exception.
+     *
+     * @param message A description of the problem.
+     * @param expression The expression that could not be parsed.
+     * @param position The index of the character in the expression at which the problem was found.
+     */
+    public ExpressionParseException(String message, String expression, int position) {
+        super(message + " at position " + position + " in expression '" + expression + "'");
+        this.expression = expression;
+        this.position = position;
+    }
+
+    /**
+     * Get the expression that could not be parsed.
+     *
+     * @return The expression.
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Get the index of the character in the expression at which the problem was found. If the expression ended
+     * unexpectedly, this is the length of the expression.
+     *
+     * @return The position.
+     */
+    public int getPosition() {
+        return position;
+    }
+}
@@ -1,93 +1,262 @@
 package org.forgerock.cuppa.transforms.expression;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
-import java.util.stream.IntStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is responsible to parse an expression tag to a {@link Condition} .
+ *
+ * <p>Expressions combine tags with the infix operators {@code &} (or {@code &&}) and {@code |} (or {@code ||}), the
+ * prefix operator {@code !} and parentheses, for example {@code a & (b | !c)}. {@code !} binds tightest and {@code |}
+ * loosest. The prefix forms {@code and(...)}, {@code or(...)} and {@code not(...)}, whose arguments are separated by
+ * {@code ,} or {@code ;}, are also supported, and may be mixed with the infix forms.</p>
+ *
+ * <p>As they always have been, the arguments of a prefix operator are tags that run up to the next {@code ,},
+ * {@code ;} or {@code )}, so they may contain spaces and the characters {@code &}, {@code |} and {@code !}. An
+ * argument is only parsed as an expression if it contains a {@code (}, for example a nested prefix operator or a
+ * parenthesized infix expression such as {@code and((a | b), c)}.</p>
+ *
+ * <p>Parsed expressions are cached, so parsing the same expression again is cheap.</p>
  */
 public final class ExpressionParser {
+    private static final int MAX_CACHE_SIZE = 256;
+    private static final Map<String, Condition> CACHE = new ConcurrentHashMap<>();
+    private static final int OR_PRECEDENCE = 1;
+    private static final int AND_PRECEDENCE = 2;
 
-    private ExpressionParser() {
+    private final String expression;
+    private int position;
+    private Token lookahead;
+
+    private ExpressionParser(String expression) {
+        this.expression = expression;
     }
 
     /**
      * Parse the expressionTags to a Condition.
      * @param expressionTags the expression to parse
      * @return The condition
+     * @throws ExpressionParseException if the expression is malformed.
      */
     public static Condition parse(String expressionTags) {
-        if (expressionTags.isEmpty()) {
-            return (t) -> true;
+        Condition condition = CACHE.get(expressionTags);
+        if (condition == null) {
+            condition = expressionTags.trim().isEmpty() ? (t) -> true : new ExpressionParser(expressionTags).parse();
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(expressionTags, condition);
         }
+        return condition;
+    }
 
-        Stack<String> operators = new Stack<>();
-        Stack<Integer> numberOfGroupsPerOperator = new Stack<>();
-        Stack<Condition> groups = new Stack<>();
+    private Condition parse() {
+        Condition condition = parseExpression(0);
+        Token token = peek();
+        if (token.type != TokenType.END) {
+            throw error("Unexpected '" + token.text + "'", token);
+        }
+        return condition;
+    }
 
-        String currentWord = "";
-        char[] chars = expressionTags.toCharArray();
-        for (int i = 0; i < chars.length; i++) {
-            char c = chars[i];
-            switch (c) {
-                case '(':
-                    pushOperator(expressionTags, operators, numberOfGroupsPerOperator, currentWord, i);
-                    currentWord = "";
-                    break;
-                case ',':
-                case ';':
-                    addEqualCondition(groups, currentWord, numberOfGroupsPerOperator);
-                    currentWord = "";
-                    break;
-                case ')':
-                    pushComplexCondition(operators, numberOfGroupsPerOperator, groups, currentWord);
-                    currentWord = "";
-                    break;
-                default:
-                    currentWord += c;
-                    break;
+    /**
+     * Parses an expression, consuming infix operators that bind more tightly than the given precedence.
+     */
+    private Condition parseExpression(int minPrecedence) {
+        Condition left = parsePrefix();
+        while (true) {
+            TokenType type = peek().type;
+            int precedence = (type == TokenType.AND) ? AND_PRECEDENCE : (type == TokenType.OR) ? OR_PRECEDENCE : 0;
+            if (precedence <= minPrecedence) {
+                return left;
+            }
+            List<Condition> operands = new ArrayList<>();
+            operands.add(left);
+            while (accept(type)) {
+                operands.add(parseExpression(precedence));
             }
+            left = (type == TokenType.AND) ? new AndCondition(operands) : new OrCondition(operands);
+        }
+    }
+
+    private Condition parsePrefix() {
+        Token token = next();
+        switch (token.type) {
+            case NOT:
+                return new NotCondition(Collections.singletonList(parseExpression(AND_PRECEDENCE)));
+            case OPEN:
+                Condition condition = parseExpression(0);
+                expect(TokenType.CLOSE, "')'");
+                return condition;
+            case TAG:
+                if (peek().type == TokenType.OPEN && isOperatorName(token.text)) {
+                    return parseCall(token);
+                }
+                return new ContainsCondition(token.text);
+            default:
+                throw error("Expected a tag, '!' or '(' but found " + describe(token), token);
         }
+    }
 
-        if (groups.size() != 1 || numberOfGroupsPerOperator.size() != 0 || operators.size() != 0) {
-            throw new IllegalArgumentException("malformed expression " + expressionTags);
+    /**
+     * Parses the arguments of a prefix operator, such as {@code and(a, b)}.
+     */
+    private Condition parseCall(Token operator) {
+        expect(TokenType.OPEN, "'('");
+        List<Condition> arguments = new ArrayList<>();
+        if (peek().type != TokenType.CLOSE) {
+            do {
+                arguments.add(parseArgument());
+            } while (accept(TokenType.SEPARATOR));
+        }
+        expect(TokenType.CLOSE, "',' or ')'");
+        try {
+            return ConditionFactory.get(operator.text, arguments);
+        } catch (IllegalArgumentException e) {
+            throw error("The '" + operator.text + "' operator must have exactly one argument", operator);
         }
+    }
 
-        return groups.pop();
+    /**
+     * Parses an argument of a prefix operator. Unless it contains a {@code (}, the argument is a single tag running up
+     * to the next separator or {@code )}.
+     */
+    private Condition parseArgument() {
+        Token token = peek();
+        int end = token.position;
+        while (end < expression.length() && !isArgumentEnd(expression.charAt(end))) {
+            end++;
+        }
+        if (end < expression.length() && expression.charAt(end) == '(') {
+            return parseExpression(0);
+        }
+        String tag = expression.substring(token.position, end).trim();
+        if (tag.isEmpty()) {
+            throw error("Expected a tag, '!' or '(' but found " + describe(token), token);
+        }
+        lookahead = null;
+        position = end;
+        return new ContainsCondition(tag);
     }
 
-    private static void pushComplexCondition(Stack<String> operators, Stack<Integer> numberOfGroupsPerOperator,
-            Stack<Condition> groups, String currentWord) {
-        addEqualCondition(groups, currentWord, numberOfGroupsPerOperator);
+    private static boolean isArgumentEnd(char c) {
+        TokenType type = TokenType.of(c);
+        return type == TokenType.OPEN || type == TokenType.CLOSE || type == TokenType.SEPARATOR;
+    }
 
-        String operator = operators.pop();
-        int number = numberOfGroupsPerOperator.pop();
-        List<Condition> tags = new ArrayList<>(groups.subList(groups.size() - number, groups.size()));
-        IntStream.range(0, number).forEach(i -> groups.pop());
+    private static boolean isOperatorName(String word) {
+        String name = word.toLowerCase(Locale.ROOT);
+        return name.equals("and") || name.equals("or") || name.equals("not");
+    }
 
-        groups.push(ConditionFactory.get(operator, tags));
-        if (!numberOfGroupsPerOperator.isEmpty()) {
-            numberOfGroupsPerOperator.push(numberOfGroupsPerOperator.pop() + 1);
+    private Token peek() {
+        if (lookahead == null) {
+            lookahead = readToken();
         }
+        return lookahead;
     }
 
-    private static void pushOperator(String expressionTags, Stack<String> operators,
-            Stack<Integer> numberOfGroupsPerOperator, String currentWord, int i) {
-        if ("".equals(currentWord)) {
-            throw new IllegalArgumentException("malformed expression ( " + expressionTags + " ). "
-                    + "An operator was expected column " + i);
+    private Token next() {
+        Token token = peek();
+        if (token.type != TokenType.END) {
+            lookahead = null;
         }
-        operators.push(currentWord);
-        numberOfGroupsPerOperator.push(0);
+        return token;
     }
 
-    private static void addEqualCondition(Stack<Condition> groups, String currentWord, Stack<Integer> numbers) {
-        String trimmedWord = currentWord.trim();
-        if (!"".equals(trimmedWord)) {
-            groups.push(new ContainsCondition(trimmedWord));
-            numbers.push(numbers.pop() + 1);
+    private boolean accept(TokenType type) {
+        if (peek().type == type) {
+            lookahead = null;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(TokenType type, String description) {
+        Token token = peek();
+        if (token.type != type) {
+            throw error("Expected " + description + " but found " + describe(token), token);
+        }
+        lookahead = null;
+    }
+
+    private static String describe(Token token) {
+        return (token.type == TokenType.END) ? "the end of the expression" : "'" + token.text + "'";
+    }
+
+    private ExpressionParseException error(String message, Token token) {
+        return new ExpressionParseException(message, expression, token.position);
+    }
+
+    /**
+     * Reads the token that starts at the current position, skipping any whitespace before it. Tokens are read one at a
+     * time because the arguments of prefix operators are not split into tokens.
+     */
+    private Token readToken() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+        int start = position;
+        if (start == expression.length()) {
+            return new Token(TokenType.END, "", start);
+        }
+        char c = expression.charAt(start);
+        TokenType type = TokenType.of(c);
+        if (type == null) {
+            while (position < expression.length() && !Character.isWhitespace(expression.charAt(position))
+                    && TokenType.of(expression.charAt(position)) == null) {
+                position++;
+            }
+            return new Token(TokenType.TAG, expression.substring(start, position), start);
+        }
+        boolean doubled = (type == TokenType.AND || type == TokenType.OR) && start + 1 < expression.length()
+                && expression.charAt(start + 1) == c;
+        position += doubled ? 2 : 1;
+        return new Token(type, expression.substring(start, position), start);
+    }
+
+    private enum TokenType {
+        TAG, AND, OR, NOT, OPEN, CLOSE, SEPARATOR, END;
+
+        /**
+         * Get the type of the single character token that starts with the given character.
+         *
+         * @return The type, or null if the character is part of a tag.
+         */
+        static TokenType of(char c) {
+            switch (c) {
+                case '&':
+                    return AND;
+                case '|':
+                    return OR;
+                case '!':
+                    return NOT;
+                case '(':
+                    return OPEN;
+                case ')':
+                    return CLOSE;
+                case ',':
+                case ';':
+                    return SEPARATOR;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String text;
+        private final int position;
+
+        private Token(TokenType type, String text, int position) {
+            this.type = type;
+            this.text = text;
+            this.position = position;
         }
     }
 }
@@ -2,6 +2,9 @@ package org.forgerock.cuppa.transforms.expression;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
+
+import org.forgerock.cuppa.model.TagMask;
 
 /**
  * A wrapper condition that inverse the wrapped condition.
@@ -36,6 +39,11 @@ public class NotCondition extends ConditionWrapper {
         return !condition.shouldRun(tags);
     }
 
+    @Override
+    public final Predicate<TagMask> compile() {
+        return condition.compile().negate();
+    }
+
     @Override
     final ConditionWrapper setConditions(List<Condition> conditions) {
         return new NotCondition(conditions);
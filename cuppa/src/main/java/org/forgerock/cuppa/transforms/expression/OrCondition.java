@@ -19,6 +19,10 @@ package org.forgerock.cuppa.transforms.expression;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.forgerock.cuppa.model.TagMask;
 
 /**
  * A condition that composes other conditions with a logical OR.
@@ -43,6 +47,19 @@ public class OrCondition extends ConditionWrapper {
         return conditions.stream().anyMatch(c -> c.shouldRun(tags));
     }
 
+    @Override
+    public final Predicate<TagMask> compile() {
+        List<Predicate<TagMask>> predicates = conditions.stream().map(Condition::compile).collect(Collectors.toList());
+        return mask -> {
+            for (int i = 0; i < predicates.size(); i++) {
+                if (predicates.get(i).test(mask)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
     @Override
     final ConditionWrapper setConditions(List<Condition> conditions) {
         return new OrCondition(conditions);
@@ -18,6 +18,8 @@ package org.forgerock.cuppa;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.forgerock.cuppa.Cuppa.*;
+import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
 import static org.forgerock.cuppa.model.TestBlockType.ROOT;
 
 import java.util.ArrayList;
@@ -33,6 +35,7 @@ import org.forgerock.cuppa.model.Options;
 import org.forgerock.cuppa.model.TestBlock;
 import org.forgerock.cuppa.model.TestBlockBuilder;
 import org.forgerock.cuppa.model.TestBuilder;
+import org.forgerock.cuppa.model.TestTreeCompiler;
 import org.testng.annotations.Test;
 
 public class ModelTests {
@@ -105,6 +108,75 @@ public class ModelTests {
         assertThat(testBlock.options.get(TestOption.class)).isEmpty();
     }
 
+    @Test
+    public void compiledTreeShouldHaveFullDescriptionsAndUniqueIds() {
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                before("setup", HookFunction.identity());
+                when("when", () -> {
+                    it("test");
+                    it("test");
+                });
+            });
+        });
+
+        TestBlock compiledRootBlock = TestTreeCompiler.compile(rootBlock);
+
+        assertThat(compiledRootBlock).isEqualTo(rootBlock);
+        TestBlock describeBlock = compiledRootBlock.testBlocks.get(0);
+        TestBlock whenBlock = describeBlock.testBlocks.get(0);
+        String prefix = TestCuppaSupport.class.getName() + ":";
+        assertThat(describeBlock.fullDescription).contains("describe");
+        assertThat(describeBlock.id).contains(prefix + "describe");
+        assertThat(whenBlock.fullDescription).contains("describe when when");
+        assertThat(describeBlock.hooks.get(0).fullDescription).contains("describe \"before\" hook \"setup\"");
+        assertThat(whenBlock.tests.get(0).fullDescription).contains("describe when when test");
+        assertThat(whenBlock.tests.get(0).id).contains(prefix + "describe when when test");
+        assertThat(whenBlock.tests.get(1).id).contains(prefix + "describe when when test#2");
+        assertThat(rootBlock.testBlocks.get(0).id).isEmpty();
+        assertThat(describeBlock.toBuilder().build().id).isEmpty();
+    }
+
+    @Test
+    public void testBlockShouldShareListsOfOtherTestBlocks() {
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                before("setup", HookFunction.identity());
+                it("test 1");
+                it("test 2");
+            });
+        });
+        TestBlock describeBlock = rootBlock.testBlocks.get(0);
+
+        TestBlock copy = describeBlock.toBuilder().build();
+        TestBlock filtered = describeBlock.toBuilder().setTests(describeBlock.tests.subList(0, 1)).build();
+
+        assertThat(copy.tests).isSameAs(describeBlock.tests);
+        assertThat(copy.hooks).isSameAs(describeBlock.hooks);
+        assertThat(filtered.tests).containsExactly(describeBlock.tests.get(0));
+        assertThatThrownBy(() -> filtered.tests.remove(0))
+                .isExactlyInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void hooksOfTypeShouldReturnHooksInDefinitionOrder() {
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                beforeEach("first", HookFunction.identity());
+                after("after", HookFunction.identity());
+                beforeEach("second", HookFunction.identity());
+            });
+        });
+        TestBlock describeBlock = rootBlock.testBlocks.get(0);
+
+        assertThat(describeBlock.hooksOfType(HookType.BEFORE_EACH)).extracting("description")
+                .containsExactly(Optional.of("first"), Optional.of("second"));
+        assertThat(describeBlock.hooksOfType(HookType.AFTER)).hasSize(1);
+        assertThat(describeBlock.hooksOfType(HookType.BEFORE)).isEmpty();
+        assertThat(describeBlock.hooksOfType(HookType.BEFORE_EACH))
+                .isSameAs(describeBlock.hooksOfType(HookType.BEFORE_EACH));
+    }
+
     private static final class TestOption extends Option<String> {
         private TestOption(String value) {
             super(value);
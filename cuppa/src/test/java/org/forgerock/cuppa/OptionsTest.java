@@ -42,9 +42,34 @@ public class OptionsTest {
         assertThat(optionsCopy.get(TestOption.class)).isEqualTo(Optional.empty());
     }
 
+    @Test
+    public void settingOptionOfSameTypeShouldReplaceIt() {
+        Options options = Options.EMPTY.set(new OtherOption("a")).set(new TestOption());
+        Options optionsCopy = options.set(new OtherOption("b"));
+        assertThat(options.get(OtherOption.class)).isEqualTo(Optional.of("a"));
+        assertThat(optionsCopy.get(OtherOption.class)).isEqualTo(Optional.of("b"));
+        assertThat(optionsCopy.get(TestOption.class)).isEqualTo(Optional.of("a"));
+    }
+
+    @Test
+    public void optionsShouldBeEqualRegardlessOfOrderSet() {
+        Options options1 = Options.EMPTY.set(new TestOption()).set(new OtherOption("b"));
+        Options options2 = Options.EMPTY.set(new OtherOption("b")).set(new TestOption());
+        assertThat(options1).isEqualTo(options2);
+        assertThat(options1.hashCode()).isEqualTo(options2.hashCode());
+        assertThat(options1.unset(TestOption.class)).isEqualTo(Options.EMPTY.set(new OtherOption("b")));
+        assertThat(options1.unset(TestOption.class).unset(OtherOption.class)).isSameAs(Options.EMPTY);
+    }
+
     private static final class TestOption extends Option<String> {
         private TestOption() {
             super("a");
         }
     }
+
+    private static final class OtherOption extends Option<String> {
+        private OtherOption(String value) {
+            super(value);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+public class ReporterSupportTest {
+    @Test
+    public void filterStackTraceShouldOnlyModifyEachThrowableOnce() {
+
+        //Given
+        Throwable throwable = new IllegalStateException();
+        StackTraceElement testElement = new StackTraceElement("Test", "lambda$0", "Test.java", 1);
+        throwable.setStackTrace(new StackTraceElement[] {
+            testElement,
+            new StackTraceElement(Cuppa.class.getName(), "it", "Cuppa.java", 1),
+        });
+
+        //When
+        ReporterSupport.filterStackTrace(throwable);
+        StackTraceElement[] filtered = throwable.getStackTrace();
+        ReporterSupport.filterStackTrace(throwable);
+
+        //Then
+        assertThat(filtered).hasSize(1);
+        assertThat(filtered[0].getMethodName()).isEqualTo("<cuppa test>");
+        assertThat(throwable.getStackTrace()).isEqualTo(filtered);
+    }
+
+    @Test
+    public void filterStackTraceShouldHandleCyclicCauses() {
+
+        //Given
+        StackTraceElement[] stackTrace = {
+            new StackTraceElement("Test", "test", "Test.java", 1),
+            new StackTraceElement(Cuppa.class.getName(), "it", "Cuppa.java", 1),
+        };
+        Exception first = new Exception();
+        Exception second = new Exception(first);
+        first.initCause(second);
+        first.setStackTrace(stackTrace);
+        second.setStackTrace(stackTrace);
+
+        //When
+        ReporterSupport.filterStackTrace(first);
+
+        //Then
+        assertThat(first.getStackTrace()).hasSize(1);
+        assertThat(second.getStackTrace()).hasSize(1);
+    }
+
+    @Test
+    public void filterStackTraceShouldModifyEqualThrowablesSeparately() {
+
+        //Given
+        StackTraceElement[] stackTrace = {
+            new StackTraceElement("Test", "test", "Test.java", 1),
+            new StackTraceElement(Cuppa.class.getName(), "it", "Cuppa.java", 1),
+        };
+        Throwable first = new EqualException("failure");
+        Throwable second = new EqualException("failure");
+        first.setStackTrace(stackTrace);
+        second.setStackTrace(stackTrace);
+
+        //When
+        ReporterSupport.filterStackTrace(first);
+        ReporterSupport.filterStackTrace(second);
+
+        //Then
+        assertThat(first).isEqualTo(second);
+        assertThat(first.getStackTrace()).hasSize(1);
+        assertThat(second.getStackTrace()).hasSize(1);
+    }
+
+    private static final class EqualException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        EqualException(String message) {
+            super(message);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof EqualException && getMessage().equals(((EqualException) o).getMessage());
+        }
+
+        @Override
+        public int hashCode() {
+            return getMessage().hashCode();
+        }
+    }
+}
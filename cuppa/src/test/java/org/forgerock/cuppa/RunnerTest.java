@@ -16,19 +16,67 @@
 
 package org.forgerock.cuppa;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.beforeEach;
 import static org.forgerock.cuppa.Cuppa.describe;
 import static org.forgerock.cuppa.Cuppa.it;
 import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
 import static org.forgerock.cuppa.TestCuppaSupport.runTests;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.forgerock.cuppa.functions.HookFunction;
 import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.Options;
 import org.forgerock.cuppa.model.TestBlock;
 import org.forgerock.cuppa.reporters.Reporter;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 public class RunnerTest {
+    /**
+     * The names of the classes of the class loaders that loaded each configured {@link IsolatedConfigurationProvider}.
+     * This is public, as the provider may be loaded by a different class loader to the test.
+     */
+    public static final List<String> ISOLATED_PROVIDER_CLASS_LOADERS = new ArrayList<>();
+
+    private ClassLoader originalClassLoader;
+    private final List<Path> servicesDirectories = new ArrayList<>();
+
+    @BeforeMethod
+    public void setUp() {
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+        CountingConfigurationProvider.INSTANCES.set(0);
+        CountingConfigurationProvider.CONFIGURATIONS.set(0);
+        ISOLATED_PROVIDER_CLASS_LOADERS.clear();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+        for (Path directory : servicesDirectories) {
+            Path services = directory.resolve("META-INF/services");
+            Files.delete(services.resolve(ConfigurationProvider.class.getName()));
+            Files.delete(services);
+            Files.delete(services.getParent());
+            Files.delete(directory);
+        }
+        servicesDirectories.clear();
+    }
 
     @Test
     public void shouldMarkTestsAsNotRunningAfterTestRun() throws Exception {
@@ -50,4 +98,147 @@ public class RunnerTest {
         //Then
         verify(function).apply();
     }
+
+    @Test
+    public void shouldOnlyRunTestsWithTheGivenIdsAndTheirHooks() throws Exception {
+
+        //Given
+        HookFunction hook = mock(HookFunction.class);
+        TestFunction selectedFunction = mock(TestFunction.class);
+        TestFunction otherFunction = mock(TestFunction.class);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("Runner", () -> {
+                beforeEach(hook);
+                it("runs the selected test", selectedFunction);
+                it("does not run other tests", otherFunction);
+            });
+        });
+        String id = TestCuppaSupport.class.getName() + ":Runner runs the selected test";
+        Runner runner = new Runner(new Configuration(Options.EMPTY.set(
+                new Runner.TestIdsRunOption(Collections.singleton(id)))));
+
+        //When
+        runner.run(rootBlock, mock(Reporter.class));
+
+        //Then
+        verify(hook, times(1)).apply();
+        verify(selectedFunction).apply();
+        verify(otherFunction, never()).apply();
+    }
+
+    @Test
+    public void shouldLoadTheConfigurationProviderOnceForEachClassLoader() throws Exception {
+
+        //Given
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(
+                new URL[] {createServicesDirectory(CountingConfigurationProvider.class)}, getClass().getClassLoader()));
+
+        //When
+        new Runner();
+        System.gc();
+        new Runner();
+
+        //Then
+        assertThat(CountingConfigurationProvider.INSTANCES.get()).isEqualTo(1);
+        assertThat(CountingConfigurationProvider.CONFIGURATIONS.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldLoadTheConfigurationProviderAgainForAnotherClassLoader() throws Exception {
+
+        //Given
+        URL[] urls = {createServicesDirectory(CountingConfigurationProvider.class)};
+
+        //When
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(urls, getClass().getClassLoader()));
+        new Runner();
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(urls, getClass().getClassLoader()));
+        new Runner();
+
+        //Then
+        assertThat(CountingConfigurationProvider.INSTANCES.get()).isEqualTo(2);
+        assertThat(CountingConfigurationProvider.CONFIGURATIONS.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotKeepTheClassLoaderOfACachedConfigurationProvider() throws Exception {
+
+        //Given
+        WeakReference<ClassLoader> classLoader = createRunnerWithOwnConfigurationProvider();
+        assertThat(ISOLATED_PROVIDER_CLASS_LOADERS).containsExactly(ChildFirstClassLoader.class.getName());
+
+        //When
+        for (int i = 0; i < 100 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        //Then
+        assertThat(classLoader.get()).isNull();
+    }
+
+    /**
+     * Creates a runner whose configuration provider is loaded by a new class loader, which is then discarded.
+     */
+    private WeakReference<ClassLoader> createRunnerWithOwnConfigurationProvider() throws Exception {
+        URL testClasses = IsolatedConfigurationProvider.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader classLoader = new ChildFirstClassLoader(IsolatedConfigurationProvider.class.getName(),
+                new URL[] {createServicesDirectory(IsolatedConfigurationProvider.class), testClasses});
+        Thread.currentThread().setContextClassLoader(classLoader);
+        new Runner();
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+        return new WeakReference<>(classLoader);
+    }
+
+    private URL createServicesDirectory(Class<? extends ConfigurationProvider> providerClass) throws Exception {
+        Path directory = Files.createTempDirectory("cuppa-services");
+        servicesDirectories.add(directory);
+        Path services = Files.createDirectories(directory.resolve("META-INF/services"));
+        Files.write(services.resolve(ConfigurationProvider.class.getName()), providerClass.getName().getBytes(UTF_8));
+        return directory.toUri().toURL();
+    }
+
+    public static final class CountingConfigurationProvider implements ConfigurationProvider {
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+        static final AtomicInteger CONFIGURATIONS = new AtomicInteger();
+
+        public CountingConfigurationProvider() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public void configure(Configuration configuration) {
+            CONFIGURATIONS.incrementAndGet();
+        }
+    }
+
+    public static final class IsolatedConfigurationProvider implements ConfigurationProvider {
+        @Override
+        public void configure(Configuration configuration) {
+            ISOLATED_PROVIDER_CLASS_LOADERS.add(getClass().getClassLoader().getClass().getName());
+        }
+    }
+
+    /**
+     * Loads one class itself rather than delegating to its parent, as a web application or plugin class loader does.
+     */
+    private static final class ChildFirstClassLoader extends URLClassLoader {
+        private final String className;
+
+        ChildFirstClassLoader(String className, URL[] urls) {
+            super(urls, RunnerTest.class.getClassLoader());
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loadedClass = findLoadedClass(name);
+                return (loadedClass != null) ? loadedClass : findClass(name);
+            }
+        }
+    }
 }
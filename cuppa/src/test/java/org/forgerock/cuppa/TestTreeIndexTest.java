@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.*;
+import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
+
+import org.forgerock.cuppa.functions.HookFunction;
+import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.model.TestTreeCompiler;
+import org.forgerock.cuppa.model.TestTreeIndex;
+import org.testng.annotations.Test;
+
+public class TestTreeIndexTest {
+    private final TestBlock rootBlock = defineTests(() -> {
+        with(tags("fast")).describe("describe", () -> {
+            before("setup", HookFunction.identity());
+            it("test", TestFunction.identity());
+            when("when", () -> {
+                it("test", TestFunction.identity());
+            });
+        });
+        describe("other", () -> {
+            it("slow test", TestFunction.identity());
+        });
+    });
+
+    @Test
+    public void indexShouldFindNodesByIdAndFullDescription() {
+        TestTreeIndex index = TestTreeIndex.of(rootBlock);
+        String prefix = TestCuppaSupport.class.getName() + ":";
+
+        org.forgerock.cuppa.model.Test test = index.findTestById(prefix + "describe when when test").get();
+
+        assertThat(test).isSameAs(rootBlock.testBlocks.get(0).testBlocks.get(0).tests.get(0));
+        assertThat(index.findTestByFullDescription("describe when when test").get()).isSameAs(test);
+        assertThat(index.findTest("test").get()).isSameAs(rootBlock.testBlocks.get(0).tests.get(0));
+        assertThat(index.findHookById(prefix + "describe \"before\" hook \"setup\"")).isPresent();
+        assertThat(index.findTestBlockById(prefix + "other").get()).isSameAs(rootBlock.testBlocks.get(1));
+        assertThat(index.getParents(test)).hasSize(3);
+        assertThat(index.getId(test)).isEqualTo(prefix + "describe when when test");
+    }
+
+    @Test
+    public void indexShouldUseIdsOfCompiledTrees() {
+        TestBlock compiledRootBlock = TestTreeCompiler.compile(rootBlock);
+        TestTreeIndex index = TestTreeIndex.of(compiledRootBlock);
+
+        for (org.forgerock.cuppa.model.Test test : index.getTests()) {
+            assertThat(index.getId(test)).isEqualTo(test.id.get());
+            assertThat(TestTreeIndex.of(rootBlock).findTestById(test.id.get())).contains(test);
+        }
+    }
+
+    @Test
+    public void indexShouldCountTestsByTagAndClass() {
+        TestTreeIndex index = TestTreeIndex.of(rootBlock);
+
+        assertThat(index.getTestCountsByTag()).containsEntry("fast", 2).hasSize(1);
+        assertThat(index.getTestCountsByClass()).containsEntry(TestCuppaSupport.class, 3).hasSize(1);
+        assertThat(index.getTestsByTag("fast")).extracting("description").containsExactly("test", "test");
+        assertThat(index.getTestsByTag("slow")).isEmpty();
+    }
+}
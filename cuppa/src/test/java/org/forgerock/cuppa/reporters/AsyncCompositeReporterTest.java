@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.forgerock.cuppa.model.TestBlockType.ROOT;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.forgerock.cuppa.CuppaException;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.model.TestBlockBuilder;
+import org.forgerock.cuppa.model.TestBuilder;
+import org.mockito.InOrder;
+import org.testng.annotations.Test;
+
+public class AsyncCompositeReporterTest {
+    private final TestBlock testBlock = new TestBlockBuilder()
+            .setType(ROOT)
+            .setTestClass(AsyncCompositeReporterTest.class)
+            .setDescription("")
+            .build();
+    private final org.forgerock.cuppa.model.Test test = new TestBuilder()
+            .setTestClass(AsyncCompositeReporterTest.class)
+            .setDescription("")
+            .setFunction(Optional.empty())
+            .build();
+    private final List<TestBlock> parents = Collections.singletonList(testBlock);
+
+    @Test
+    public void shouldDeliverAllEventsInOrderBeforeEndReturns() {
+        Reporter mockReporter1 = mock(Reporter.class, "mockReporter1");
+        Reporter mockReporter2 = mock(Reporter.class, "mockReporter2");
+        AsyncCompositeReporter reporter = new AsyncCompositeReporter(Arrays.asList(mockReporter1, mockReporter2));
+
+        reporter.start(testBlock);
+        reporter.testStart(test, parents);
+        reporter.testPass(test, parents);
+        reporter.testEnd(test, parents);
+        reporter.end();
+
+        for (Reporter mockReporter : Arrays.asList(mockReporter1, mockReporter2)) {
+            InOrder order = inOrder(mockReporter);
+            order.verify(mockReporter).start(testBlock);
+            order.verify(mockReporter).testStart(test, parents);
+            order.verify(mockReporter).testPass(test, parents);
+            order.verify(mockReporter).testEnd(test, parents);
+            order.verify(mockReporter).end();
+        }
+    }
+
+    @Test
+    public void shouldDropWholeTestsWhenBufferIsFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = new CopyOnWriteArrayList<>();
+        Reporter slowReporter = new RecordingReporter(events, blocked, release);
+        AsyncCompositeReporter reporter = new AsyncCompositeReporter(Collections.singletonList(slowReporter), 1,
+                AsyncCompositeReporter.Backpressure.DROP);
+
+        reporter.start(testBlock);
+        blocked.await();
+        reporter.testPending(test, parents);
+        reporter.testStart(test, parents);
+        reporter.testPass(test, parents);
+        reporter.testEnd(test, parents);
+        release.countDown();
+        reporter.end();
+
+        assertThat(reporter.getDroppedEventCount()).isEqualTo(3);
+        assertThat(events).containsExactly("start", "testPending", "end");
+    }
+
+    @Test
+    public void shouldDeliverTheRestOfATestOnceItsStartHasBeenAccepted() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = new CopyOnWriteArrayList<>();
+        Reporter slowReporter = new RecordingReporter(events, blocked, release);
+        AsyncCompositeReporter reporter = new AsyncCompositeReporter(Collections.singletonList(slowReporter), 1,
+                AsyncCompositeReporter.Backpressure.DROP);
+
+        reporter.start(testBlock);
+        blocked.await();
+        reporter.testStart(test, parents);
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            release.countDown();
+        });
+        releaser.start();
+        reporter.testPass(test, parents);
+        reporter.testEnd(test, parents);
+        reporter.end();
+        releaser.join();
+
+        assertThat(reporter.getDroppedEventCount()).isEqualTo(0);
+        assertThat(events).containsExactly("start", "testStart", "testPass", "testEnd", "end");
+    }
+
+    @Test
+    public void shouldIgnoreEventsPublishedAfterEnd() {
+        Reporter mockReporter = mock(Reporter.class);
+        AsyncCompositeReporter reporter = new AsyncCompositeReporter(Collections.singletonList(mockReporter));
+
+        reporter.start(testBlock);
+        reporter.end();
+        reporter.testStart(test, parents);
+
+        verify(mockReporter, never()).testStart(test, parents);
+        assertThat(Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().startsWith("cuppa-reporter-"))
+                .filter(Thread::isAlive)
+                .count()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldRethrowReporterErrorsFromEnd() {
+        Reporter mockReporter = mock(Reporter.class);
+        IllegalStateException error = new IllegalStateException();
+        doThrow(error).when(mockReporter).testPass(test, parents);
+        AsyncCompositeReporter reporter = new AsyncCompositeReporter(Collections.singletonList(mockReporter));
+
+        reporter.start(testBlock);
+        reporter.testPass(test, parents);
+        try {
+            reporter.end();
+            fail("Expected end() to throw");
+        } catch (CuppaException e) {
+            assertThat(e.getCause()).isSameAs(error);
+        }
+    }
+
+    /**
+     * Records the events it receives, and blocks in {@link #start(TestBlock)} until released.
+     */
+    private static final class RecordingReporter implements Reporter {
+        private final List<String> events;
+        private final CountDownLatch blocked;
+        private final CountDownLatch release;
+
+        private RecordingReporter(List<String> events, CountDownLatch blocked, CountDownLatch release) {
+            this.events = events;
+            this.blocked = blocked;
+            this.release = release;
+        }
+
+        @Override
+        public void start(TestBlock rootBlock) {
+            events.add("start");
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void end() {
+            events.add("end");
+        }
+
+        @Override
+        public void testStart(org.forgerock.cuppa.model.Test test, List<TestBlock> parents) {
+            events.add("testStart");
+        }
+
+        @Override
+        public void testEnd(org.forgerock.cuppa.model.Test test, List<TestBlock> parents) {
+            events.add("testEnd");
+        }
+
+        @Override
+        public void testPass(org.forgerock.cuppa.model.Test test, List<TestBlock> parents) {
+            events.add("testPass");
+        }
+
+        @Override
+        public void testPending(org.forgerock.cuppa.model.Test test, List<TestBlock> parents) {
+            events.add("testPending");
+        }
+    }
+}
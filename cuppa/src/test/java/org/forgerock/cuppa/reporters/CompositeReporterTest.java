@@ -18,11 +18,16 @@ package org.forgerock.cuppa.reporters;
 
 import static org.forgerock.cuppa.model.HookType.BEFORE;
 import static org.forgerock.cuppa.model.TestBlockType.ROOT;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -186,4 +191,31 @@ public class CompositeReporterTest {
         order.verify(mockReporter1).testSkip(test, parents);
         order.verify(mockReporter2).testSkip(test, parents);
     }
+
+    @Test
+    public void shouldOnlyCallReportersSubscribedToAnEvent() {
+        SelectiveReporter selectiveReporter = mock(SelectiveReporter.class);
+        when(selectiveReporter.getSubscribedEvents()).thenReturn(EnumSet.of(ReporterEvent.TEST_PASS));
+        CompositeReporter reporter = new CompositeReporter(Arrays.asList(mockReporter1, selectiveReporter));
+
+        reporter.testStart(test, parents);
+        reporter.testPass(test, parents);
+
+        verify(mockReporter1).testStart(test, parents);
+        verify(mockReporter1).testPass(test, parents);
+        verify(selectiveReporter, never()).testStart(test, parents);
+        verify(selectiveReporter).testPass(test, parents);
+    }
+
+    @Test
+    public void shouldSubscribeToTheUnionOfItsReportersEvents() {
+        SelectiveReporter selectiveReporter1 = mock(SelectiveReporter.class);
+        SelectiveReporter selectiveReporter2 = mock(SelectiveReporter.class);
+        when(selectiveReporter1.getSubscribedEvents()).thenReturn(EnumSet.of(ReporterEvent.TEST_PASS));
+        when(selectiveReporter2.getSubscribedEvents()).thenReturn(EnumSet.of(ReporterEvent.TEST_FAIL));
+
+        CompositeReporter reporter = new CompositeReporter(Arrays.asList(selectiveReporter1, selectiveReporter2));
+
+        assertThat(reporter.getSubscribedEvents()).containsOnly(ReporterEvent.TEST_PASS, ReporterEvent.TEST_FAIL);
+    }
 }
@@ -20,9 +20,14 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.forgerock.cuppa.Cuppa.*;
 import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
+import static org.forgerock.cuppa.TestCuppaSupport.findTest;
+import static org.forgerock.cuppa.TestCuppaSupport.findTestBlock;
 import static org.forgerock.cuppa.TestCuppaSupport.runTests;
 
 import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.forgerock.cuppa.functions.TestFunction;
 import org.forgerock.cuppa.model.TestBlock;
@@ -413,4 +418,117 @@ public class DefaultReporterTest {
         String expectedOutput = String.join(System.lineSeparator(), expectedLines);
         assertThat(output).startsWith(expectedOutput);
     }
+
+    @Test
+    public void reporterShouldWriteInterleavedBlocksInTheOrderTheyStarted() {
+
+        //Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Reporter reporter = new DefaultReporter(outputStream);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("first", () -> {
+                it("first test", TestFunction.identity());
+            });
+            describe("second", () -> {
+                it("second test", TestFunction.identity());
+            });
+        });
+        TestBlock first = findTestBlock(rootBlock, "first");
+        TestBlock second = findTestBlock(rootBlock, "second");
+        List<TestBlock> rootParents = Collections.singletonList(rootBlock);
+
+        //When
+        reporter.start(rootBlock);
+        reporter.testBlockStart(rootBlock, Collections.emptyList());
+        reporter.testBlockStart(first, rootParents);
+        reporter.testBlockStart(second, rootParents);
+        reporter.testPass(findTest(rootBlock, "second test"), Arrays.asList(rootBlock, second));
+        reporter.testBlockEnd(second, rootParents);
+        reporter.testPass(findTest(rootBlock, "first test"), Arrays.asList(rootBlock, first));
+        reporter.testBlockEnd(first, rootParents);
+        reporter.testBlockEnd(rootBlock, Collections.emptyList());
+        reporter.end();
+
+        //Then
+        String output = new String(outputStream.toByteArray(), UTF_8);
+        String[] expectedLines = {
+                "",
+                "",
+                "  first",
+                "    ✓ first test",
+                "  second",
+                "    ✓ second test",
+                "",
+                "",
+                "  2 passing",
+        };
+        String expectedOutput = String.join(System.lineSeparator(), expectedLines);
+        assertThat(output).startsWith(expectedOutput);
+    }
+
+    @Test
+    public void reporterShouldKeepItsOutputInOrderWithOutputOfTests() {
+
+        //Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Reporter reporter = new DefaultReporter(outputStream);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                it("first test", () -> outputStream.write(("first output" + System.lineSeparator()).getBytes(UTF_8)));
+                it("second test", () -> outputStream.write(("second output" + System.lineSeparator()).getBytes(UTF_8)));
+            });
+        });
+
+        //When
+        runTests(rootBlock, reporter);
+
+        //Then
+        String output = new String(outputStream.toByteArray(), UTF_8);
+        String[] expectedLines = {
+                "",
+                "",
+                "  describe",
+                "first output",
+                "    ✓ first test",
+                "second output",
+                "    ✓ second test",
+                "",
+                "",
+                "  2 passing",
+        };
+        String expectedOutput = String.join(System.lineSeparator(), expectedLines);
+        assertThat(output).startsWith(expectedOutput);
+    }
+
+    @Test
+    public void reporterShouldListSlowestTestsHooksAndBlocks() {
+
+        //Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Reporter reporter = new DefaultReporter(outputStream, 1);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                beforeEach(() -> {
+                });
+                it("fast test", TestFunction.identity());
+                it("slow test", () -> Thread.sleep(20));
+            });
+        });
+
+        //When
+        runTests(rootBlock, reporter);
+
+        //Then
+        String output = new String(outputStream.toByteArray(), UTF_8);
+        String[] lines = output.split(System.lineSeparator());
+        List<String> lineList = Arrays.asList(lines);
+        int slowestTests = lineList.indexOf("  Slowest tests:");
+        assertThat(slowestTests).isGreaterThan(0);
+        assertThat(lines[slowestTests + 1]).endsWith("%  describe slow test");
+        assertThat(lines[slowestTests + 3]).isEqualTo("  Slowest hooks:");
+        assertThat(lines[slowestTests + 4]).endsWith("%  describe \"beforeEach\" hook");
+        assertThat(lines[slowestTests + 6]).isEqualTo("  Slowest test blocks:");
+        assertThat(lines[slowestTests + 7]).endsWith("%  describe");
+        assertThat(lineList).contains("  Test durations:", "    >= 10000ms 0");
+    }
 }
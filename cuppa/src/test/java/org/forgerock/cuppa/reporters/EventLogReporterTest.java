@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.*;
+import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
+import static org.forgerock.cuppa.TestCuppaSupport.runTests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.forgerock.cuppa.TestCuppaSupport;
+import org.forgerock.cuppa.functions.HookFunction;
+import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.TestBlock;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+public class EventLogReporterTest {
+    private Path log1;
+    private Path log2;
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        log1 = Files.createTempFile("cuppa", ".log");
+        log2 = Files.createTempFile("cuppa", ".log");
+        directory = Files.createTempDirectory("cuppa-junit-xml");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.delete(log1);
+        Files.delete(log2);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(Path::toFile).forEach(File::delete);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void replayedLogShouldProduceTheSameReportAsTheOriginalRun() {
+
+        //Given
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        ByteArrayOutputStream replayed = new ByteArrayOutputStream();
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                before("setup", HookFunction.identity());
+                when("when", () -> {
+                    it("passing test", TestFunction.identity());
+                    it("failing test", () -> {
+                        throw new IllegalStateException("Broken", new RuntimeException("Cause"));
+                    });
+                    it("pending test");
+                });
+            });
+        });
+
+        //When
+        runTests(rootBlock, new CompositeReporter(Arrays.asList(new DefaultReporter(original),
+                new EventLogReporter(log1))));
+        EventLogReplayer.replay(log1, new DefaultReporter(replayed));
+
+        //Then
+        assertThat(new String(replayed.toByteArray(), UTF_8)).isEqualTo(new String(original.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void replayingSeveralLogsShouldReportThemAsOneRun() {
+
+        //Given
+        ByteArrayOutputStream replayed = new ByteArrayOutputStream();
+        runTests(defineTests(() -> {
+            describe("first", () -> {
+                it("first test", TestFunction.identity());
+            });
+        }), new EventLogReporter(log1));
+        runTests(defineTests(() -> {
+            describe("second", () -> {
+                it("second test", TestFunction.identity());
+            });
+        }), new EventLogReporter(log2));
+
+        //When
+        EventLogReplayer.replay(Arrays.asList(log1, log2), new DefaultReporter(replayed));
+
+        //Then
+        String output = new String(replayed.toByteArray(), UTF_8);
+        String[] expectedLines = {
+                "",
+                "",
+                "  first",
+                "    ✓ first test",
+                "",
+                "  second",
+                "    ✓ second test",
+                "",
+                "",
+                "  2 passing",
+        };
+        assertThat(output).startsWith(String.join(System.lineSeparator(), expectedLines));
+    }
+
+    @Test
+    public void replayedTestsShouldTakeAsLongAsTheyDidInTheOriginalRun() throws Exception {
+
+        //Given
+        runTests(defineTests(() -> {
+            describe("describe", () -> {
+                it("slow test", () -> {
+                    Thread.sleep(100);
+                });
+            });
+        }), new EventLogReporter(log1));
+
+        //When
+        EventLogReplayer.replay(log1, new JUnitXmlReporter(directory));
+
+        //Then
+        Element suite = parseReport();
+        Element testCase = (Element) suite.getElementsByTagName("testcase").item(0);
+        assertThat(Double.parseDouble(testCase.getAttribute("time"))).isGreaterThanOrEqualTo(0.1);
+        assertThat(Double.parseDouble(suite.getAttribute("time"))).isGreaterThanOrEqualTo(0.1);
+    }
+
+    @Test
+    public void replayedAssertionErrorsShouldBeReportedAsFailures() throws Exception {
+
+        //Given
+        runTests(defineTests(() -> {
+            describe("describe", () -> {
+                it("failing test", () -> {
+                    assertThat(false).isTrue();
+                });
+                it("erroring test", () -> {
+                    throw new IllegalStateException("Broken");
+                });
+            });
+        }), new EventLogReporter(log1));
+
+        //When
+        EventLogReplayer.replay(log1, new JUnitXmlReporter(directory));
+
+        //Then
+        Element suite = parseReport();
+        assertThat(suite.getAttribute("failures")).isEqualTo("1");
+        assertThat(suite.getAttribute("errors")).isEqualTo("1");
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        Element failure = (Element) ((Element) testCases.item(0)).getElementsByTagName("failure").item(0);
+        assertThat(failure.getAttribute("type")).isEqualTo(AssertionError.class.getName());
+        Element error = (Element) ((Element) testCases.item(1)).getElementsByTagName("error").item(0);
+        assertThat(error.getAttribute("type")).isEqualTo(IllegalStateException.class.getName());
+        assertThat(error.getAttribute("message")).isEqualTo("Broken");
+    }
+
+    private Element parseReport() throws Exception {
+        Path report = directory.resolve("TEST-" + TestCuppaSupport.class.getName() + ".xml");
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(report.toFile()).getDocumentElement();
+    }
+}
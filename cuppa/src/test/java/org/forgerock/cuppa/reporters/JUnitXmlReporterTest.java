@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.*;
+import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
+import static org.forgerock.cuppa.TestCuppaSupport.runTests;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.forgerock.cuppa.TestCuppaSupport;
+import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.TestBlock;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+public class JUnitXmlReporterTest {
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("cuppa-junit-xml");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(Path::toFile).forEach(File::delete);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void reporterShouldWriteOneTestCasePerTest() throws Exception {
+
+        //Given
+        Reporter reporter = new JUnitXmlReporter(directory);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                it("passing test", TestFunction.identity());
+                it("failing test", () -> {
+                    assertThat(false).isTrue();
+                });
+                it("erroring test", () -> {
+                    throw new IllegalStateException("Broken");
+                });
+                it("pending test");
+            });
+        });
+
+        //When
+        runTests(rootBlock, reporter);
+
+        //Then
+        Path report = directory.resolve("TEST-" + TestCuppaSupport.class.getName() + ".xml");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.toArray()).containsOnly(report);
+        }
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(report.toFile());
+        Element suite = document.getDocumentElement();
+        assertThat(suite.getTagName()).isEqualTo("testsuite");
+        assertThat(suite.getAttribute("name")).isEqualTo(TestCuppaSupport.class.getName());
+        assertThat(suite.getAttribute("tests")).isEqualTo("4");
+        assertThat(suite.getAttribute("failures")).isEqualTo("1");
+        assertThat(suite.getAttribute("errors")).isEqualTo("1");
+        assertThat(suite.getAttribute("skipped")).isEqualTo("1");
+
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        assertThat(testCases.getLength()).isEqualTo(4);
+        assertThat(((Element) testCases.item(0)).getAttribute("name")).isEqualTo("describe passing test");
+        assertThat(((Element) testCases.item(0)).getChildNodes().getLength()).isEqualTo(0);
+        Element failure = (Element) ((Element) testCases.item(1)).getElementsByTagName("failure").item(0);
+        assertThat(failure.getAttribute("type")).isEqualTo(AssertionError.class.getName());
+        assertThat(failure.getTextContent()).startsWith(AssertionError.class.getName());
+        Element error = (Element) ((Element) testCases.item(2)).getElementsByTagName("error").item(0);
+        assertThat(error.getAttribute("message")).isEqualTo("Broken");
+        assertThat(((Element) testCases.item(3)).getElementsByTagName("skipped").getLength()).isEqualTo(1);
+    }
+
+    @Test
+    public void reporterShouldReportFailingHooksAsErrors() throws Exception {
+
+        //Given
+        Reporter reporter = new JUnitXmlReporter(directory);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                before("setup", () -> {
+                    throw new IllegalStateException("Broken");
+                });
+                it("test", TestFunction.identity());
+            });
+        });
+
+        //When
+        runTests(rootBlock, reporter);
+
+        //Then
+        Path report = directory.resolve("TEST-" + TestCuppaSupport.class.getName() + ".xml");
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(report.toFile());
+        Element suite = document.getDocumentElement();
+        assertThat(suite.getAttribute("errors")).isEqualTo("1");
+        Element testCase = (Element) suite.getElementsByTagName("testcase").item(0);
+        assertThat(testCase.getAttribute("name")).isEqualTo("describe \"before\" hook \"setup\"");
+        assertThat(testCase.getElementsByTagName("error").getLength()).isEqualTo(1);
+    }
+
+    @Test
+    public void reporterShouldCloseTheLastTestCaseWhenItPassed() throws Exception {
+
+        //Given
+        Reporter reporter = new JUnitXmlReporter(directory);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                it("passing test", TestFunction.identity());
+            });
+        });
+
+        //When
+        runTests(rootBlock, reporter);
+
+        //Then
+        Path report = directory.resolve("TEST-" + TestCuppaSupport.class.getName() + ".xml");
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(report.toFile());
+        Element suite = document.getDocumentElement();
+        assertThat(suite.getAttribute("tests")).isEqualTo("1");
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        assertThat(testCases.getLength()).isEqualTo(1);
+        assertThat(((Element) testCases.item(0)).getAttribute("name")).isEqualTo("describe passing test");
+    }
+}
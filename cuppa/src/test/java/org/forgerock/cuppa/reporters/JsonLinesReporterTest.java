@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.reporters;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.*;
+import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
+import static org.forgerock.cuppa.TestCuppaSupport.runTests;
+
+import java.io.ByteArrayOutputStream;
+
+import org.forgerock.cuppa.TestCuppaSupport;
+import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.TestBlock;
+import org.testng.annotations.Test;
+
+public class JsonLinesReporterTest {
+    private static final String CLASS_NAME = TestCuppaSupport.class.getName();
+
+    @Test
+    public void reporterShouldWriteOneLinePerTest() {
+
+        //Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Reporter reporter = new JsonLinesReporter(outputStream);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                it("passing \"test\"", TestFunction.identity());
+                it("failing test", () -> {
+                    IllegalStateException e = new IllegalStateException("Line 1\nLine 2");
+                    e.setStackTrace(new StackTraceElement[] {
+                        new StackTraceElement("com.example.Widget", "check", "Widget.java", 42),
+                        new StackTraceElement("com.example.WidgetTest", "lambda$0", "WidgetTest.java", 17),
+                    });
+                    throw e;
+                });
+                it("pending test");
+            });
+        });
+
+        //When
+        runTests(rootBlock, reporter);
+
+        //Then
+        String[] lines = new String(outputStream.toByteArray(), UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0])
+                .startsWith("{\"id\":\"" + CLASS_NAME + ":describe passing \\\"test\\\"\","
+                        + "\"path\":\"describe passing \\\"test\\\"\",\"class\":\"" + CLASS_NAME + "\","
+                        + "\"kind\":\"test\",\"outcome\":\"passed\",\"durationMillis\":")
+                .doesNotContain("failure");
+        assertThat(lines[1])
+                .contains("\"outcome\":\"failed\"")
+                .contains("\"failure\":{\"type\":\"java.lang.IllegalStateException\",\"message\":\"Line 1\\nLine 2\","
+                        + "\"location\":\"com.example.WidgetTest.<cuppa test>(WidgetTest.java:17)\"}");
+        assertThat(lines[2]).contains("\"outcome\":\"pending\",\"durationMillis\":0.000}");
+    }
+
+    @Test
+    public void reporterShouldWriteFailingHooks() {
+
+        //Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Reporter reporter = new JsonLinesReporter(outputStream);
+        TestBlock rootBlock = defineTests(() -> {
+            describe("describe", () -> {
+                before("setup", () -> {
+                    throw new IllegalStateException();
+                });
+                it("test", TestFunction.identity());
+            });
+        });
+
+        //When
+        runTests(rootBlock, reporter);
+
+        //Then
+        String[] lines = new String(outputStream.toByteArray(), UTF_8).split("\n");
+        assertThat(lines[0])
+                .contains("\"path\":\"describe \\\"before\\\" hook \\\"setup\\\"\"")
+                .contains("\"kind\":\"hook\",\"outcome\":\"failed\"")
+                .contains("\"message\":null");
+        assertThat(lines[1]).contains("\"outcome\":\"skipped\"");
+    }
+}
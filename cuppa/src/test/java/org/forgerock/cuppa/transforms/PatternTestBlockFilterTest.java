@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.Cuppa.describe;
+import static org.forgerock.cuppa.Cuppa.it;
+import static org.forgerock.cuppa.TestCuppaSupport.defineTests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.forgerock.cuppa.functions.TestFunction;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.model.TestTreeCompiler;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class PatternTestBlockFilterTest {
+    private final TestBlock rootBlock = defineTests(() -> {
+        describe("Calculator", () -> {
+            describe("add", () -> {
+                it("adds two numbers", TestFunction.identity());
+                it("adds negative numbers", TestFunction.identity());
+            });
+            describe("subtract", () -> {
+                it("subtracts two numbers", TestFunction.identity());
+            });
+        });
+    });
+
+    @DataProvider
+    public Object[][] patterns() {
+        return new Object[][]{
+            {"TestCuppaSupport", new String[]{
+                "Calculator add adds two numbers", "Calculator add adds negative numbers",
+                "Calculator subtract subtracts two numbers"}},
+            {"OtherTest", new String[0]},
+            {"TestCuppaSupport#Calculator add", new String[]{
+                "Calculator add adds two numbers", "Calculator add adds negative numbers"}},
+            {"*#Calculator add adds two numbers+*subtracts*", new String[]{
+                "Calculator add adds two numbers", "Calculator subtract subtracts two numbers"}},
+            {"**/TestCuppaSupport.java#*two numbers", new String[]{
+                "Calculator add adds two numbers", "Calculator subtract subtracts two numbers"}},
+            {"%regex[.*negative.*]", new String[]{"Calculator add adds negative numbers"}},
+            {"%regex[.*Cuppa.*#.*negative.*]", new String[]{"Calculator add adds negative numbers"}},
+            {"%regex[.*OtherTest.*#.*negative.*]", new String[0]},
+            {"%regex[#.*two numbers]", new String[]{
+                "Calculator add adds two numbers", "Calculator subtract subtracts two numbers"}},
+            {"%regex[org/forgerock/cuppa/Test.*]", new String[]{
+                "Calculator add adds two numbers", "Calculator add adds negative numbers",
+                "Calculator subtract subtracts two numbers"}},
+            {"%regex[.*/TestCuppaSupport.class#.*subtract.*]", new String[]{
+                "Calculator subtract subtracts two numbers"}},
+            {"Calculator*,!*#*two numbers", new String[]{"Calculator add adds negative numbers"}},
+        };
+    }
+
+    @Test(dataProvider = "patterns")
+    public void shouldOnlyKeepTestsMatchingPatterns(String patterns, String[] expectedTests) {
+        //Given
+        PatternTestBlockFilter filter = new PatternTestBlockFilter(PatternTestBlockFilter.splitPatterns(patterns));
+
+        //When
+        TestBlock filteredRootBlock = filter.apply(rootBlock);
+
+        //Then
+        assertThat(fullDescriptionsOf(TestTreeCompiler.compile(filteredRootBlock))).containsExactly(expectedTests);
+    }
+
+    @Test
+    public void splittingPatternsShouldNotSplitRegularExpressions() {
+        //When
+        List<String> patterns = PatternTestBlockFilter.splitPatterns("a,%regex[b{1,2}],c");
+
+        //Then
+        assertThat(patterns).containsExactly("a", "%regex[b{1,2}]", "c");
+    }
+
+    private static List<String> fullDescriptionsOf(TestBlock testBlock) {
+        List<String> fullDescriptions = new ArrayList<>();
+        testBlock.tests.forEach(t -> fullDescriptions.add(t.fullDescription.get()));
+        testBlock.testBlocks.forEach(b -> fullDescriptions.addAll(fullDescriptionsOf(b)));
+        return fullDescriptions;
+    }
+}
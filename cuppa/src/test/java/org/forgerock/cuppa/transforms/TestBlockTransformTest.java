@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 ForgeRock AS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.forgerock.cuppa.transforms;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.forgerock.cuppa.model.TestBlockType.DESCRIBE;
+import static org.forgerock.cuppa.model.TestBlockType.ROOT;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.forgerock.cuppa.internal.filters.EmptyTestBlockFilter;
+import org.forgerock.cuppa.internal.filters.OnlyTestBlockFilter;
+import org.forgerock.cuppa.model.Behaviour;
+import org.forgerock.cuppa.model.Options;
+import org.forgerock.cuppa.model.Tags;
+import org.forgerock.cuppa.model.TagsOption;
+import org.forgerock.cuppa.model.Test;
+import org.forgerock.cuppa.model.TestBlock;
+import org.forgerock.cuppa.model.TestBlockBuilder;
+import org.forgerock.cuppa.model.TestBuilder;
+
+public class TestBlockTransformTest {
+
+    @org.testng.annotations.Test
+    public void fusedTransformsShouldReturnUnchangedBlocksByIdentity() {
+        //Given
+        TestBlock fast = block("fast", test("a", "fast"), test("b", "fast"));
+        TestBlock slow = block("slow", test("c", "slow"));
+        TestBlock root = root(fast, slow);
+        Function<TestBlock, TestBlock> transform = TestBlockTransform.fuse(asList(
+                new TagTestBlockFilter(Tags.excludedTags(Collections.singleton("slow"))),
+                new OnlyTestBlockFilter(), new EmptyTestBlockFilter()));
+
+        //When
+        TestBlock transformed = transform.apply(root);
+
+        //Then
+        assertThat(transformed.testBlocks).hasSize(1);
+        assertThat(transformed.testBlocks.get(0)).isSameAs(fast);
+    }
+
+    @org.testng.annotations.Test
+    public void fusedTransformsShouldReturnTheRootBlockIfNothingIsRemoved() {
+        //Given
+        TestBlock root = root(block("block", test("a", "fast")));
+        Function<TestBlock, TestBlock> transform = TestBlockTransform.fuse(asList(
+                new TagTestBlockFilter(Tags.tags(Collections.singleton("fast"))),
+                new OnlyTestBlockFilter(), new EmptyTestBlockFilter()));
+
+        //When
+        TestBlock transformed = transform.apply(root);
+
+        //Then
+        assertThat(transformed).isSameAs(root);
+    }
+
+    @org.testng.annotations.Test
+    public void fusedTransformsShouldApplyOtherTransformsInOrder() {
+        //Given
+        TestBlock root = root(block("block", test("a", "fast")));
+        Function<TestBlock, TestBlock> addBlock = b -> b.toBuilder()
+                .setTestBlocks(asList(b.testBlocks.get(0), block("empty")))
+                .build();
+        Function<TestBlock, TestBlock> transform = TestBlockTransform.fuse(asList(
+                new OnlyTestBlockFilter(), addBlock, new EmptyTestBlockFilter()));
+
+        //When
+        TestBlock transformed = transform.apply(root);
+
+        //Then
+        assertThat(transformed.testBlocks).hasSize(1);
+    }
+
+    @org.testng.annotations.Test
+    public void onlyFilterShouldIgnoreOnlyTestsRemovedByEarlierTransforms() {
+        //Given
+        Test onlySlowTest = new TestBuilder()
+                .setTestClass(TestBlockTransformTest.class)
+                .setDescription("only")
+                .setBehaviour(Behaviour.ONLY)
+                .setFunction(Optional.empty())
+                .setOptions(tags("slow"))
+                .build();
+        TestBlock root = root(block("block", test("a", "fast"), onlySlowTest));
+        Function<TestBlock, TestBlock> transform = TestBlockTransform.fuse(asList(
+                new TagTestBlockFilter(Tags.excludedTags(Collections.singleton("slow"))),
+                new OnlyTestBlockFilter(), new EmptyTestBlockFilter()));
+
+        //When
+        TestBlock transformed = transform.apply(root);
+
+        //Then
+        assertThat(transformed.testBlocks.get(0).tests).hasSize(1);
+        assertThat(transformed.testBlocks.get(0).tests.get(0).description).isEqualTo("a");
+    }
+
+    private static TestBlock root(TestBlock... testBlocks) {
+        return new TestBlockBuilder()
+                .setType(ROOT)
+                .setTestClass(TestBlockTransformTest.class)
+                .setDescription("")
+                .setTestBlocks(asList(testBlocks))
+                .build();
+    }
+
+    private static TestBlock block(String description, Test... tests) {
+        return new TestBlockBuilder()
+                .setType(DESCRIBE)
+                .setTestClass(TestBlockTransformTest.class)
+                .setDescription(description)
+                .setTests(asList(tests))
+                .build();
+    }
+
+    private static Test test(String description, String tag) {
+        return new TestBuilder()
+                .setTestClass(TestBlockTransformTest.class)
+                .setDescription(description)
+                .setFunction(Optional.empty())
+                .setOptions(tags(tag))
+                .build();
+    }
+
+    private static Options tags(String tag) {
+        return Options.EMPTY.set(new TagsOption(Collections.singleton(tag)));
+    }
+}
@@ -1,9 +1,15 @@
 package org.forgerock.cuppa.transforms.expression;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
+import org.forgerock.cuppa.model.TagMask;
 import org.testng.annotations.Test;
 
 public class ExpressionParserTests {
@@ -87,4 +93,98 @@ public class ExpressionParserTests {
         assertThat(andConditions.get(2)).isInstanceOf(ContainsCondition.class);
         assertThat(((ContainsCondition) andConditions.get(2)).tag).isEqualTo("f");
     }
+
+    @Test
+    public void testInfixOperatorsHonourPrecedence() {
+        // When
+        Condition expression = ExpressionParser.parse("a | !b & c");
+
+        // Then
+        assertThat(expression).isInstanceOf(OrCondition.class);
+        List<Condition> orConditions = ((OrCondition) expression).conditions;
+        assertThat(orConditions).hasSize(2);
+        assertThat(((ContainsCondition) orConditions.get(0)).tag).isEqualTo("a");
+        assertThat(orConditions.get(1)).isInstanceOf(AndCondition.class);
+        List<Condition> andConditions = ((AndCondition) orConditions.get(1)).conditions;
+        assertThat(andConditions.get(0)).isInstanceOf(NotCondition.class);
+        assertThat(((ContainsCondition) ((NotCondition) andConditions.get(0)).condition).tag).isEqualTo("b");
+        assertThat(((ContainsCondition) andConditions.get(1)).tag).isEqualTo("c");
+    }
+
+    @Test
+    public void testInfixAndPrefixFormsCanBeMixed() {
+        // When
+        Condition expression = ExpressionParser.parse("and((a || b), (c && d)) | not(e)");
+
+        // Then
+        assertThat(expression).isInstanceOf(OrCondition.class);
+        List<Condition> orConditions = ((OrCondition) expression).conditions;
+        assertThat(orConditions).hasSize(2);
+        assertThat(orConditions.get(1)).isInstanceOf(NotCondition.class);
+        List<Condition> conditions = ((AndCondition) orConditions.get(0)).conditions;
+        assertThat(conditions).hasSize(2);
+        assertThat(conditions.get(0)).isInstanceOf(OrCondition.class);
+        assertThat(conditions.get(1)).isInstanceOf(AndCondition.class);
+    }
+
+    @Test
+    public void testPrefixArgumentsMayContainSpaces() {
+        // When
+        Condition expression = ExpressionParser.parse("and(my tag, b)");
+
+        // Then
+        assertThat(expression).isInstanceOf(AndCondition.class);
+        List<Condition> conditions = ((AndCondition) expression).conditions;
+        assertThat(conditions).hasSize(2);
+        assertThat(((ContainsCondition) conditions.get(0)).tag).isEqualTo("my tag");
+        assertThat(((ContainsCondition) conditions.get(1)).tag).isEqualTo("b");
+    }
+
+    @Test
+    public void testPrefixArgumentsMayContainOperatorCharacters() {
+        // When
+        Condition expression = ExpressionParser.parse("or(r&d, a|b; !c)");
+
+        // Then
+        assertThat(expression).isInstanceOf(OrCondition.class);
+        List<Condition> conditions = ((OrCondition) expression).conditions;
+        assertThat(conditions).hasSize(3);
+        assertThat(((ContainsCondition) conditions.get(0)).tag).isEqualTo("r&d");
+        assertThat(((ContainsCondition) conditions.get(1)).tag).isEqualTo("a|b");
+        assertThat(((ContainsCondition) conditions.get(2)).tag).isEqualTo("!c");
+    }
+
+    @Test
+    public void testErrorsReportTheirPosition() {
+        try {
+            // When
+            ExpressionParser.parse("a & (b | )");
+            fail("Expected a parse error");
+        } catch (ExpressionParseException e) {
+            // Then
+            assertThat(e.getPosition()).isEqualTo(9);
+            assertThat(e.getMessage()).contains("position 9");
+        }
+    }
+
+    @Test
+    public void testCompiledConditionAgreesWithCondition() {
+        // Given
+        Condition expression = ExpressionParser.parse("and(or(a,b),not(c))");
+        Predicate<TagMask> compiled = expression.compile();
+        List<Set<String>> tagSets = Arrays.asList(
+                tags(), tags("a"), tags("b"), tags("c"), tags("a", "c"), tags("b", "d"), tags("d"));
+
+        for (Set<String> tags : tagSets) {
+            // When
+            boolean result = compiled.test(TagMask.of(tags));
+
+            // Then
+            assertThat(result).as(tags.toString()).isEqualTo(expression.shouldRun(tags));
+        }
+    }
+
+    private static Set<String> tags(String... tags) {
+        return new HashSet<>(Arrays.asList(tags));
+    }
 }